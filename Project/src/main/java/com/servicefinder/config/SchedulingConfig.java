@@ -0,0 +1,12 @@
+package com.servicefinder.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (outbox delivery, cleanup)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package com.servicefinder.config;
 
 import com.servicefinder.security.CustomUserDetailsService;
 import com.servicefinder.security.JwtAuthenticationFilter;
+import com.servicefinder.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -37,6 +38,9 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Value("${cors.allowed-origins:*}")
     private String allowedOrigins;
 
@@ -121,7 +125,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // After JWT authentication, so signed-in users are limited by user ID rather than IP
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         // For H2 Console (development only)
         http.headers().frameOptions().disable();
@@ -2,15 +2,24 @@ package com.servicefinder.controller;
 
 import com.servicefinder.dto.AuthRequest;
 import com.servicefinder.dto.AuthResponse;
+import com.servicefinder.dto.PasswordChangeRequest;
+import com.servicefinder.dto.RefreshTokenRequest;
 import com.servicefinder.dto.UserRegisterRequest;
 import com.servicefinder.dto.UserProfileUpdateRequest;
+import com.servicefinder.event.ProviderChangedEvent;
 import com.servicefinder.model.User;
 import com.servicefinder.model.ServiceProvider;
 import com.servicefinder.model.enums.Role;
 import com.servicefinder.model.enums.VerificationStatus;
 import com.servicefinder.repository.UserRepository;
 import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.security.IdentityCache;
 import com.servicefinder.security.JwtUtil;
+import com.servicefinder.security.PasswordHashingService;
+import com.servicefinder.security.RefreshTokenLedger;
+import com.servicefinder.security.RevokedTokenStore;
+import com.servicefinder.security.TokenVersionRegistry;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,13 +30,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -39,13 +46,19 @@ import java.util.Map;
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private TokenVersionRegistry tokenVersionRegistry;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private RevokedTokenStore revokedTokenStore;
+
+    @Autowired
+    private RefreshTokenLedger refreshTokenLedger;
+
+    @Autowired
+    private IdentityCache identityCache;
 
     @Autowired
     private UserRepository userRepository;
@@ -54,7 +67,10 @@ public class AuthController {
     private ServiceProviderRepository serviceProviderRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Operation(
         summary = "User registration",
@@ -68,7 +84,8 @@ public class AuthController {
         @ApiResponse(responseCode = "400", 
                     description = "Invalid registration data or email already exists",
                     content = @Content(mediaType = "application/json",
-                                     schema = @Schema(implementation = ErrorResponse.class)))
+                                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Too many registrations in progress; retry after the Retry-After delay")
     })
     @PostMapping("/register")
     public ResponseEntity<?> register(
@@ -86,7 +103,7 @@ public class AuthController {
             user.setFirstName(registerRequest.getFirstName());
             user.setLastName(registerRequest.getLastName());
             user.setEmail(registerRequest.getEmail());
-            user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+            user.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
             user.setPhoneNumber(registerRequest.getPhoneNumber());
             user.setAddress(registerRequest.getAddress());
             user.setCity(registerRequest.getCity());
@@ -119,6 +136,7 @@ public class AuthController {
                 // Set the bidirectional relationship
                 savedUser.setServiceProvider(savedServiceProvider);
                 userRepository.save(savedUser);
+                eventPublisher.publishEvent(ProviderChangedEvent.of(savedServiceProvider));
             }
 
             // Return success response without token
@@ -131,6 +149,8 @@ public class AuthController {
             );
 
             return ResponseEntity.status(201).body(registrationResponse);
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Registration failed", e.getMessage()));
@@ -139,7 +159,7 @@ public class AuthController {
 
     @Operation(
         summary = "User login",
-        description = "Authenticate user with email and password to receive JWT token"
+        description = "Authenticate user with email and password to receive a short-lived access token and a refresh token"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", 
@@ -149,33 +169,31 @@ public class AuthController {
         @ApiResponse(responseCode = "400", 
                     description = "Invalid credentials",
                     content = @Content(mediaType = "application/json",
-                                     schema = @Schema(implementation = ErrorResponse.class)))
+                                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "503", description = "Too many logins in progress; retry after the Retry-After delay")
     })
     @PostMapping("/login")
     public ResponseEntity<?> login(
             @Parameter(description = "User login credentials", required = true)
             @Valid @RequestBody AuthRequest authRequest) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authRequest.getEmail(), authRequest.getPassword())
-            );
-
-            UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getEmail());
-            String token = jwtUtil.generateToken(userDetails);
-
-            // Get user information for response
-            User user = userRepository.findByEmail(authRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-            AuthResponse authResponse = new AuthResponse(
-                token, 
-                user.getEmail(), 
-                user.getRole(),
-                user.getId(),
-                user.getFullName()
-            );
+            // One lookup serves both the password check and the token
+            User user = userRepository.findByEmail(authRequest.getEmail()).orElse(null);
+            if (user == null) {
+                passwordHashingService.simulateMatch(authRequest.getPassword());
+                throw new RuntimeException("Bad credentials");
+            }
+            if (!passwordHashingService.matches(authRequest.getPassword(), user.getPassword())) {
+                throw new RuntimeException("Bad credentials");
+            }
+            if (!user.getActive()) {
+                throw new RuntimeException("User is disabled");
+            }
 
-            return ResponseEntity.ok(authResponse);
+            // The tokens carry ID, role and token version, so requests need no user lookup
+            return ResponseEntity.ok(issueTokens(user));
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new ErrorResponse("Invalid credentials", e.getMessage()));
@@ -254,6 +272,7 @@ public class AuthController {
             @RequestBody Map<String, Object> request,
             Authentication authentication) {
         try {
+            // Load a managed copy rather than @CurrentUser's cached one, since it is modified
             String email = authentication.getName();
             User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -269,6 +288,7 @@ public class AuthController {
             if (request.containsKey("country")) user.setCountry((String) request.get("country"));
 
             User updatedUser = userRepository.save(user);
+            identityCache.evict(email);
 
             // If user is a service provider, update provider-specific fields
             if (user.getRole() == Role.SERVICE_PROVIDER) {
@@ -282,7 +302,8 @@ public class AuthController {
                     if (request.containsKey("workingHours")) provider.setWorkingHours((String) request.get("workingHours"));
                     if (request.containsKey("serviceRadiusKm")) provider.setServiceRadiusKm((Integer) request.get("serviceRadiusKm"));
                     
-                    serviceProviderRepository.save(provider);
+                    ServiceProvider savedProvider = serviceProviderRepository.save(provider);
+                    eventPublisher.publishEvent(ProviderChangedEvent.of(savedProvider));
                 }
                 
                 // Return combined profile data for providers
@@ -296,6 +317,160 @@ public class AuthController {
         }
     }
 
+    @Operation(
+        summary = "Change password",
+        description = "Change the current user's password. Every token issued before is revoked; the response carries a new pair."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", 
+                    description = "Password changed",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = AuthResponse.class))),
+        @ApiResponse(responseCode = "400", 
+                    description = "Current password is wrong or new password is invalid",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(responseCode = "401", description = "Unauthorized"),
+        @ApiResponse(responseCode = "503", description = "Too many password operations in progress; retry after the Retry-After delay")
+    })
+    @PutMapping("/password")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> changePassword(
+            @Valid @RequestBody PasswordChangeRequest passwordChangeRequest,
+            Authentication authentication) {
+        try {
+            User user = userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+            if (!passwordHashingService.matches(passwordChangeRequest.getCurrentPassword(), user.getPassword())) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Failed to change password", "Current password is incorrect"));
+            }
+
+            user.setPassword(passwordHashingService.encode(passwordChangeRequest.getNewPassword()));
+            tokenVersionRegistry.revokeTokens(user);
+            User savedUser = userRepository.save(user);
+            tokenVersionRegistry.update(savedUser);
+            identityCache.evict(savedUser.getEmail());
+
+            return ResponseEntity.ok(issueTokens(savedUser));
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Failed to change password", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Refresh tokens",
+        description = "Exchange a refresh token for a new access token and refresh token. Each refresh token works once; "
+            + "presenting one again within a few seconds (e.g. from another tab) is refused, and presenting it later "
+            + "revokes every token of the user."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", 
+                    description = "Tokens refreshed",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = AuthResponse.class))),
+        @ApiResponse(responseCode = "400", 
+                    description = "Invalid, expired, reused or revoked refresh token",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@Valid @RequestBody RefreshTokenRequest refreshRequest) {
+        try {
+            Claims claims = jwtUtil.getVerifiedClaims(refreshRequest.getRefreshToken());
+            if (!jwtUtil.isRefreshToken(claims)) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid token", "Not a refresh token"));
+            }
+
+            User user = userRepository.findByEmail(claims.getSubject())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+            Integer version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+            if (!user.getActive() || !user.getTokenVersion().equals(version)) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid token", "Token has been revoked"));
+            }
+
+            // Consume the token. A second use moments later is a concurrent refresh from another
+            // tab; any later one means the token has leaked, so end every session of the user
+            RefreshTokenLedger.Outcome outcome = refreshTokenLedger.consume(claims.getId(), user.getId(), claims.getExpiration());
+            if (outcome == RefreshTokenLedger.Outcome.RECENTLY_USED) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid token", "Refresh token was just used"));
+            }
+            if (outcome == RefreshTokenLedger.Outcome.REUSED) {
+                tokenVersionRegistry.revokeTokens(user);
+                User savedUser = userRepository.save(user);
+                tokenVersionRegistry.update(savedUser);
+                identityCache.evict(savedUser.getEmail());
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Invalid token", "Refresh token was already used; all sessions have been signed out"));
+            }
+
+            return ResponseEntity.ok(issueTokens(user));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Token refresh failed", e.getMessage()));
+        }
+    }
+
+    @Operation(
+        summary = "Logout",
+        description = "Revoke the refresh token in the body and the access token in the Authorization header. "
+            + "Either may be omitted, and an expired access token is ignored, so an idle session can still log out."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Logged out"),
+        @ApiResponse(responseCode = "400", 
+                    description = "Invalid token",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @Parameter(description = "JWT token with Bearer prefix")
+            @RequestHeader(value = "Authorization", required = false) String token,
+            @RequestBody(required = false) RefreshTokenRequest refreshRequest) {
+        try {
+            boolean hasRefreshToken = refreshRequest != null && refreshRequest.getRefreshToken() != null;
+            if (token == null && !hasRefreshToken) {
+                return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("Logout failed", "No token given"));
+            }
+
+            // The refresh token is checked on its own signature: the access token may have expired by now
+            if (hasRefreshToken) {
+                Claims refreshClaims = jwtUtil.getVerifiedClaims(refreshRequest.getRefreshToken());
+                if (!jwtUtil.isRefreshToken(refreshClaims)) {
+                    return ResponseEntity.badRequest()
+                        .body(new ErrorResponse("Invalid token", "Not a refresh token"));
+                }
+                refreshTokenLedger.revoke(refreshClaims.getId(),
+                    refreshClaims.get(JwtUtil.CLAIM_USER_ID, Long.class), refreshClaims.getExpiration());
+            }
+
+            if (token != null) {
+                if (token.startsWith("Bearer ")) {
+                    token = token.substring(7);
+                }
+                if (jwtUtil.validateToken(token)) {
+                    Claims claims = jwtUtil.getVerifiedClaims(token);
+                    revokedTokenStore.revoke(claims.getId(), claims.getExpiration());
+                }
+                // An expired or invalid access token is unusable already
+            }
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new ErrorResponse("Logout failed", e.getMessage()));
+        }
+    }
+
     @Operation(
         summary = "Validate JWT token",
         description = "Validate the provided JWT token and return user information"
@@ -321,9 +496,19 @@ public class AuthController {
             }
             
             if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                User user = userRepository.findByEmail(username)
+                Claims claims = jwtUtil.getVerifiedClaims(token);
+                if (!jwtUtil.isAccessToken(claims)) {
+                    return ResponseEntity.badRequest()
+                        .body(new ErrorResponse("Invalid token", "Not an access token"));
+                }
+                User user = userRepository.findByEmail(claims.getSubject())
                     .orElseThrow(() -> new RuntimeException("User not found"));
+                Integer version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+                if (!user.getActive() || !user.getTokenVersion().equals(version)
+                        || revokedTokenStore.isRevoked(claims.getId(), claims.getExpiration())) {
+                    return ResponseEntity.badRequest()
+                        .body(new ErrorResponse("Invalid token", "Token has been revoked"));
+                }
                 
                 return ResponseEntity.ok(new AuthResponse(
                     token,
@@ -342,6 +527,26 @@ public class AuthController {
         }
     }
 
+    // New access and refresh token pair for the user
+    private AuthResponse issueTokens(User user) {
+        AuthResponse authResponse = new AuthResponse(
+            jwtUtil.generateToken(user),
+            user.getEmail(),
+            user.getRole(),
+            user.getId(),
+            user.getFullName()
+        );
+        authResponse.setRefreshToken(jwtUtil.generateRefreshToken(user));
+        return authResponse;
+    }
+
+    // Password hashing pool is saturated: fail fast and tell the client when to retry
+    private ResponseEntity<?> busy(PasswordHashingService.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingService.getRetryAfterSeconds()))
+            .body(new ErrorResponse("Server busy", e.getMessage()));
+    }
+
     // Inner class for registration responses
     public static class RegistrationResponse {
         private String message;
@@ -7,8 +7,7 @@ import com.servicefinder.dto.BulkAvailabilityCreateRequest;
 import com.servicefinder.model.ServiceProvider;
 import com.servicefinder.model.User;
 import com.servicefinder.model.enums.Role;
-import com.servicefinder.repository.ServiceProviderRepository;
-import com.servicefinder.repository.UserRepository;
+import com.servicefinder.security.CurrentUser;
 import com.servicefinder.service.AvailabilityService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,7 +22,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -37,12 +35,6 @@ public class AvailabilityController {
     @Autowired
     private AvailabilityService availabilityService;
 
-    @Autowired
-    private UserRepository userRepository;
-    
-    @Autowired
-    private ServiceProviderRepository serviceProviderRepository;
-
     @PostMapping("/search")
     @Operation(
         summary = "Search available time slots",
@@ -77,14 +69,10 @@ public class AvailabilityController {
             @Parameter(description = "Service provider ID", required = true)
             @PathVariable Long providerId,
             @Valid @RequestBody AvailabilityCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser ServiceProvider currentProvider) {
         
         // Verify that the authenticated user owns this service provider profile
-        User currentUser = userRepository.findByEmail(authentication.getName())
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        if (currentUser.getServiceProvider() == null || 
-            !currentUser.getServiceProvider().getId().equals(providerId)) {
+        if (currentProvider == null || !currentProvider.getId().equals(providerId)) {
             throw new RuntimeException("Access denied: You can only create availability for your own profile");
         }
         
@@ -106,21 +94,15 @@ public class AvailabilityController {
     })
     public ResponseEntity<List<AvailabilityResponse>> createBulkAvailability(
             @Valid @RequestBody BulkAvailabilityCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
         
         try {
-            User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
             // Check if user has SERVICE_PROVIDER role
             if (currentUser.getRole() != Role.SERVICE_PROVIDER) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            // Find the ServiceProvider entity for this user
-            ServiceProvider serviceProvider = serviceProviderRepository.findByUser(currentUser)
-                .orElse(null);
-            
             if (serviceProvider == null) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -170,12 +152,9 @@ public class AvailabilityController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "End date for search (optional)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
         
-        User currentUser = userRepository.findByEmail(authentication.getName())
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        Long providerId = currentUser.getServiceProvider().getId();
+        Long providerId = serviceProvider.getId();
         List<AvailabilityResponse> availability = availabilityService.getProviderAvailability(providerId, startDate, endDate);
         return ResponseEntity.ok(availability);
     }
@@ -196,11 +175,8 @@ public class AvailabilityController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "End date for search (optional)")
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            Authentication authentication) {
-        User currentUser = userRepository.findByEmail(authentication.getName())
-            .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Long providerId = currentUser.getServiceProvider().getId();
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
+        Long providerId = serviceProvider.getId();
         List<AvailabilityResponse> availability = availabilityService.getProviderAvailabilityAll(providerId, startDate, endDate);
         return ResponseEntity.ok(availability);
     }
@@ -219,21 +195,15 @@ public class AvailabilityController {
     })
     public ResponseEntity<AvailabilityResponse> createMyAvailability(
             @Valid @RequestBody AvailabilityCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
         
         try {
-            User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
             // Check if user has SERVICE_PROVIDER role
             if (currentUser.getRole() != Role.SERVICE_PROVIDER) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
             
-            // Find the ServiceProvider entity for this user
-            ServiceProvider serviceProvider = serviceProviderRepository.findByUser(currentUser)
-                .orElse(null);
-            
             if (serviceProvider == null) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -263,13 +233,9 @@ public class AvailabilityController {
     public ResponseEntity<Void> deleteAvailability(
             @Parameter(description = "Availability slot ID", required = true)
             @PathVariable Long availabilityId,
-            Authentication authentication) {
-        
-        User currentUser = userRepository.findByEmail(authentication.getName())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
         
-        Long providerId = currentUser.getServiceProvider() != null ? 
-            currentUser.getServiceProvider().getId() : null;
+        Long providerId = serviceProvider != null ? serviceProvider.getId() : null;
         
         availabilityService.deleteAvailability(availabilityId, providerId);
         return ResponseEntity.ok().build();
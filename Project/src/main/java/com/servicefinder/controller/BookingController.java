@@ -3,10 +3,18 @@ package com.servicefinder.controller;
 import com.servicefinder.dto.BookingCreateRequest;
 import com.servicefinder.dto.BookingResponse;
 import com.servicefinder.dto.BookingUpdateRequest;
+import com.servicefinder.dto.BulkBookingTransitionRequest;
+import com.servicefinder.dto.BulkBookingTransitionResponse;
+import com.servicefinder.dto.RouteResponse;
 import com.servicefinder.model.*;
 import com.servicefinder.model.enums.BookingStatus;
 import com.servicefinder.model.enums.Role;
 import com.servicefinder.repository.*;
+import com.servicefinder.security.CurrentUser;
+import com.servicefinder.service.BookingConflictService;
+import com.servicefinder.service.BookingLifecycleService;
+import com.servicefinder.service.ProviderStatsService;
+import com.servicefinder.service.RoutePlanningService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,13 +31,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -44,15 +53,24 @@ public class BookingController {
     @Autowired
     private BookingRepository bookingRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private ServiceRepository serviceRepository;
 
     @Autowired
     private ServiceProviderRepository serviceProviderRepository;
 
+    @Autowired
+    private BookingLifecycleService bookingLifecycleService;
+
+    @Autowired
+    private BookingConflictService bookingConflictService;
+
+    @Autowired
+    private ProviderStatsService providerStatsService;
+
+    @Autowired
+    private RoutePlanningService routePlanningService;
+
     // Create a new booking
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -66,13 +84,9 @@ public class BookingController {
     })
     public ResponseEntity<?> createBooking(
             @Valid @RequestBody BookingCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
         try {
-            // Get the authenticated customer
-            User customer = userRepository.findByEmail(authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("Customer not found"));
-
             // Get the service
             Service service = serviceRepository.findById(request.getServiceId())
                     .orElseThrow(() -> new RuntimeException("Service not found"));
@@ -84,13 +98,21 @@ public class BookingController {
             LocalDateTime estimatedEndTime = request.getScheduledDateTime()
                     .plusMinutes(service.getDurationMinutes() != null ? service.getDurationMinutes() : 60);
 
-            // Check for booking conflicts
-            List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                    serviceProvider, request.getScheduledDateTime(), estimatedEndTime);
+            // Check for booking conflicts, including travel time from/to the provider's adjacent jobs
+            Double latitude = request.getCustomerLatitude() != null ? request.getCustomerLatitude() : service.getLocationLatitude();
+            Double longitude = request.getCustomerLongitude() != null ? request.getCustomerLongitude() : service.getLocationLongitude();
+            List<BookingConflictService.Conflict> conflicts = bookingConflictService.findConflicts(
+                    serviceProvider.getId(), request.getScheduledDateTime(), estimatedEndTime, latitude, longitude);
             
             if (!conflicts.isEmpty()) {
+                BookingConflictService.Conflict conflict = conflicts.get(0);
+                if (conflict.isOverlap()) {
+                    return ResponseEntity.badRequest()
+                            .body("Time slot not available. Provider has a conflicting booking.");
+                }
                 return ResponseEntity.badRequest()
-                        .body("Time slot not available. Provider has a conflicting booking.");
+                        .body("Time slot not available. Provider needs " + conflict.getRequiredGapMinutes() +
+                              " minutes to travel between bookings.");
             }
 
             // Create the booking
@@ -107,7 +129,7 @@ public class BookingController {
             booking.setCustomerLatitude(request.getCustomerLatitude());
             booking.setCustomerLongitude(request.getCustomerLongitude());
 
-            Booking savedBooking = bookingRepository.save(booking);
+            Booking savedBooking = bookingLifecycleService.save(booking, null);
             return ResponseEntity.status(HttpStatus.CREATED).body(convertToResponse(savedBooking));
 
         } catch (RuntimeException e) {
@@ -127,7 +149,7 @@ public class BookingController {
     })
     public ResponseEntity<?> getBookingById(
             @Parameter(description = "Booking ID") @PathVariable Long id,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Booking> bookingOpt = bookingRepository.findById(id);
         if (bookingOpt.isEmpty()) {
@@ -135,8 +157,6 @@ public class BookingController {
         }
 
         Booking booking = bookingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check access permissions
         boolean hasAccess = currentUser.getRole() == Role.ADMIN ||
@@ -164,11 +184,8 @@ public class BookingController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Filter by status") @RequestParam(required = false) BookingStatus status,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
-        User customer = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
         Pageable pageable = PageRequest.of(page, size);
         Page<Booking> bookings;
 
@@ -199,9 +216,9 @@ public class BookingController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Filter by status") @RequestParam(required = false) BookingStatus status,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
-        return getCustomerBookings(page, size, status, authentication);
+        return getCustomerBookings(page, size, status, customer);
     }
 
     // Get provider's bookings
@@ -216,13 +233,11 @@ public class BookingController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Filter by status") @RequestParam(required = false) BookingStatus status,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser ServiceProvider provider) {
         
-        User providerUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        ServiceProvider provider = serviceProviderRepository.findByUser(providerUser)
-                .orElseThrow(() -> new RuntimeException("Service provider profile not found"));
+        if (provider == null) {
+            throw new RuntimeException("Service provider profile not found");
+        }
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Booking> bookings = bookingRepository.findByServiceProviderOrderByScheduledDateTimeDesc(provider, pageable);
@@ -231,6 +246,66 @@ public class BookingController {
         return ResponseEntity.ok(response);
     }
 
+    // Get the authenticated provider's dashboard stats
+    @GetMapping("/provider-stats")
+    @PreAuthorize("hasRole('SERVICE_PROVIDER')")
+    @Operation(summary = "Get provider booking stats", description = "Booking counts and revenue for the authenticated service provider")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Service provider profile not found")
+    })
+    public ResponseEntity<?> getMyProviderStats(@Parameter(hidden = true) @CurrentUser ServiceProvider provider) {
+        if (provider == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(providerStatsService.getStats(provider.getId()));
+    }
+
+    // Get any provider's dashboard stats (Admin only)
+    @GetMapping("/provider/{providerId}/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get booking stats for a provider", description = "Booking counts and revenue for a service provider")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stats retrieved successfully"),
+        @ApiResponse(responseCode = "404", description = "Service provider not found")
+    })
+    public ResponseEntity<?> getProviderStats(
+            @Parameter(description = "Service provider ID") @PathVariable Long providerId) {
+        
+        if (!serviceProviderRepository.existsById(providerId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(providerStatsService.getStats(providerId));
+    }
+
+    // Get an optimized visiting order for a provider's confirmed bookings on a day
+    @GetMapping("/provider/{providerId}/route")
+    @PreAuthorize("hasRole('SERVICE_PROVIDER') or hasRole('ADMIN')")
+    @Operation(summary = "Get daily route", description = "Optimized visiting order and travel distance for a provider's confirmed bookings on a date")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Route computed successfully",
+                content = @Content(schema = @Schema(implementation = RouteResponse.class))),
+        @ApiResponse(responseCode = "403", description = "Providers can only plan their own route")
+    })
+    public ResponseEntity<?> getProviderRoute(
+            @Parameter(description = "Service provider ID") @PathVariable Long providerId,
+            @Parameter(description = "Route date", example = "2024-01-15") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Parameter(description = "Start latitude (e.g. provider base)") @RequestParam(required = false) Double startLatitude,
+            @Parameter(description = "Start longitude (e.g. provider base)") @RequestParam(required = false) Double startLongitude,
+            @Parameter(description = "Allowed minutes before/after the booked time") @RequestParam(defaultValue = "60") long flexMinutes,
+            @Parameter(hidden = true) @CurrentUser User currentUser,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider ownProvider) {
+        
+        if (currentUser.getRole() != Role.ADMIN) {
+            if (ownProvider == null || !ownProvider.getId().equals(providerId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("You can only plan routes for your own bookings.");
+            }
+        }
+
+        return ResponseEntity.ok(routePlanningService.planRoute(providerId, date, startLatitude, startLongitude, flexMinutes));
+    }
+
     // Get upcoming bookings
     @GetMapping("/upcoming")
     @PreAuthorize("hasRole('CUSTOMER') or hasRole('SERVICE_PROVIDER')")
@@ -238,19 +313,19 @@ public class BookingController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Upcoming bookings retrieved successfully")
     })
-    public ResponseEntity<List<BookingResponse>> getUpcomingBookings(Authentication authentication) {
+    public ResponseEntity<List<BookingResponse>> getUpcomingBookings(
+            @Parameter(hidden = true) @CurrentUser User currentUser,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider provider) {
         
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         List<Booking> upcomingBookings;
         LocalDateTime now = LocalDateTime.now();
 
         if (currentUser.getRole() == Role.CUSTOMER) {
             upcomingBookings = bookingRepository.findUpcomingBookingsByCustomer(currentUser, now);
         } else { // SERVICE_PROVIDER
-            ServiceProvider provider = serviceProviderRepository.findByUser(currentUser)
-                    .orElseThrow(() -> new RuntimeException("Service provider profile not found"));
+            if (provider == null) {
+                throw new RuntimeException("Service provider profile not found");
+            }
             upcomingBookings = bookingRepository.findUpcomingBookingsByProvider(provider, now);
         }
 
@@ -273,7 +348,7 @@ public class BookingController {
     public ResponseEntity<?> updateBooking(
             @Parameter(description = "Booking ID") @PathVariable Long id,
             @Valid @RequestBody BookingUpdateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Booking> bookingOpt = bookingRepository.findById(id);
         if (bookingOpt.isEmpty()) {
@@ -281,8 +356,6 @@ public class BookingController {
         }
 
         Booking booking = bookingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check permissions and validate status transitions
         boolean isCustomer = booking.getCustomer().getId().equals(currentUser.getId());
@@ -294,6 +367,8 @@ public class BookingController {
                     .body("Access denied. You can only update your own bookings.");
         }
 
+        BookingStatus previousStatus = booking.getStatus();
+
         // Apply updates based on request
         if (request.getStatus() != null) {
             if (!isValidStatusTransition(booking.getStatus(), request.getStatus(), isCustomer, isProvider)) {
@@ -326,7 +401,7 @@ public class BookingController {
             booking.setActualEndDateTime(request.getActualEndDateTime());
         }
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = bookingLifecycleService.save(booking, previousStatus);
         return ResponseEntity.ok(convertToResponse(updatedBooking));
     }
 
@@ -343,7 +418,7 @@ public class BookingController {
     public ResponseEntity<?> updateBookingStatus(
             @Parameter(description = "Booking ID") @PathVariable Long id,
             @Valid @RequestBody BookingUpdateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Booking> bookingOpt = bookingRepository.findById(id);
         if (bookingOpt.isEmpty()) {
@@ -351,8 +426,6 @@ public class BookingController {
         }
 
         Booking booking = bookingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         boolean isCustomer = booking.getCustomer().getId().equals(currentUser.getId());
         boolean isProvider = currentUser.getRole() == Role.SERVICE_PROVIDER && 
@@ -411,7 +484,7 @@ public class BookingController {
             booking.setNotes(request.getNotes());
         }
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = bookingLifecycleService.save(booking, currentStatus);
         return ResponseEntity.ok(convertToResponse(updatedBooking));
     }
 
@@ -428,7 +501,7 @@ public class BookingController {
     public ResponseEntity<?> cancelBooking(
             @Parameter(description = "Booking ID") @PathVariable Long id,
             @Parameter(description = "Cancellation reason") @RequestParam String reason,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Booking> bookingOpt = bookingRepository.findById(id);
         if (bookingOpt.isEmpty()) {
@@ -436,8 +509,6 @@ public class BookingController {
         }
 
         Booking booking = bookingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check permissions
         boolean isCustomer = booking.getCustomer().getId().equals(currentUser.getId());
@@ -455,12 +526,13 @@ public class BookingController {
         }
 
         // Cancel the booking
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancellationReason(reason);
         booking.setCancelledBy(isCustomer ? "customer" : "provider");
         booking.setCancellationDateTime(LocalDateTime.now());
 
-        Booking cancelledBooking = bookingRepository.save(booking);
+        Booking cancelledBooking = bookingLifecycleService.save(booking, previousStatus);
         return ResponseEntity.ok(convertToResponse(cancelledBooking));
     }
 
@@ -475,9 +547,9 @@ public class BookingController {
     })
     public ResponseEntity<?> startService(
             @Parameter(description = "Booking ID") @PathVariable Long id,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
-        return updateBookingStatus(id, BookingStatus.IN_PROGRESS, authentication, true);
+        return updateBookingStatus(id, BookingStatus.IN_PROGRESS, currentUser, true);
     }
 
     // Mark service as completed (Provider only)
@@ -491,9 +563,9 @@ public class BookingController {
     })
     public ResponseEntity<?> completeService(
             @Parameter(description = "Booking ID") @PathVariable Long id,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
-        return updateBookingStatus(id, BookingStatus.COMPLETED, authentication, true);
+        return updateBookingStatus(id, BookingStatus.COMPLETED, currentUser, true);
     }
 
     // Confirm booking (Provider only)
@@ -507,21 +579,43 @@ public class BookingController {
     })
     public ResponseEntity<?> confirmBooking(
             @Parameter(description = "Booking ID") @PathVariable Long id,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
+        
+        return updateBookingStatus(id, BookingStatus.CONFIRMED, currentUser, true);
+    }
+
+    // Apply one status transition to many bookings (Provider only)
+    @PostMapping("/bulk-transition")
+    @PreAuthorize("hasRole('SERVICE_PROVIDER')")
+    @Operation(summary = "Bulk status transition", description = "Provider confirms, starts, completes or cancels several bookings at once")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Transition applied; see per-booking results",
+                content = @Content(schema = @Schema(implementation = BulkBookingTransitionResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request"),
+        @ApiResponse(responseCode = "404", description = "Service provider profile not found")
+    })
+    public ResponseEntity<?> bulkTransition(
+            @Valid @RequestBody BulkBookingTransitionRequest request,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider provider) {
         
-        return updateBookingStatus(id, BookingStatus.CONFIRMED, authentication, true);
+        // Resolve the provider once for the whole batch
+        if (provider == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Service provider profile not found");
+        }
+
+        BulkBookingTransitionResponse response = bookingLifecycleService.bulkTransition(
+                provider.getId(), request.getBookingIds(), request.getStatus(), request.getCancellationReason());
+        return ResponseEntity.ok(response);
     }
 
     // Helper method to update booking status
-    private ResponseEntity<?> updateBookingStatus(Long id, BookingStatus newStatus, Authentication authentication, boolean providerOnly) {
+    private ResponseEntity<?> updateBookingStatus(Long id, BookingStatus newStatus, User currentUser, boolean providerOnly) {
         Optional<Booking> bookingOpt = bookingRepository.findById(id);
         if (bookingOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         Booking booking = bookingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (providerOnly) {
             boolean isProvider = currentUser.getRole() == Role.SERVICE_PROVIDER && 
@@ -538,6 +632,7 @@ public class BookingController {
                     .body("Invalid status transition from " + booking.getStatus() + " to " + newStatus);
         }
 
+        BookingStatus previousStatus = booking.getStatus();
         booking.setStatus(newStatus);
         
         // Set actual times for service start/completion
@@ -547,7 +642,7 @@ public class BookingController {
             booking.setActualEndDateTime(LocalDateTime.now());
         }
 
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = bookingLifecycleService.save(booking, previousStatus);
         return ResponseEntity.ok(convertToResponse(updatedBooking));
     }
 
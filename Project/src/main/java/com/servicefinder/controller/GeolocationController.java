@@ -2,10 +2,12 @@ package com.servicefinder.controller;
 
 import com.servicefinder.dto.LocationSearchRequest;
 import com.servicefinder.dto.LocationSearchResponse;
+import com.servicefinder.dto.ProviderLeaderboardResponse;
 import com.servicefinder.model.Service;
 import com.servicefinder.model.ServiceProvider;
 import com.servicefinder.model.User;
 import com.servicefinder.service.GeolocationService;
+import com.servicefinder.service.ProviderLeaderboardService;
 import com.servicefinder.repository.ServiceRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,6 +26,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.DoubleSummaryStatistics;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -39,6 +42,9 @@ public class GeolocationController {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private ProviderLeaderboardService providerLeaderboardService;
+
     @Operation(
         summary = "Search service providers by location",
         description = "Find service providers within a specified radius of a location with optional filtering"
@@ -212,6 +218,48 @@ public class GeolocationController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+        summary = "Get top service providers",
+        description = "Leaderboard of available providers, optionally per category and/or city, ranked by " +
+                      "Bayesian-adjusted rating or by booking volume. Served from memory."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Leaderboard retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid sort"),
+        @ApiResponse(responseCode = "401", description = "Authentication required")
+    })
+    @GetMapping("/top-providers")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'SERVICE_PROVIDER', 'ADMIN')")
+    public ResponseEntity<List<ProviderLeaderboardResponse>> getTopProviders(
+            @Parameter(description = "Service category filter", example = "Home Maintenance")
+            @RequestParam(required = false) String category,
+
+            @Parameter(description = "City filter", example = "Chennai")
+            @RequestParam(required = false) String city,
+
+            @Parameter(description = "Ranking: RATING or BOOKINGS", example = "RATING")
+            @RequestParam(defaultValue = "RATING") String sort,
+
+            @Parameter(description = "Maximum number of results", example = "10")
+            @RequestParam(defaultValue = "10") @Positive Integer limit) {
+
+        ProviderLeaderboardService.Ranking ranking;
+        try {
+            ranking = ProviderLeaderboardService.Ranking.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<ProviderLeaderboardService.Entry> entries = providerLeaderboardService.top(category, city, ranking, limit);
+        List<ProviderLeaderboardResponse> response = new ArrayList<>(entries.size());
+        for (ProviderLeaderboardService.Entry entry : entries) {
+            response.add(new ProviderLeaderboardResponse(response.size() + 1, entry.getProviderId(),
+                entry.getBusinessName(), entry.getCity(), entry.getAverageRating(), entry.getTotalRatings(),
+                entry.getTotalBookings(), Math.round(entry.getScore() * 100.0) / 100.0));
+        }
+        return ResponseEntity.ok(response);
+    }
+
     // Helper methods
 
     private List<GeolocationService.ServiceProviderWithDistance> applyFilters(
@@ -1,12 +1,19 @@
 package com.servicefinder.controller;
 
 import com.servicefinder.dto.RatingCreateRequest;
+import com.servicefinder.dto.RatingImportResponse;
 import com.servicefinder.dto.RatingResponse;
 import com.servicefinder.dto.RatingUpdateRequest;
 import com.servicefinder.model.*;
 import com.servicefinder.model.enums.BookingStatus;
 import com.servicefinder.model.enums.Role;
 import com.servicefinder.repository.*;
+import com.servicefinder.security.CurrentUser;
+import com.servicefinder.service.HelpfulVoteCounter;
+import com.servicefinder.service.ProviderRatingStatsService;
+import com.servicefinder.service.RatingImportService;
+import com.servicefinder.service.RatingLifecycleService;
+import com.servicefinder.service.ReviewSearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,21 +22,26 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -41,15 +53,27 @@ public class RatingController {
     @Autowired
     private RatingRepository ratingRepository;
 
-    @Autowired
-    private UserRepository userRepository;
-
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private ServiceProviderRepository serviceProviderRepository;
 
+    @Autowired
+    private RatingLifecycleService ratingLifecycleService;
+
+    @Autowired
+    private ProviderRatingStatsService providerRatingStatsService;
+
+    @Autowired
+    private ReviewSearchService reviewSearchService;
+
+    @Autowired
+    private HelpfulVoteCounter helpfulVoteCounter;
+
+    @Autowired
+    private RatingImportService ratingImportService;
+
     // Create a new rating
     @PostMapping
     @PreAuthorize("hasRole('CUSTOMER')")
@@ -64,13 +88,9 @@ public class RatingController {
     })
     public ResponseEntity<?> createRating(
             @Valid @RequestBody RatingCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
         try {
-            // Get the authenticated customer
-            User customer = userRepository.findByEmail(authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("Customer not found"));
-
             // Get the booking
             Booking booking = bookingRepository.findById(request.getBookingId())
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -102,10 +122,8 @@ public class RatingController {
             rating.setReview(request.getReview());
             rating.setHelpfulCount(0);
 
-            Rating savedRating = ratingRepository.save(rating);
-
-            // Update service provider's average rating
-            updateProviderAverageRating(booking.getServiceProvider());
+            // Saves the rating and updates the provider's rating stats in one transaction
+            Rating savedRating = ratingLifecycleService.create(rating);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(convertToResponse(savedRating));
 
@@ -144,11 +162,8 @@ public class RatingController {
     public ResponseEntity<Page<RatingResponse>> getCustomerRatings(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
-        User customer = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
-
         Pageable pageable = PageRequest.of(page, size);
         Page<Rating> ratings = ratingRepository.findByUserOrderByCreatedAtDesc(customer, pageable);
 
@@ -166,9 +181,9 @@ public class RatingController {
     public ResponseEntity<Page<RatingResponse>> getCustomerRatingsAlternative(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User customer) {
         
-        return getCustomerRatings(page, size, authentication);
+        return getCustomerRatings(page, size, customer);
     }
 
     // Get provider's ratings
@@ -182,13 +197,11 @@ public class RatingController {
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Only show ratings with reviews") @RequestParam(defaultValue = "false") boolean reviewsOnly,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser ServiceProvider provider) {
         
-        User providerUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        ServiceProvider provider = serviceProviderRepository.findByUser(providerUser)
-                .orElseThrow(() -> new RuntimeException("Service provider profile not found"));
+        if (provider == null) {
+            throw new RuntimeException("Service provider profile not found");
+        }
 
         Pageable pageable = PageRequest.of(page, size);
         Page<Rating> ratings;
@@ -224,20 +237,15 @@ public class RatingController {
         Pageable pageable = PageRequest.of(page, size);
         Page<Rating> ratings;
 
-        if (reviewsOnly) {
-            ratings = ratingRepository.findRatingsWithReviewsByProvider(provider, pageable);
-        } else {
-            ratings = ratingRepository.findByServiceProviderOrderByCreatedAtDesc(provider, pageable);
-        }
-
-        // Apply rating filters if provided
         if (minRating != null || maxRating != null) {
+            // Range filter runs in the database, combined with reviewsOnly, one page at a time
             BigDecimal min = minRating != null ? minRating : BigDecimal.valueOf(1.0);
             BigDecimal max = maxRating != null ? maxRating : BigDecimal.valueOf(5.0);
-            
-            List<Rating> filteredRatings = ratingRepository.findRatingsByProviderAndRatingRange(provider, min, max);
-            // Convert to page (simplified - in real implementation, you'd handle pagination properly)
-            ratings = Page.empty(); // For simplicity, returning filtered results without pagination
+            ratings = ratingRepository.findRatingsByProviderAndRatingRange(provider, min, max, reviewsOnly, pageable);
+        } else if (reviewsOnly) {
+            ratings = ratingRepository.findRatingsWithReviewsByProvider(provider, pageable);
+        } else {
+            ratings = ratingRepository.findByServiceProviderOrderByCreatedAtDesc(provider, pageable);
         }
 
         Page<RatingResponse> response = ratings.map(this::convertToResponse);
@@ -256,7 +264,7 @@ public class RatingController {
     public ResponseEntity<?> updateRating(
             @Parameter(description = "Rating ID") @PathVariable Long id,
             @Valid @RequestBody RatingUpdateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Rating> ratingOpt = ratingRepository.findById(id);
         if (ratingOpt.isEmpty()) {
@@ -264,15 +272,15 @@ public class RatingController {
         }
 
         Rating rating = ratingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check if this is the user's rating
-        if (!rating.getUser().getId().equals(currentUser.getId())) {
+        if (rating.getUser() == null || !rating.getUser().getId().equals(currentUser.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("Access denied. You can only update your own ratings.");
         }
 
+        BigDecimal previousRating = rating.getRating();
+
         // Apply updates
         if (request.getRating() != null) {
             rating.setRating(request.getRating());
@@ -281,10 +289,7 @@ public class RatingController {
             rating.setReview(request.getReview());
         }
 
-        Rating updatedRating = ratingRepository.save(rating);
-
-        // Update service provider's average rating
-        updateProviderAverageRating(rating.getServiceProvider());
+        Rating updatedRating = ratingLifecycleService.update(rating, previousRating);
 
         return ResponseEntity.ok(convertToResponse(updatedRating));
     }
@@ -300,24 +305,20 @@ public class RatingController {
     })
     public ResponseEntity<?> getRatingByBooking(
             @Parameter(description = "Booking ID") @PathVariable Long bookingId,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser,
+            @Parameter(hidden = true) @CurrentUser ServiceProvider currentProvider) {
         
         try {
             // Get the booking first
             Booking booking = bookingRepository.findById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-            // Get the authenticated user
-            User currentUser = userRepository.findByEmail(authentication.getName())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             // Check if user has access to this booking (customer who made it or provider who served it)
             boolean hasAccess = false;
             if (currentUser.getRole() == Role.CUSTOMER && booking.getCustomer().getId().equals(currentUser.getId())) {
                 hasAccess = true;
             } else if (currentUser.getRole() == Role.SERVICE_PROVIDER) {
-                ServiceProvider provider = serviceProviderRepository.findByUser(currentUser).orElse(null);
-                if (provider != null && booking.getServiceProvider().getId().equals(provider.getId())) {
+                if (currentProvider != null && booking.getServiceProvider().getId().equals(currentProvider.getId())) {
                     hasAccess = true;
                 }
             } else if (currentUser.getRole() == Role.ADMIN) {
@@ -353,7 +354,7 @@ public class RatingController {
     })
     public ResponseEntity<?> deleteRating(
             @Parameter(description = "Rating ID") @PathVariable Long id,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User currentUser) {
         
         Optional<Rating> ratingOpt = ratingRepository.findById(id);
         if (ratingOpt.isEmpty()) {
@@ -361,23 +362,17 @@ public class RatingController {
         }
 
         Rating rating = ratingOpt.get();
-        User currentUser = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Check permissions
         boolean canDelete = currentUser.getRole() == Role.ADMIN ||
-                           rating.getUser().getId().equals(currentUser.getId());
+                           (rating.getUser() != null && rating.getUser().getId().equals(currentUser.getId()));
 
         if (!canDelete) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("Access denied. You can only delete your own ratings.");
         }
 
-        ServiceProvider provider = rating.getServiceProvider();
-        ratingRepository.delete(rating);
-
-        // Update service provider's average rating
-        updateProviderAverageRating(provider);
+        ratingLifecycleService.delete(rating);
 
         return ResponseEntity.noContent().build();
     }
@@ -393,16 +388,15 @@ public class RatingController {
     public ResponseEntity<?> markReviewHelpful(
             @Parameter(description = "Rating ID") @PathVariable Long id) {
         
-        Optional<Rating> ratingOpt = ratingRepository.findById(id);
-        if (ratingOpt.isEmpty()) {
+        Optional<Integer> storedCount = ratingRepository.findHelpfulCountById(id);
+        if (storedCount.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        Rating rating = ratingOpt.get();
-        rating.setHelpfulCount(rating.getHelpfulCount() + 1);
-        Rating updatedRating = ratingRepository.save(rating);
+        // Counted in memory and flushed to the database in batches
+        helpfulVoteCounter.increment(id);
 
-        return ResponseEntity.ok(convertToResponse(updatedRating));
+        return ResponseEntity.ok(new HelpfulVoteResponse(id, helpfulVoteCounter.currentValue(id, storedCount.get())));
     }
 
     // Get rating statistics for a provider
@@ -415,34 +409,24 @@ public class RatingController {
     public ResponseEntity<?> getProviderRatingStats(
             @Parameter(description = "Service provider ID") @PathVariable Long providerId) {
         
-        ServiceProvider provider = serviceProviderRepository.findById(providerId)
-                .orElseThrow(() -> new RuntimeException("Service provider not found"));
+        if (!serviceProviderRepository.existsById(providerId)) {
+            return ResponseEntity.notFound().build();
+        }
 
-        // Calculate statistics
-        BigDecimal averageRating = ratingRepository.calculateAverageRatingByProvider(provider);
-        Long totalRatings = ratingRepository.countRatingsByProvider(provider);
-        List<Object[]> ratingDistribution = ratingRepository.getRatingDistributionByProvider(provider);
+        // Running totals are maintained on every rating write, so this is a single row read
+        ProviderRatingStats ratingStats = providerRatingStatsService.getStats(providerId);
+        long totalRatings = ratingStats.getRatingCount();
 
-        // Calculate percentages for each rating value
         RatingStats stats = new RatingStats();
-        stats.setAverageRating(averageRating != null ? averageRating.doubleValue() : 0.0);
-        stats.setTotalRatings(totalRatings != null ? totalRatings : 0L);
-
-        // Process rating distribution
-        if (totalRatings != null && totalRatings > 0) {
-            for (Object[] dist : ratingDistribution) {
-                BigDecimal ratingValue = (BigDecimal) dist[0];
-                Long count = (Long) dist[1];
-                double percentage = (count.doubleValue() / totalRatings.doubleValue()) * 100;
-                
-                switch (ratingValue.intValue()) {
-                    case 5: stats.setFiveStarPercentage(percentage); break;
-                    case 4: stats.setFourStarPercentage(percentage); break;
-                    case 3: stats.setThreeStarPercentage(percentage); break;
-                    case 2: stats.setTwoStarPercentage(percentage); break;
-                    case 1: stats.setOneStarPercentage(percentage); break;
-                }
-            }
+        stats.setAverageRating(ratingStats.getAverage().doubleValue());
+        stats.setTotalRatings(totalRatings);
+
+        if (totalRatings > 0) {
+            stats.setFiveStarPercentage(ratingStats.getFiveStar() * 100.0 / totalRatings);
+            stats.setFourStarPercentage(ratingStats.getFourStar() * 100.0 / totalRatings);
+            stats.setThreeStarPercentage(ratingStats.getThreeStar() * 100.0 / totalRatings);
+            stats.setTwoStarPercentage(ratingStats.getTwoStar() * 100.0 / totalRatings);
+            stats.setOneStarPercentage(ratingStats.getOneStar() * 100.0 / totalRatings);
         }
 
         return ResponseEntity.ok(stats);
@@ -450,44 +434,63 @@ public class RatingController {
 
     // Search reviews by keyword
     @GetMapping("/provider/{providerId}/search")
-    @Operation(summary = "Search reviews", description = "Search reviews for a provider by keyword")
+    @Operation(summary = "Search reviews", description = "Full-text search of a provider's reviews, ranked by relevance")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Reviews found"),
         @ApiResponse(responseCode = "404", description = "Service provider not found")
     })
     public ResponseEntity<List<RatingResponse>> searchReviews(
             @Parameter(description = "Service provider ID") @PathVariable Long providerId,
-            @Parameter(description = "Search keyword") @RequestParam String keyword) {
+            @Parameter(description = "Search keywords") @RequestParam String keyword,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "50") int limit) {
         
-        ServiceProvider provider = serviceProviderRepository.findById(providerId)
-                .orElseThrow(() -> new RuntimeException("Service provider not found"));
+        if (!serviceProviderRepository.existsById(providerId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        int size = Math.max(1, Math.min(limit, 200));
+        List<Long> rankedIds;
+        try {
+            // Over-fetch so hits for ratings deleted since indexing do not shrink the page
+            rankedIds = reviewSearchService.search(providerId, keyword, size * 2);
+        } catch (IOException e) {
+            throw new RuntimeException("Review search failed", e);
+        }
 
-        List<Rating> ratings = ratingRepository.searchReviewsByKeyword(provider, keyword);
-        List<RatingResponse> response = ratings.stream()
+        // Load hits in one query and keep the relevance order; ratings deleted since indexing drop out
+        Map<Long, Rating> byId = ratingRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Rating::getId, Function.identity()));
+        List<RatingResponse> response = rankedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .limit(size)
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
 
-    // Helper method to update provider's average rating
-    private void updateProviderAverageRating(ServiceProvider provider) {
-        BigDecimal averageRating = ratingRepository.calculateAverageRatingByProvider(provider);
-        Long totalRatings = ratingRepository.countRatingsByProvider(provider);
-        
-        if (averageRating != null) {
-            provider.setAverageRating(averageRating);
-        } else {
-            provider.setAverageRating(BigDecimal.ZERO);
-        }
-        
-        if (totalRatings != null) {
-            provider.setTotalRatings(totalRatings.intValue());
-        } else {
-            provider.setTotalRatings(0);
+    // Bulk import historical reviews
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import ratings", description = "Stream an NDJSON file of historical reviews (one JSON object per line) into the ratings table (admin only)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; see counts and line errors",
+                content = @Content(schema = @Schema(implementation = RatingImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Missing source"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<?> importRatings(
+            @Parameter(description = "Source system name, stored with each imported rating") @RequestParam String source,
+            HttpServletRequest request) throws IOException {
+
+        if (source.isBlank() || source.length() > 50) {
+            return ResponseEntity.badRequest().body("source must be 1-50 characters");
         }
-        
-        serviceProviderRepository.save(provider);
+
+        // Read straight from the request body so the upload is never buffered in memory
+        RatingImportResponse result = ratingImportService.importNdjson(request.getInputStream(), source.trim());
+        return ResponseEntity.ok(result);
     }
 
     // Helper method to convert Rating to RatingResponse
@@ -497,17 +500,18 @@ public class RatingController {
         response.setId(rating.getId());
         response.setRating(rating.getRating());
         response.setReview(rating.getReview());
-        response.setHelpfulCount(rating.getHelpfulCount());
+        response.setHelpfulCount(helpfulVoteCounter.currentValue(rating.getId(), rating.getHelpfulCount()));
         response.setCreatedAt(rating.getCreatedAt());
         response.setUpdatedAt(rating.getUpdatedAt());
 
         // Customer info
         User customer = rating.getUser();
-        RatingResponse.CustomerInfo customerInfo = new RatingResponse.CustomerInfo(
-                customer.getId(),
-                customer.getFirstName() + " " + customer.getLastName(),
-                customer.getEmail()
-        );
+        RatingResponse.CustomerInfo customerInfo = customer != null
+                ? new RatingResponse.CustomerInfo(
+                        customer.getId(),
+                        customer.getFirstName() + " " + customer.getLastName(),
+                        customer.getEmail())
+                : new RatingResponse.CustomerInfo(null, rating.getReviewerName(), null); // Imported review
         response.setCustomer(customerInfo);
 
         // Service provider info
@@ -523,13 +527,15 @@ public class RatingController {
 
         // Booking info
         Booking booking = rating.getBooking();
-        RatingResponse.BookingInfo bookingInfo = new RatingResponse.BookingInfo(
-                booking.getId(),
-                booking.getService().getName(),
-                booking.getScheduledDateTime(),
-                booking.getStatus().toString()
-        );
-        response.setBooking(bookingInfo);
+        if (booking != null) {
+            RatingResponse.BookingInfo bookingInfo = new RatingResponse.BookingInfo(
+                    booking.getId(),
+                    booking.getService().getName(),
+                    booking.getScheduledDateTime(),
+                    booking.getStatus().toString()
+            );
+            response.setBooking(bookingInfo);
+        }
 
         return response;
     }
@@ -560,4 +566,18 @@ public class RatingController {
         public Double getOneStarPercentage() { return oneStarPercentage; }
         public void setOneStarPercentage(Double oneStarPercentage) { this.oneStarPercentage = oneStarPercentage; }
     }
-} 
\ No newline at end of file
+
+    // Inner class for helpful vote responses
+    public static class HelpfulVoteResponse {
+        private Long ratingId;
+        private Integer helpfulCount;
+
+        public HelpfulVoteResponse(Long ratingId, Integer helpfulCount) {
+            this.ratingId = ratingId;
+            this.helpfulCount = helpfulCount;
+        }
+
+        public Long getRatingId() { return ratingId; }
+        public Integer getHelpfulCount() { return helpfulCount; }
+    }
+}
@@ -1,14 +1,27 @@
 package com.servicefinder.controller;
 
+import com.servicefinder.dto.AutocompleteResponse;
+import com.servicefinder.dto.CategoryTaxonomyResponse;
+import com.servicefinder.dto.FuzzySearchResponse;
+import com.servicefinder.dto.ServiceCatalogResponse;
 import com.servicefinder.dto.ServiceCreateRequest;
+import com.servicefinder.dto.ServiceDiscoveryResponse;
+import com.servicefinder.dto.ServiceImportResponse;
 import com.servicefinder.dto.ServiceResponse;
 import com.servicefinder.dto.ServiceUpdateRequest;
+import com.servicefinder.event.ServiceChangedEvent;
 import com.servicefinder.model.Service;
 import com.servicefinder.model.ServiceProvider;
 import com.servicefinder.model.User;
 import com.servicefinder.repository.ServiceRepository;
 import com.servicefinder.repository.ServiceProviderRepository;
-import com.servicefinder.repository.UserRepository;
+import com.servicefinder.security.CurrentUser;
+import com.servicefinder.service.AutocompleteService;
+import com.servicefinder.service.FuzzySearchService;
+import com.servicefinder.service.ServiceBulkService;
+import com.servicefinder.service.ServiceCatalogService;
+import com.servicefinder.service.ServiceDiscoveryIndex;
+import com.servicefinder.service.ServiceTaxonomyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,18 +30,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/services")
@@ -37,6 +59,8 @@ import java.util.stream.Collectors;
 @SecurityRequirement(name = "bearerAuth")
 public class ServiceController {
 
+    private static final double MAX_DISCOVERY_RADIUS_KM = 200.0;
+
     @Autowired
     private ServiceRepository serviceRepository;
 
@@ -44,7 +68,25 @@ public class ServiceController {
     private ServiceProviderRepository serviceProviderRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private ServiceCatalogService serviceCatalogService;
+
+    @Autowired
+    private ServiceTaxonomyCache serviceTaxonomyCache;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private FuzzySearchService fuzzySearchService;
+
+    @Autowired
+    private ServiceDiscoveryIndex serviceDiscoveryIndex;
+
+    @Autowired
+    private ServiceBulkService serviceBulkService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Operation(
         summary = "Create a new service",
@@ -63,15 +105,12 @@ public class ServiceController {
     public ResponseEntity<?> createService(
             @Parameter(description = "Service creation data", required = true)
             @Valid @RequestBody ServiceCreateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser ServiceProvider serviceProvider) {
         
         try {
-            String email = authentication.getName();
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-            ServiceProvider serviceProvider = serviceProviderRepository.findByUser(user)
-                .orElseThrow(() -> new RuntimeException("Service provider profile not found"));
+            if (serviceProvider == null) {
+                throw new RuntimeException("Service provider profile not found");
+            }
 
             Service service = new Service();
             service.setServiceProvider(serviceProvider);
@@ -95,6 +134,7 @@ public class ServiceController {
             service.setServiceRadiusKm(request.getServiceRadiusKm());
 
             Service savedService = serviceRepository.save(service);
+            eventPublisher.publishEvent(ServiceChangedEvent.created(savedService));
             return ResponseEntity.status(HttpStatus.CREATED).body(new ServiceResponse(savedService));
 
         } catch (Exception e) {
@@ -104,7 +144,7 @@ public class ServiceController {
 
     @Operation(
         summary = "Get all active services",
-        description = "Retrieve all active services with optional filtering"
+        description = "Retrieve all active services matching every given filter"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Services retrieved successfully")
@@ -115,29 +155,112 @@ public class ServiceController {
             @Parameter(description = "Filter by subcategory") @RequestParam(required = false) String subcategory,
             @Parameter(description = "Search keyword") @RequestParam(required = false) String search,
             @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
-            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice) {
-        
-        List<Service> services;
-
-        if (search != null && !search.trim().isEmpty()) {
-            services = serviceRepository.searchByKeyword(search.trim());
-        } else if (category != null && minPrice != null && maxPrice != null) {
-            services = serviceRepository.findByCategoryAndPriceRange(category, minPrice, maxPrice);
-        } else if (minPrice != null && maxPrice != null) {
-            services = serviceRepository.findByPriceRange(minPrice, maxPrice);
-        } else if (category != null) {
-            services = serviceRepository.findByCategoryAndActiveTrue(category);
-        } else if (subcategory != null) {
-            services = serviceRepository.findBySubcategory(subcategory);
-        } else {
-            services = serviceRepository.findByActiveTrue();
-        }
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+            @Parameter(description = "Minimum provider rating") @RequestParam(required = false) BigDecimal minRating) {
 
-        List<ServiceResponse> serviceResponses = services.stream()
-            .map(ServiceResponse::new)
-            .collect(Collectors.toList());
+        ServiceCatalogService.CatalogFilter filter =
+            toCatalogFilter(search, category, subcategory, city, minPrice, maxPrice, minRating);
+        return ResponseEntity.ok(serviceCatalogService.findAll(filter));
+    }
 
-        return ResponseEntity.ok(serviceResponses);
+    @Operation(
+        summary = "Search the service catalog",
+        description = "Paginated search combining keyword, category, subcategory, city, price range and " +
+                      "provider rating, with facet counts per category and price bucket"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ServiceCatalogResponse.class)))
+    })
+    @GetMapping("/catalog")
+    public ResponseEntity<ServiceCatalogResponse> searchCatalog(
+            @Parameter(description = "Search keyword") @RequestParam(required = false) String search,
+            @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
+            @Parameter(description = "Filter by subcategory") @RequestParam(required = false) String subcategory,
+            @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Minimum provider rating") @RequestParam(required = false) BigDecimal minRating,
+            @Parameter(description = "Sort: newest, price_asc, price_desc, rating or name") @RequestParam(defaultValue = "newest") String sort,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        ServiceCatalogService.CatalogFilter filter =
+            toCatalogFilter(search, category, subcategory, city, minPrice, maxPrice, minRating);
+        return ResponseEntity.ok(serviceCatalogService.search(filter, page, size, sort));
+    }
+
+    @Operation(
+        summary = "Autocomplete search terms",
+        description = "Typeahead suggestions for categories, subcategories, service names and providers " +
+                      "matching the start of any word, most popular first. Served from memory."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = AutocompleteResponse.class)))
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<AutocompleteResponse> autocomplete(
+            @Parameter(description = "Text typed so far", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum suggestions per group (max 10)") @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(autocompleteService.suggest(q, limit));
+    }
+
+    @Operation(
+        summary = "Typo-tolerant search",
+        description = "Search service names, categories, subcategories and provider business names, " +
+                      "tolerating small spelling mistakes (e.g. \"plumbr\", \"electrcian\"). " +
+                      "Returns a corrected query when a word was misspelled."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Search completed successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = FuzzySearchResponse.class)))
+    })
+    @GetMapping("/search/fuzzy")
+    public ResponseEntity<FuzzySearchResponse> fuzzySearch(
+            @Parameter(description = "Search text", required = true) @RequestParam String q,
+            @Parameter(description = "Maximum results per group (max 50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(fuzzySearchService.search(q, limit));
+    }
+
+    @Operation(
+        summary = "Discover services nearby",
+        description = "Active services within a radius of a location, optionally limited to a category and " +
+                      "price range, sorted by distance or price. Answered in one pass from an in-memory " +
+                      "geo grid partitioned by category."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Services retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = ServiceDiscoveryResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid location, radius, price range or sort")
+    })
+    @GetMapping("/discover")
+    public ResponseEntity<?> discoverServices(
+            @Parameter(description = "Latitude", required = true) @RequestParam Double latitude,
+            @Parameter(description = "Longitude", required = true) @RequestParam Double longitude,
+            @Parameter(description = "Search radius in kilometers (max 200)") @RequestParam(defaultValue = "10") Double radiusKm,
+            @Parameter(description = "Filter by category") @RequestParam(required = false) String category,
+            @Parameter(description = "Minimum price") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Sort: distance or price") @RequestParam(defaultValue = "distance") String sort,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            ServiceDiscoveryIndex.SortOrder order = ServiceDiscoveryIndex.SortOrder.valueOf(sort.trim().toUpperCase());
+            double radius = Math.min(radiusKm, MAX_DISCOVERY_RADIUS_KM);
+            return ResponseEntity.ok(serviceDiscoveryIndex.search(category, latitude, longitude, radius,
+                minPrice, maxPrice, order, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid sort", "Sort must be distance or price"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Discovery search failed", e.getMessage()));
+        }
     }
 
     @Operation(
@@ -174,16 +297,12 @@ public class ServiceController {
     public ResponseEntity<?> getServicesByProvider(
             @Parameter(description = "Service provider ID", required = true) @PathVariable Long providerId) {
         
-        Optional<ServiceProvider> providerOpt = serviceProviderRepository.findById(providerId);
-        if (providerOpt.isPresent()) {
-            List<Service> services = serviceRepository.findByServiceProvider(providerOpt.get());
-            List<ServiceResponse> serviceResponses = services.stream()
-                .map(ServiceResponse::new)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(serviceResponses);
-        } else {
+        List<ServiceResponse> serviceResponses = serviceRepository.findResponsesByProviderId(providerId);
+        // Only an empty result needs the existence check
+        if (serviceResponses.isEmpty() && !serviceProviderRepository.existsById(providerId)) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(serviceResponses);
     }
 
     @Operation(
@@ -201,24 +320,92 @@ public class ServiceController {
         
         try {
             String email = authentication.getName();
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-            ServiceProvider serviceProvider = serviceProviderRepository.findByUser(user)
+            Long providerId = serviceProviderRepository.findIdByUserEmail(email)
                 .orElseThrow(() -> new RuntimeException("Service provider profile not found"));
 
-            List<Service> services = serviceRepository.findByServiceProvider(serviceProvider);
-            List<ServiceResponse> serviceResponses = services.stream()
-                .map(ServiceResponse::new)
-                .collect(Collectors.toList());
-
-            return ResponseEntity.ok(serviceResponses);
+            return ResponseEntity.ok(serviceRepository.findResponsesByProviderId(providerId));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Failed to retrieve services", e.getMessage()));
         }
     }
 
+    @Operation(
+        summary = "Export services",
+        description = "Download all of a provider's services as CSV (with header row) or NDJSON, in the format accepted by the bulk import. Admins may pass providerId."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Services streamed as a file attachment"),
+        @ApiResponse(responseCode = "400", description = "Unknown format"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Service provider not found")
+    })
+    @GetMapping("/bulk/export")
+    @PreAuthorize("hasRole('SERVICE_PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportServices(
+            @Parameter(description = "File format: csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Provider to export (admins only); defaults to your own profile") @RequestParam(required = false) Long providerId,
+            Authentication authentication) {
+
+        // Declared as StreamingResponseBody so MVC streams the body; errors therefore carry no body
+        ServiceBulkService.Format bulkFormat = parseBulkFormat(format);
+        if (bulkFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        Optional<Long> resolvedProviderId = resolveBulkProviderId(authentication, providerId);
+        if (resolvedProviderId.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        Long exportProviderId = resolvedProviderId.get();
+        String extension = bulkFormat == ServiceBulkService.Format.CSV ? "csv" : "ndjson";
+        StreamingResponseBody body = out -> serviceBulkService.export(exportProviderId, bulkFormat, out);
+        return ResponseEntity.ok()
+                .contentType(bulkFormat == ServiceBulkService.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"services-" + exportProviderId + "." + extension + "\"")
+                .body(body);
+    }
+
+    @Operation(
+        summary = "Import services",
+        description = "Create or update a provider's services from a CSV (with header row) or NDJSON upload. Rows with an id update that service; " +
+                      "rows without one update the service with the same name or create a new one. Invalid rows are reported and skipped."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Import finished; see counts and per-row results",
+                content = @Content(schema = @Schema(implementation = ServiceImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Unknown format or CSV column"),
+        @ApiResponse(responseCode = "403", description = "Access denied"),
+        @ApiResponse(responseCode = "404", description = "Service provider not found")
+    })
+    @PostMapping(value = "/bulk/import", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasRole('SERVICE_PROVIDER') or hasRole('ADMIN')")
+    public ResponseEntity<?> importServices(
+            @Parameter(description = "File format: csv or ndjson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Provider to import into (admins only); defaults to your own profile") @RequestParam(required = false) Long providerId,
+            Authentication authentication,
+            HttpServletRequest request) throws IOException {
+
+        ServiceBulkService.Format bulkFormat = parseBulkFormat(format);
+        if (bulkFormat == null) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid format", "format must be csv or ndjson"));
+        }
+        Optional<Long> resolvedProviderId = resolveBulkProviderId(authentication, providerId);
+        if (resolvedProviderId.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            // Read straight from the request body so the upload is never buffered in memory
+            return ResponseEntity.ok(serviceBulkService.importRows(request.getInputStream(), bulkFormat, resolvedProviderId.get()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid file", e.getMessage()));
+        }
+    }
+
     @Operation(
         summary = "Update service",
         description = "Service providers can update their existing services"
@@ -237,13 +424,9 @@ public class ServiceController {
             @Parameter(description = "Service ID", required = true) @PathVariable Long serviceId,
             @Parameter(description = "Service update data", required = true)
             @Valid @RequestBody ServiceUpdateRequest request,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User user) {
         
         try {
-            String email = authentication.getName();
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
             Optional<Service> serviceOpt = serviceRepository.findById(serviceId);
             if (!serviceOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
@@ -257,6 +440,8 @@ public class ServiceController {
                     .body(new ErrorResponse("Access denied", "You can only update your own services"));
             }
 
+            ServiceChangedEvent.Snapshot before = ServiceChangedEvent.Snapshot.of(service);
+
             // Update only provided fields
             if (request.getName() != null) {
                 service.setName(request.getName());
@@ -292,6 +477,7 @@ public class ServiceController {
             if (request.getServiceRadiusKm() != null) service.setServiceRadiusKm(request.getServiceRadiusKm());
 
             Service updatedService = serviceRepository.save(service);
+            eventPublisher.publishEvent(new ServiceChangedEvent(before, ServiceChangedEvent.Snapshot.of(updatedService)));
             return ResponseEntity.ok(new ServiceResponse(updatedService));
 
         } catch (Exception e) {
@@ -312,13 +498,9 @@ public class ServiceController {
     @PreAuthorize("hasRole('SERVICE_PROVIDER') or hasRole('ADMIN')")
     public ResponseEntity<?> deleteService(
             @Parameter(description = "Service ID", required = true) @PathVariable Long serviceId,
-            Authentication authentication) {
+            @Parameter(hidden = true) @CurrentUser User user) {
         
         try {
-            String email = authentication.getName();
-            User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
             Optional<Service> serviceOpt = serviceRepository.findById(serviceId);
             if (!serviceOpt.isPresent()) {
                 return ResponseEntity.notFound().build();
@@ -332,7 +514,9 @@ public class ServiceController {
                     .body(new ErrorResponse("Access denied", "You can only delete your own services"));
             }
 
+            ServiceChangedEvent.Snapshot before = ServiceChangedEvent.Snapshot.of(service);
             serviceRepository.delete(service);
+            eventPublisher.publishEvent(ServiceChangedEvent.deleted(before));
             return ResponseEntity.noContent().build();
 
         } catch (Exception e) {
@@ -342,29 +526,64 @@ public class ServiceController {
 
     @Operation(
         summary = "Get service categories",
-        description = "Retrieve all available service categories"
+        description = "Retrieve all available service categories. Supports If-None-Match revalidation."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Categories retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Categories retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Categories unchanged since the given ETag")
     })
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getCategories() {
-        List<String> categories = serviceRepository.findAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<String>> getCategories(WebRequest webRequest) {
+        ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.get();
+        if (webRequest.checkNotModified(taxonomy.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(taxonomy.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(taxonomy.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(taxonomy.getCategoryNames());
     }
 
     @Operation(
         summary = "Get subcategories by category",
-        description = "Retrieve subcategories for a specific category"
+        description = "Retrieve subcategories for a specific category. Supports If-None-Match revalidation."
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Subcategories retrieved successfully")
+        @ApiResponse(responseCode = "200", description = "Subcategories retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Subcategories unchanged since the given ETag")
     })
     @GetMapping("/subcategories")
     public ResponseEntity<List<String>> getSubcategories(
-            @Parameter(description = "Category name", required = true) @RequestParam String category) {
-        List<String> subcategories = serviceRepository.findSubcategoriesByCategory(category);
-        return ResponseEntity.ok(subcategories);
+            @Parameter(description = "Category name", required = true) @RequestParam String category,
+            WebRequest webRequest) {
+        ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.get();
+        if (webRequest.checkNotModified(taxonomy.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(taxonomy.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(taxonomy.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(taxonomy.getSubcategoryNames(category));
+    }
+
+    @Operation(
+        summary = "Get the service taxonomy",
+        description = "All categories and subcategories with active service counts. Supports If-None-Match revalidation."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Taxonomy retrieved successfully"),
+        @ApiResponse(responseCode = "304", description = "Taxonomy unchanged since the given ETag")
+    })
+    @GetMapping("/taxonomy")
+    public ResponseEntity<List<CategoryTaxonomyResponse>> getTaxonomy(WebRequest webRequest) {
+        ServiceTaxonomyCache.Taxonomy taxonomy = serviceTaxonomyCache.get();
+        if (webRequest.checkNotModified(taxonomy.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(taxonomy.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+            .eTag(taxonomy.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(taxonomy.getCategories());
     }
 
     @Operation(
@@ -382,18 +601,45 @@ public class ServiceController {
             @Parameter(description = "Search radius in kilometers", required = false) @RequestParam(defaultValue = "25") Double radiusKm) {
         
         try {
-            List<Service> services = serviceRepository.findServicesWithinRadius(latitude, longitude, radiusKm);
-            List<ServiceResponse> serviceResponses = services.stream()
-                .map(ServiceResponse::new)
-                .collect(Collectors.toList());
-
-            return ResponseEntity.ok(serviceResponses);
+            return ResponseEntity.ok(serviceRepository.findResponsesWithinRadius(latitude, longitude, radiusKm));
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Location search failed", e.getMessage()));
         }
     }
 
+    private ServiceCatalogService.CatalogFilter toCatalogFilter(String search, String category, String subcategory,
+                                                                String city, BigDecimal minPrice, BigDecimal maxPrice,
+                                                                BigDecimal minRating) {
+        ServiceCatalogService.CatalogFilter filter = new ServiceCatalogService.CatalogFilter();
+        filter.setKeyword(search);
+        filter.setCategory(category);
+        filter.setSubcategory(subcategory);
+        filter.setCity(city);
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        filter.setMinRating(minRating);
+        return filter;
+    }
+
+    private static ServiceBulkService.Format parseBulkFormat(String format) {
+        try {
+            return ServiceBulkService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Admins may act on any provider; everyone else on their own profile
+    private Optional<Long> resolveBulkProviderId(Authentication authentication, Long providerId) {
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        if (isAdmin && providerId != null) {
+            return serviceProviderRepository.existsById(providerId) ? Optional.of(providerId) : Optional.empty();
+        }
+        return serviceProviderRepository.findIdByUserEmail(authentication.getName());
+    }
+
     // Inner class for error responses
     public static class ErrorResponse {
         private String error;
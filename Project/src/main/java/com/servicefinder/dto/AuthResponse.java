@@ -9,6 +9,9 @@ public class AuthResponse {
     @Schema(description = "JWT authentication token", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
     private String token;
     
+    @Schema(description = "Refresh token, exchanged at /auth/refresh for a new token pair", example = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9...")
+    private String refreshToken;
+    
     @Schema(description = "Token type", example = "Bearer")
     private String type = "Bearer";
     
@@ -44,6 +47,14 @@ public class AuthResponse {
         this.token = token;
     }
     
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+    
     public String getType() {
         return type;
     }
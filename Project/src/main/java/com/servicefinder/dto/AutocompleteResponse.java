@@ -0,0 +1,118 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Typeahead suggestions grouped by kind, most popular first")
+public class AutocompleteResponse {
+
+    @Schema(description = "Query as typed", example = "plu")
+    private String query;
+
+    @Schema(description = "Matching categories")
+    private List<Suggestion> categories = new ArrayList<>();
+
+    @Schema(description = "Matching subcategories")
+    private List<Suggestion> subcategories = new ArrayList<>();
+
+    @Schema(description = "Matching service names")
+    private List<Suggestion> services = new ArrayList<>();
+
+    @Schema(description = "Matching provider business names")
+    private List<Suggestion> providers = new ArrayList<>();
+
+    // Constructors
+    public AutocompleteResponse() {}
+
+    public AutocompleteResponse(String query) {
+        this.query = query;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<Suggestion> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<Suggestion> categories) {
+        this.categories = categories;
+    }
+
+    public List<Suggestion> getSubcategories() {
+        return subcategories;
+    }
+
+    public void setSubcategories(List<Suggestion> subcategories) {
+        this.subcategories = subcategories;
+    }
+
+    public List<Suggestion> getServices() {
+        return services;
+    }
+
+    public void setServices(List<Suggestion> services) {
+        this.services = services;
+    }
+
+    public List<Suggestion> getProviders() {
+        return providers;
+    }
+
+    public void setProviders(List<Suggestion> providers) {
+        this.providers = providers;
+    }
+
+    @Schema(description = "One suggestion")
+    public static class Suggestion {
+
+        @Schema(description = "Text to show and search for", example = "Plumbing")
+        private String text;
+
+        @Schema(description = "Provider ID, for provider suggestions", example = "3")
+        private Long providerId;
+
+        @Schema(description = "Active services behind this suggestion", example = "12")
+        private int serviceCount;
+
+        public Suggestion() {}
+
+        public Suggestion(String text, Long providerId, int serviceCount) {
+            this.text = text;
+            this.providerId = providerId;
+            this.serviceCount = serviceCount;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public void setText(String text) {
+            this.text = text;
+        }
+
+        public Long getProviderId() {
+            return providerId;
+        }
+
+        public void setProviderId(Long providerId) {
+            this.providerId = providerId;
+        }
+
+        public int getServiceCount() {
+            return serviceCount;
+        }
+
+        public void setServiceCount(int serviceCount) {
+            this.serviceCount = serviceCount;
+        }
+    }
+}
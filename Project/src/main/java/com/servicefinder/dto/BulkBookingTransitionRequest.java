@@ -0,0 +1,59 @@
+package com.servicefinder.dto;
+
+import com.servicefinder.model.enums.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request to apply one status transition to many bookings")
+public class BulkBookingTransitionRequest {
+
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = 500, message = "At most 500 bookings can be updated at once")
+    @Schema(description = "Booking IDs to update", example = "[12, 13, 14]")
+    private List<Long> bookingIds;
+
+    @NotNull(message = "Target status is required")
+    @Schema(description = "Status to move the bookings to", example = "CONFIRMED")
+    private BookingStatus status;
+
+    @Size(max = 500, message = "Cancellation reason cannot exceed 500 characters")
+    @Schema(description = "Reason for cancellation (used when status is CANCELLED)", example = "Provider unavailable")
+    private String cancellationReason;
+
+    // Constructors
+    public BulkBookingTransitionRequest() {}
+
+    public BulkBookingTransitionRequest(List<Long> bookingIds, BookingStatus status) {
+        this.bookingIds = bookingIds;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<Long> getBookingIds() {
+        return bookingIds;
+    }
+
+    public void setBookingIds(List<Long> bookingIds) {
+        this.bookingIds = bookingIds;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public String getCancellationReason() {
+        return cancellationReason;
+    }
+
+    public void setCancellationReason(String cancellationReason) {
+        this.cancellationReason = cancellationReason;
+    }
+}
@@ -0,0 +1,76 @@
+package com.servicefinder.dto;
+
+import com.servicefinder.model.enums.BookingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Per-booking outcome of a bulk status transition")
+public class BulkBookingTransitionResponse {
+
+    @Schema(description = "Requested target status", example = "CONFIRMED")
+    private BookingStatus status;
+
+    @Schema(description = "Number of bookings moved to the target status", example = "2")
+    private int succeeded;
+
+    @Schema(description = "Number of bookings left unchanged", example = "1")
+    private int failed;
+
+    @Schema(description = "Outcome for each requested booking, in request order")
+    private List<Result> results = new ArrayList<>();
+
+    // Constructors
+    public BulkBookingTransitionResponse() {}
+
+    public BulkBookingTransitionResponse(BookingStatus status) {
+        this.status = status;
+    }
+
+    public void addResult(Long bookingId, boolean success, String message) {
+        results.add(new Result(bookingId, success, message));
+        if (success) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    // Getters and Setters
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BookingStatus status) {
+        this.status = status;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public static class Result {
+        private Long bookingId;
+        private boolean success;
+        private String message;
+
+        public Result(Long bookingId, boolean success, String message) {
+            this.bookingId = bookingId;
+            this.success = success;
+            this.message = message;
+        }
+
+        public Long getBookingId() { return bookingId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+    }
+}
@@ -0,0 +1,86 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "A service category with its subcategories and active service counts")
+public class CategoryTaxonomyResponse {
+
+    @Schema(description = "Category name", example = "Home Maintenance")
+    private String name;
+
+    @Schema(description = "Active services in this category", example = "42")
+    private long serviceCount;
+
+    @Schema(description = "Subcategories with their active service counts")
+    private List<SubcategoryCount> subcategories = new ArrayList<>();
+
+    // Constructors
+    public CategoryTaxonomyResponse() {}
+
+    public CategoryTaxonomyResponse(String name, long serviceCount, List<SubcategoryCount> subcategories) {
+        this.name = name;
+        this.serviceCount = serviceCount;
+        this.subcategories = subcategories;
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getServiceCount() {
+        return serviceCount;
+    }
+
+    public void setServiceCount(long serviceCount) {
+        this.serviceCount = serviceCount;
+    }
+
+    public List<SubcategoryCount> getSubcategories() {
+        return subcategories;
+    }
+
+    public void setSubcategories(List<SubcategoryCount> subcategories) {
+        this.subcategories = subcategories;
+    }
+
+    @Schema(description = "A subcategory with its active service count")
+    public static class SubcategoryCount {
+
+        @Schema(description = "Subcategory name", example = "Plumbing")
+        private String name;
+
+        @Schema(description = "Active services in this subcategory", example = "12")
+        private long serviceCount;
+
+        public SubcategoryCount() {}
+
+        public SubcategoryCount(String name, long serviceCount) {
+            this.name = name;
+            this.serviceCount = serviceCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getServiceCount() {
+            return serviceCount;
+        }
+
+        public void setServiceCount(long serviceCount) {
+            this.serviceCount = serviceCount;
+        }
+    }
+}
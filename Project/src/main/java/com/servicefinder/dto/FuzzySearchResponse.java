@@ -0,0 +1,134 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Typo-tolerant search results for services and providers, best match first")
+public class FuzzySearchResponse {
+
+    @Schema(description = "Query as typed", example = "electrcian")
+    private String query;
+
+    @Schema(description = "Query with each misspelled word replaced by its closest known term, when any was corrected",
+            example = "electrician")
+    private String correctedQuery;
+
+    @Schema(description = "Matching active services")
+    private List<ServiceResponse> services = new ArrayList<>();
+
+    @Schema(description = "Matching available providers")
+    private List<ProviderHit> providers = new ArrayList<>();
+
+    // Constructors
+    public FuzzySearchResponse() {}
+
+    public FuzzySearchResponse(String query) {
+        this.query = query;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getCorrectedQuery() {
+        return correctedQuery;
+    }
+
+    public void setCorrectedQuery(String correctedQuery) {
+        this.correctedQuery = correctedQuery;
+    }
+
+    public List<ServiceResponse> getServices() {
+        return services;
+    }
+
+    public void setServices(List<ServiceResponse> services) {
+        this.services = services;
+    }
+
+    public List<ProviderHit> getProviders() {
+        return providers;
+    }
+
+    public void setProviders(List<ProviderHit> providers) {
+        this.providers = providers;
+    }
+
+    @Schema(description = "A provider matching the query")
+    public static class ProviderHit {
+
+        @Schema(description = "Service provider ID", example = "1")
+        private Long providerId;
+
+        @Schema(description = "Business name", example = "Patel Technical Solutions")
+        private String businessName;
+
+        @Schema(description = "Average rating", example = "4.6")
+        private BigDecimal averageRating;
+
+        @Schema(description = "Number of ratings", example = "38")
+        private Integer totalRatings;
+
+        @Schema(description = "Match score, higher is closer", example = "0.91")
+        private double score;
+
+        public ProviderHit() {}
+
+        public ProviderHit(Long providerId, String businessName, BigDecimal averageRating,
+                           Integer totalRatings, double score) {
+            this.providerId = providerId;
+            this.businessName = businessName;
+            this.averageRating = averageRating;
+            this.totalRatings = totalRatings;
+            this.score = score;
+        }
+
+        public Long getProviderId() {
+            return providerId;
+        }
+
+        public void setProviderId(Long providerId) {
+            this.providerId = providerId;
+        }
+
+        public String getBusinessName() {
+            return businessName;
+        }
+
+        public void setBusinessName(String businessName) {
+            this.businessName = businessName;
+        }
+
+        public BigDecimal getAverageRating() {
+            return averageRating;
+        }
+
+        public void setAverageRating(BigDecimal averageRating) {
+            this.averageRating = averageRating;
+        }
+
+        public Integer getTotalRatings() {
+            return totalRatings;
+        }
+
+        public void setTotalRatings(Integer totalRatings) {
+            this.totalRatings = totalRatings;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+}
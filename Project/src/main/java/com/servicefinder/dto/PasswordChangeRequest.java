@@ -0,0 +1,43 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Password change request")
+public class PasswordChangeRequest {
+
+    @Schema(description = "Current password", example = "password123")
+    @NotBlank(message = "Current password is required")
+    private String currentPassword;
+
+    @Schema(description = "New password", example = "newPassword456")
+    @NotBlank(message = "New password is required")
+    @Size(min = 8, message = "Password must be at least 8 characters")
+    private String newPassword;
+
+    // Constructors
+    public PasswordChangeRequest() {}
+
+    public PasswordChangeRequest(String currentPassword, String newPassword) {
+        this.currentPassword = currentPassword;
+        this.newPassword = newPassword;
+    }
+
+    // Getters and Setters
+    public String getCurrentPassword() {
+        return currentPassword;
+    }
+
+    public void setCurrentPassword(String currentPassword) {
+        this.currentPassword = currentPassword;
+    }
+
+    public String getNewPassword() {
+        return newPassword;
+    }
+
+    public void setNewPassword(String newPassword) {
+        this.newPassword = newPassword;
+    }
+}
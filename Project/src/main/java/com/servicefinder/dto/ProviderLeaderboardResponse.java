@@ -0,0 +1,113 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+@Schema(description = "One provider's position on a top-provider leaderboard")
+public class ProviderLeaderboardResponse {
+
+    @Schema(description = "1-based position on the leaderboard", example = "1")
+    private int rank;
+
+    @Schema(description = "Service provider ID", example = "1")
+    private Long providerId;
+
+    @Schema(description = "Business name", example = "Jane's Plumbing")
+    private String businessName;
+
+    @Schema(description = "Provider's home city", example = "Chennai")
+    private String city;
+
+    @Schema(description = "Average rating", example = "4.6")
+    private BigDecimal averageRating;
+
+    @Schema(description = "Number of ratings", example = "38")
+    private int totalRatings;
+
+    @Schema(description = "Number of bookings", example = "120")
+    private int totalBookings;
+
+    @Schema(description = "Bayesian-adjusted rating used for ranking", example = "4.41")
+    private double score;
+
+    // Constructors
+    public ProviderLeaderboardResponse() {}
+
+    public ProviderLeaderboardResponse(int rank, Long providerId, String businessName, String city,
+                                       BigDecimal averageRating, int totalRatings, int totalBookings, double score) {
+        this.rank = rank;
+        this.providerId = providerId;
+        this.businessName = businessName;
+        this.city = city;
+        this.averageRating = averageRating;
+        this.totalRatings = totalRatings;
+        this.totalBookings = totalBookings;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public String getBusinessName() {
+        return businessName;
+    }
+
+    public void setBusinessName(String businessName) {
+        this.businessName = businessName;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(BigDecimal averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public int getTotalRatings() {
+        return totalRatings;
+    }
+
+    public void setTotalRatings(int totalRatings) {
+        this.totalRatings = totalRatings;
+    }
+
+    public int getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(int totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
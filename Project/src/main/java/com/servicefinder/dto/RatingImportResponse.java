@@ -0,0 +1,143 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk NDJSON rating import")
+public class RatingImportResponse {
+
+    @Schema(description = "Source system the reviews were imported from", example = "othermarket")
+    private String source;
+
+    @Schema(description = "Non-blank lines read", example = "12000")
+    private long linesRead;
+
+    @Schema(description = "Ratings inserted", example = "11950")
+    private long imported;
+
+    @Schema(description = "Lines skipped because (source, externalId) was already imported", example = "30")
+    private long duplicates;
+
+    @Schema(description = "Lines rejected by validation", example = "20")
+    private long rejected;
+
+    @Schema(description = "Providers whose rating aggregates were recomputed", example = "14")
+    private int providersUpdated;
+
+    @Schema(description = "First validation errors, by line number")
+    private List<LineError> errors = new ArrayList<>();
+
+    @Schema(description = "Whether more errors occurred than are listed", example = "false")
+    private boolean errorsTruncated;
+
+    @Schema(description = "Time taken in milliseconds", example = "2150")
+    private long elapsedMillis;
+
+    // Getters and Setters
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(long duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public int getProvidersUpdated() {
+        return providersUpdated;
+    }
+
+    public void setProvidersUpdated(int providersUpdated) {
+        this.providersUpdated = providersUpdated;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<LineError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Schema(description = "A rejected import line")
+    public static class LineError {
+
+        @Schema(description = "1-based line number in the upload", example = "42")
+        private long line;
+
+        @Schema(description = "Why the line was rejected", example = "rating must be between 1.0 and 5.0")
+        private String message;
+
+        public LineError() {}
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Optimized visiting order for a provider's confirmed bookings on one day")
+public class RouteResponse {
+
+    @Schema(description = "Service provider ID", example = "1")
+    private Long providerId;
+
+    @Schema(description = "Route date", example = "2024-01-15")
+    private LocalDate date;
+
+    @Schema(description = "Stops in recommended visiting order")
+    private List<RouteStop> stops = new ArrayList<>();
+
+    @Schema(description = "Bookings without coordinates, in scheduled order")
+    private List<Long> unroutedBookingIds = new ArrayList<>();
+
+    @Schema(description = "Estimated total travel distance in km", example = "42.7")
+    private double totalDistanceKm;
+
+    @Schema(description = "Estimated total travel time in minutes", example = "86")
+    private long totalTravelMinutes;
+
+    @Schema(description = "Total minutes of arrival after the booking time windows", example = "0")
+    private long totalLatenessMinutes;
+
+    @Schema(description = "Time spent optimizing in milliseconds", example = "12")
+    private long computeMillis;
+
+    // Getters and Setters
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<RouteStop> getStops() {
+        return stops;
+    }
+
+    public void setStops(List<RouteStop> stops) {
+        this.stops = stops;
+    }
+
+    public List<Long> getUnroutedBookingIds() {
+        return unroutedBookingIds;
+    }
+
+    public void setUnroutedBookingIds(List<Long> unroutedBookingIds) {
+        this.unroutedBookingIds = unroutedBookingIds;
+    }
+
+    public double getTotalDistanceKm() {
+        return totalDistanceKm;
+    }
+
+    public void setTotalDistanceKm(double totalDistanceKm) {
+        this.totalDistanceKm = totalDistanceKm;
+    }
+
+    public long getTotalTravelMinutes() {
+        return totalTravelMinutes;
+    }
+
+    public void setTotalTravelMinutes(long totalTravelMinutes) {
+        this.totalTravelMinutes = totalTravelMinutes;
+    }
+
+    public long getTotalLatenessMinutes() {
+        return totalLatenessMinutes;
+    }
+
+    public void setTotalLatenessMinutes(long totalLatenessMinutes) {
+        this.totalLatenessMinutes = totalLatenessMinutes;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public void setComputeMillis(long computeMillis) {
+        this.computeMillis = computeMillis;
+    }
+
+    public static class RouteStop {
+        private int sequence;
+        private Long bookingId;
+        private LocalDateTime scheduledDateTime;
+        private LocalDateTime estimatedArrival;
+        private double legDistanceKm;
+        private String customerAddress;
+        private Double latitude;
+        private Double longitude;
+
+        public int getSequence() { return sequence; }
+        public void setSequence(int sequence) { this.sequence = sequence; }
+
+        public Long getBookingId() { return bookingId; }
+        public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+        public LocalDateTime getScheduledDateTime() { return scheduledDateTime; }
+        public void setScheduledDateTime(LocalDateTime scheduledDateTime) { this.scheduledDateTime = scheduledDateTime; }
+
+        public LocalDateTime getEstimatedArrival() { return estimatedArrival; }
+        public void setEstimatedArrival(LocalDateTime estimatedArrival) { this.estimatedArrival = estimatedArrival; }
+
+        public double getLegDistanceKm() { return legDistanceKm; }
+        public void setLegDistanceKm(double legDistanceKm) { this.legDistanceKm = legDistanceKm; }
+
+        public String getCustomerAddress() { return customerAddress; }
+        public void setCustomerAddress(String customerAddress) { this.customerAddress = customerAddress; }
+
+        public Double getLatitude() { return latitude; }
+        public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+        public Double getLongitude() { return longitude; }
+        public void setLongitude(Double longitude) { this.longitude = longitude; }
+    }
+}
@@ -0,0 +1,63 @@
+package com.servicefinder.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One service in a bulk CSV/NDJSON export or import. Carries the same fields and
+ * validation rules as {@link ServiceCreateRequest}, plus the service ID (set to
+ * update an existing service) and the active flag.
+ */
+@Schema(description = "One service row in a bulk CSV or NDJSON file")
+@JsonPropertyOrder({"id", "name", "description", "category", "subcategory", "price", "durationMinutes", "active",
+        "serviceArea", "city", "district", "state", "country", "postalCode", "latitude", "longitude", "serviceRadiusKm"})
+public class ServiceBulkRow extends ServiceCreateRequest {
+
+    @Schema(description = "Service ID; empty to create, or match an existing service by name", example = "12")
+    private Long id;
+
+    @Schema(description = "Whether the service is active; defaults to true for new services", example = "true")
+    private Boolean active;
+
+    // Constructors
+    public ServiceBulkRow() {}
+
+    public static ServiceBulkRow from(ServiceResponse service) {
+        ServiceBulkRow row = new ServiceBulkRow();
+        row.setId(service.getId());
+        row.setName(service.getName());
+        row.setDescription(service.getDescription());
+        row.setCategory(service.getCategory());
+        row.setSubcategory(service.getSubcategory());
+        row.setPrice(service.getPrice());
+        row.setDurationMinutes(service.getDurationMinutes());
+        row.setActive(service.getActive());
+        row.setServiceArea(service.getServiceArea());
+        row.setCity(service.getCity());
+        row.setDistrict(service.getDistrict());
+        row.setState(service.getState());
+        row.setCountry(service.getCountry());
+        row.setPostalCode(service.getPostalCode());
+        row.setLatitude(service.getLatitude());
+        row.setLongitude(service.getLongitude());
+        row.setServiceRadiusKm(service.getServiceRadiusKm());
+        return row;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,167 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "One page of catalog search results with facet counts")
+public class ServiceCatalogResponse {
+
+    @Schema(description = "Services on this page")
+    private List<ServiceResponse> content = new ArrayList<>();
+
+    @Schema(description = "Page number (0-based)", example = "0")
+    private int page;
+
+    @Schema(description = "Page size", example = "20")
+    private int size;
+
+    @Schema(description = "Total matching services", example = "134")
+    private long totalElements;
+
+    @Schema(description = "Total pages", example = "7")
+    private int totalPages;
+
+    @Schema(description = "Match counts per category, ignoring the category filter itself")
+    private List<FacetCount> categories = new ArrayList<>();
+
+    @Schema(description = "Match counts per price bucket, ignoring the price filter itself")
+    private List<PriceBucket> priceBuckets = new ArrayList<>();
+
+    // Getters and Setters
+    public List<ServiceResponse> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ServiceResponse> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    public List<FacetCount> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<FacetCount> categories) {
+        this.categories = categories;
+    }
+
+    public List<PriceBucket> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<PriceBucket> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+
+    @Schema(description = "Number of matches for one facet value")
+    public static class FacetCount {
+
+        @Schema(description = "Facet value", example = "Plumbing")
+        private String value;
+
+        @Schema(description = "Matching services", example = "12")
+        private long count;
+
+        public FacetCount() {}
+
+        public FacetCount(String value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+
+    @Schema(description = "Number of matches in one price range")
+    public static class PriceBucket {
+
+        @Schema(description = "Inclusive lower bound", example = "500")
+        private BigDecimal min;
+
+        @Schema(description = "Exclusive upper bound, null for the open-ended top bucket", example = "1000")
+        private BigDecimal max;
+
+        @Schema(description = "Matching services", example = "8")
+        private long count;
+
+        public PriceBucket() {}
+
+        public PriceBucket(BigDecimal min, BigDecimal max, long count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public void setMin(BigDecimal min) {
+            this.min = min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+
+        public void setMax(BigDecimal max) {
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
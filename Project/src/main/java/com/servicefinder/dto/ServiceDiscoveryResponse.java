@@ -0,0 +1,97 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "One page of services near a location, filtered by category and price")
+public class ServiceDiscoveryResponse {
+
+    @Schema(description = "Services on this page with their distance from the search point")
+    private List<Result> content = new ArrayList<>();
+
+    @Schema(description = "Page number (0-based)", example = "0")
+    private int page;
+
+    @Schema(description = "Page size", example = "20")
+    private int size;
+
+    @Schema(description = "Whether another page follows", example = "true")
+    private boolean hasNext;
+
+    // Constructors
+    public ServiceDiscoveryResponse() {}
+
+    public ServiceDiscoveryResponse(int page, int size, boolean hasNext) {
+        this.page = page;
+        this.size = size;
+        this.hasNext = hasNext;
+    }
+
+    // Getters and Setters
+    public List<Result> getContent() {
+        return content;
+    }
+
+    public void setContent(List<Result> content) {
+        this.content = content;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    @Schema(description = "A service with its distance from the search point")
+    public static class Result {
+
+        @Schema(description = "The service")
+        private ServiceResponse service;
+
+        @Schema(description = "Distance in kilometers", example = "3.4")
+        private double distanceKm;
+
+        public Result() {}
+
+        public Result(ServiceResponse service, double distanceKm) {
+            this.service = service;
+            this.distanceKm = distanceKm;
+        }
+
+        public ServiceResponse getService() {
+            return service;
+        }
+
+        public void setService(ServiceResponse service) {
+            this.service = service;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+
+        public void setDistanceKm(double distanceKm) {
+            this.distanceKm = distanceKm;
+        }
+    }
+}
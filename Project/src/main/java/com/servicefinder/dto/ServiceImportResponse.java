@@ -0,0 +1,177 @@
+package com.servicefinder.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk CSV/NDJSON service import, with one result per row")
+public class ServiceImportResponse {
+
+    @Schema(description = "Input format", example = "csv")
+    private String format;
+
+    @Schema(description = "Service provider the rows were imported for", example = "3")
+    private Long providerId;
+
+    @Schema(description = "Data rows read (header and blank lines excluded)", example = "240")
+    private long rowsRead;
+
+    @Schema(description = "Services created", example = "40")
+    private long created;
+
+    @Schema(description = "Existing services updated", example = "195")
+    private long updated;
+
+    @Schema(description = "Rows rejected", example = "5")
+    private long rejected;
+
+    @Schema(description = "Result per row, in file order")
+    private List<RowResult> rows = new ArrayList<>();
+
+    @Schema(description = "Whether more rows were processed than are listed", example = "false")
+    private boolean rowsTruncated;
+
+    @Schema(description = "Time taken in milliseconds", example = "850")
+    private long elapsedMillis;
+
+    // Constructors
+    public ServiceImportResponse() {}
+
+    public ServiceImportResponse(String format, Long providerId) {
+        this.format = format;
+        this.providerId = providerId;
+    }
+
+    // Getters and Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<RowResult> rows) {
+        this.rows = rows;
+    }
+
+    public boolean isRowsTruncated() {
+        return rowsTruncated;
+    }
+
+    public void setRowsTruncated(boolean rowsTruncated) {
+        this.rowsTruncated = rowsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Schema(description = "What happened to one input row")
+    public static class RowResult {
+
+        public enum Action { CREATED, UPDATED, REJECTED }
+
+        @Schema(description = "Line number the row starts on", example = "17")
+        private long line;
+
+        @Schema(description = "Outcome", example = "UPDATED")
+        private Action action;
+
+        @Schema(description = "ID of the created or updated service", example = "42")
+        private Long serviceId;
+
+        @Schema(description = "Why the row was rejected", example = "Price must be greater than 0")
+        private String error;
+
+        public RowResult() {}
+
+        public RowResult(long line, Action action, Long serviceId, String error) {
+            this.line = line;
+            this.action = action;
+            this.serviceId = serviceId;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public Action getAction() {
+            return action;
+        }
+
+        public void setAction(Action action) {
+            this.action = action;
+        }
+
+        public Long getServiceId() {
+            return serviceId;
+        }
+
+        public void setServiceId(Long serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
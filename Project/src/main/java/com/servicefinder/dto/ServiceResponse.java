@@ -2,6 +2,7 @@ package com.servicefinder.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import com.servicefinder.model.Service;
+import com.servicefinder.model.enums.VerificationStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -135,6 +136,57 @@ public class ServiceResponse {
         }
     }
 
+    /**
+     * Flat projection of service, provider and provider user columns, used by
+     * ServiceRepository.SERVICE_RESPONSE_SELECT so listings load in one statement
+     */
+    public ServiceResponse(Long id, String name, String description, String category, String subcategory,
+                           BigDecimal price, Integer durationMinutes, Boolean active,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, String serviceArea,
+                           String city, String district, String state, String country, String postalCode,
+                           Double latitude, Double longitude, Integer serviceRadiusKm,
+                           Long serviceProviderId, String providerBusinessName, BigDecimal providerAverageRating,
+                           Integer providerTotalRatings, VerificationStatus providerVerificationStatus,
+                           Boolean providerAvailable, Long providerUserId, String providerFirstName,
+                           String providerLastName, String providerEmail, String providerPhone) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.subcategory = subcategory;
+        this.price = price;
+        this.durationMinutes = durationMinutes;
+        this.active = active;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.serviceArea = serviceArea;
+        this.city = city;
+        this.district = district;
+        this.state = state;
+        this.country = country;
+        this.postalCode = postalCode;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.serviceRadiusKm = serviceRadiusKm;
+
+        // Service Provider Information
+        if (serviceProviderId != null) {
+            this.serviceProviderId = serviceProviderId;
+            this.providerBusinessName = providerBusinessName;
+            this.providerAverageRating = providerAverageRating;
+            this.providerTotalRatings = providerTotalRatings;
+            this.providerVerificationStatus = providerVerificationStatus != null ? providerVerificationStatus.name() : null;
+            this.providerAvailable = providerAvailable;
+
+            if (providerUserId != null) {
+                // Same format as User.getFullName()
+                this.providerName = providerFirstName + " " + providerLastName;
+                this.providerEmail = providerEmail;
+                this.providerPhone = providerPhone;
+            }
+        }
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -0,0 +1,91 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.enums.DomainEventType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable view of an outbox entry handed to {@link DomainEventSubscriber}s.
+ * Payload values are plain JSON types, so use the typed accessors below.
+ */
+public class DomainEvent {
+
+    private final Long id;
+    private final DomainEventType type;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final Map<String, Object> payload;
+    private final LocalDateTime occurredAt;
+
+    public DomainEvent(Long id, DomainEventType type, String aggregateType, Long aggregateId,
+                       Map<String, Object> payload, LocalDateTime occurredAt) {
+        this.id = id;
+        this.type = type;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload != null ? Collections.unmodifiableMap(payload) : Collections.emptyMap();
+        this.occurredAt = occurredAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public DomainEventType getType() {
+        return type;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    // Typed payload accessors
+    public Long getLong(String key) {
+        Object value = payload.get(key);
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+    }
+
+    public String getString(String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+
+    public BigDecimal getDecimal(String key) {
+        Object value = payload.get(key);
+        return value != null ? new BigDecimal(value.toString()) : null;
+    }
+
+    public LocalDateTime getDateTime(String key) {
+        Object value = payload.get(key);
+        return value != null ? LocalDateTime.parse(value.toString()) : null;
+    }
+
+    public <E extends Enum<E>> E getEnum(String key, Class<E> enumType) {
+        Object value = payload.get(key);
+        return value != null ? Enum.valueOf(enumType, value.toString()) : null;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[" + aggregateType + ":" + aggregateId + ", event " + id + "]";
+    }
+}
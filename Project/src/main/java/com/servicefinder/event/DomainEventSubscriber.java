@@ -0,0 +1,28 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.enums.DomainEventType;
+
+/**
+ * In-process consumer of outbox events. Any Spring bean implementing this
+ * interface is picked up by the {@link OutboxDispatcher}.
+ *
+ * Delivery is at-least-once and ordered per aggregate (e.g. per booking), so
+ * handlers must tolerate seeing the same event again after a retry or a dispatcher
+ * failover. Handlers that are not naturally idempotent record the event ID with
+ * {@link ProcessedEventService} in the transaction that applies it.
+ */
+public interface DomainEventSubscriber {
+
+    /**
+     * Whether this subscriber wants events of the given type
+     */
+    default boolean supports(DomainEventType type) {
+        return true;
+    }
+
+    /**
+     * Handle one event. Throwing schedules a retry for this event and holds back
+     * later events of the same aggregate until it succeeds.
+     */
+    void handle(DomainEvent event) throws Exception;
+}
@@ -0,0 +1,226 @@
+package com.servicefinder.event;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicefinder.model.OutboxEvent;
+import com.servicefinder.model.enums.OutboxStatus;
+import com.servicefinder.repository.OutboxEventRepository;
+import com.servicefinder.repository.ProcessedEventRepository;
+import com.servicefinder.service.SchedulerLeaseService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background delivery of outbox events to in-process subscribers.
+ *
+ * Each run reads the oldest due events in one batch, groups them by aggregate
+ * and hands every group to a worker, so different bookings are delivered in parallel
+ * while events of the same booking stay in commit order. A failed event is retried
+ * with exponential backoff and blocks the rest of its aggregate until it succeeds or
+ * runs out of attempts. Only the node holding the dispatcher lease delivers.
+ *
+ * The lease is renewed before every batch, and workers stop starting new events
+ * once half the lease has passed, so a slow batch cannot keep delivering after
+ * another node may have taken over. Each event's outcome is written as soon as it
+ * is delivered; a crash can still redeliver the event in flight, which subscribers
+ * must tolerate (see {@link DomainEventSubscriber}).
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final String LEASE_NAME = "outbox-dispatcher";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private List<DomainEventSubscriber> subscribers = new ArrayList<>();
+
+    @Value("${outbox.dispatch.batch-size:200}")
+    private int batchSize;
+
+    @Value("${outbox.dispatch.workers:4}")
+    private int workers;
+
+    @Value("${outbox.dispatch.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.dispatch.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "outbox-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Outbox dispatcher started with {} subscribers", subscribers.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:1000}")
+    public void dispatch() {
+        // Keep draining while full batches come back so a backlog clears quickly,
+        // renewing the lease before each one
+        int delivered;
+        do {
+            long acquiredAt = System.currentTimeMillis();
+            if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofSeconds(leaseSeconds))) {
+                return;
+            }
+            delivered = dispatchBatch(acquiredAt + leaseSeconds * 1000 / 2);
+        } while (delivered >= batchSize);
+    }
+
+    @Scheduled(cron = "${outbox.cleanup.cron:0 30 3 * * *}")
+    public void purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minusDays(retentionDays);
+        int removed = outboxEventRepository.deleteProcessedBefore(before);
+        if (removed > 0) {
+            logger.info("Purged {} processed outbox events", removed);
+        }
+        processedEventRepository.deleteCreatedBefore(before);
+    }
+
+    /**
+     * Deliver one batch of pending events
+     * @param deliverUntil epoch millis after which no further event is started
+     * @return number of events handled in this batch (processed or dead-lettered)
+     */
+    int dispatchBatch(long deliverUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> pending = outboxEventRepository.findDueOrderByIdAsc(now, PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Group by aggregate, preserving id order inside each group
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : pending) {
+            byAggregate.computeIfAbsent(event.getAggregateKey(), key -> new ArrayList<>()).add(event);
+        }
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (List<OutboxEvent> group : byAggregate.values()) {
+            tasks.add(() -> deliverInOrder(group, now, deliverUntil));
+        }
+
+        int handled = 0;
+        try {
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                handled += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Outbox batch delivery failed", e);
+        }
+        return handled;
+    }
+
+    /**
+     * Deliver the events of one aggregate in order, stopping at the first event
+     * that is not yet due or fails, or when the lease window is used up. Each
+     * outcome is saved right away so a later failure cannot cause a redelivery.
+     * @return number of events processed or dead-lettered
+     */
+    private int deliverInOrder(List<OutboxEvent> group, LocalDateTime now, long deliverUntil) {
+        int handled = 0;
+        for (OutboxEvent event : group) {
+            if (!event.isDue(now) || System.currentTimeMillis() > deliverUntil) {
+                break;
+            }
+
+            try {
+                deliver(toDomainEvent(event));
+            } catch (Exception e) {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(e.toString()));
+
+                if (attempts >= maxAttempts) {
+                    // Dead-letter it so the rest of the aggregate is not blocked forever
+                    event.setStatus(OutboxStatus.FAILED);
+                    outboxEventRepository.save(event);
+                    handled++;
+                    logger.error("Giving up on outbox event {} after {} attempts", event.getId(), attempts, e);
+                    continue;
+                }
+
+                event.setNextAttemptAt(now.plus(backoff(attempts)));
+                outboxEventRepository.save(event);
+                logger.warn("Outbox event {} failed (attempt {}), retrying later: {}", event.getId(), attempts, e.getMessage());
+                break;
+            }
+
+            outboxEventRepository.markProcessed(event.getId(), LocalDateTime.now());
+            handled++;
+        }
+        return handled;
+    }
+
+    private void deliver(DomainEvent event) throws Exception {
+        for (DomainEventSubscriber subscriber : subscribers) {
+            if (subscriber.supports(event.getType())) {
+                subscriber.handle(event);
+            }
+        }
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) throws Exception {
+        Map<String, Object> payload = objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {});
+        return new DomainEvent(event.getId(), event.getEventType(), event.getAggregateType(),
+            event.getAggregateId(), payload, event.getCreatedAt());
+    }
+
+    private Duration backoff(int attempts) {
+        // 2s, 4s, 8s ... capped at 5 minutes
+        long seconds = Math.min(300, 1L << Math.min(attempts, 16));
+        return Duration.ofSeconds(seconds);
+    }
+
+    private String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,40 @@
+package com.servicefinder.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicefinder.model.OutboxEvent;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Writes domain events to the outbox table. Must be called inside the
+ * transaction that performs the state change so both commit or roll back together.
+ */
+@Service
+public class OutboxService {
+
+    public static final String BOOKING_AGGREGATE = "Booking";
+    public static final String RATING_AGGREGATE = "Rating";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent append(String aggregateType, Long aggregateId, DomainEventType type, Map<String, Object> payload) {
+        try {
+            OutboxEvent event = new OutboxEvent(aggregateType, aggregateId, type, objectMapper.writeValueAsString(payload));
+            return outboxEventRepository.save(event);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + type + " event payload", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.ProcessedEvent;
+import com.servicefinder.repository.ProcessedEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deduplicates outbox deliveries for subscribers whose side effects are not
+ * naturally idempotent (e.g. counter increments).
+ */
+@Service
+public class ProcessedEventService {
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    /**
+     * Record that the consumer is applying this event. Must be called inside the
+     * transaction that applies it, so the mark and the side effects commit together.
+     * A concurrent duplicate fails on the unique key and rolls back; its retry then
+     * sees the mark and skips.
+     * @return false if the consumer already applied the event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean markProcessed(String consumer, Long eventId) {
+        if (processedEventRepository.existsByConsumerAndEventId(consumer, eventId)) {
+            return false;
+        }
+        processedEventRepository.saveAndFlush(new ProcessedEvent(consumer, eventId));
+        return true;
+    }
+}
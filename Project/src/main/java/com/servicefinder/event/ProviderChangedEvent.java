@@ -0,0 +1,38 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.ServiceProvider;
+
+/**
+ * In-process notification that a service provider was registered or its profile
+ * changed, published through Spring's ApplicationEventPublisher after the change is
+ * saved. Carries the searchable fields so in-memory indexes can update without a reload.
+ */
+public class ProviderChangedEvent {
+
+    private final Long providerId;
+    private final String businessName;
+    private final boolean available;
+
+    public ProviderChangedEvent(Long providerId, String businessName, boolean available) {
+        this.providerId = providerId;
+        this.businessName = businessName;
+        this.available = available;
+    }
+
+    public static ProviderChangedEvent of(ServiceProvider provider) {
+        return new ProviderChangedEvent(provider.getId(), provider.getBusinessName(),
+                Boolean.TRUE.equals(provider.getAvailable()));
+    }
+
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public String getBusinessName() {
+        return businessName;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,50 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.enums.BookingStatus;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.service.ProviderStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Feeds booking transitions into the provider stats read model
+ */
+@Component
+// Runs first so read models built from the provider counters (e.g. leaderboards) see this event applied
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ProviderStatsSubscriber implements DomainEventSubscriber {
+
+    public static final Set<DomainEventType> TRANSITIONS = EnumSet.of(
+            DomainEventType.BOOKING_CREATED,
+            DomainEventType.BOOKING_CONFIRMED,
+            DomainEventType.BOOKING_STARTED,
+            DomainEventType.BOOKING_COMPLETED,
+            DomainEventType.BOOKING_CANCELLED);
+
+    @Autowired
+    private ProviderStatsService providerStatsService;
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return TRANSITIONS.contains(type);
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        Long providerId = event.getLong("providerId");
+        BookingStatus status = event.getEnum("status", BookingStatus.class);
+        if (providerId == null || status == null) {
+            return;
+        }
+
+        providerStatsService.applyTransition(event.getId(), providerId,
+                event.getEnum("previousStatus", BookingStatus.class),
+                status,
+                event.getDecimal("totalPrice"));
+    }
+}
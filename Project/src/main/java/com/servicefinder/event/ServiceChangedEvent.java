@@ -0,0 +1,117 @@
+package com.servicefinder.event;
+
+import com.servicefinder.model.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * In-process notification that a service was created, updated or deleted, published
+ * through Spring's ApplicationEventPublisher after the change is saved. Carries
+ * detached snapshots of the service before and after the change so in-memory catalog
+ * indexes can remove the old entry and add the new one without reloading anything.
+ *
+ * Create the event only once the change is committed: it is stamped on creation, and
+ * an index skips events stamped before its last rebuild started reading, since that
+ * rebuild already loaded the change.
+ */
+public class ServiceChangedEvent {
+
+    private final Snapshot before;
+    private final Snapshot after;
+    private final long committedAt = System.nanoTime();
+
+    /**
+     * @param before state before the change, null on create
+     * @param after state after the change, null on delete
+     */
+    public ServiceChangedEvent(Snapshot before, Snapshot after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public static ServiceChangedEvent created(Service service) {
+        return new ServiceChangedEvent(null, Snapshot.of(service));
+    }
+
+    public static ServiceChangedEvent deleted(Snapshot before) {
+        return new ServiceChangedEvent(before, null);
+    }
+
+    public Snapshot getBefore() {
+        return before;
+    }
+
+    public Snapshot getAfter() {
+        return after;
+    }
+
+    /**
+     * System.nanoTime() when the event was created, just after the change committed
+     */
+    public long getCommittedAt() {
+        return committedAt;
+    }
+
+    /**
+     * Whether a rebuild that started reading at readStartedAt (System.nanoTime()) has
+     * already loaded this change
+     */
+    public boolean isCoveredBy(long readStartedAt) {
+        return committedAt - readStartedAt < 0;
+    }
+
+    /**
+     * Immutable copy of the catalog-relevant fields of a service
+     */
+    public static class Snapshot {
+        private final Long serviceId;
+        private final Long providerId;
+        private final String name;
+        private final String category;
+        private final String subcategory;
+        private final BigDecimal price;
+        private final boolean active;
+        private final String city;
+        private final Double latitude;
+        private final Double longitude;
+
+        public Snapshot(Long serviceId, Long providerId, String name, String category, String subcategory,
+                        BigDecimal price, boolean active, String city, Double latitude, Double longitude) {
+            this.serviceId = serviceId;
+            this.providerId = providerId;
+            this.name = name;
+            this.category = category;
+            this.subcategory = subcategory;
+            this.price = price;
+            this.active = active;
+            this.city = city;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public static Snapshot of(Service service) {
+            return new Snapshot(
+                    service.getId(),
+                    service.getServiceProvider() != null ? service.getServiceProvider().getId() : null,
+                    service.getName(),
+                    service.getCategory(),
+                    service.getSubcategory(),
+                    service.getPrice(),
+                    Boolean.TRUE.equals(service.getActive()),
+                    service.getLocationCity(),
+                    service.getLocationLatitude(),
+                    service.getLocationLongitude());
+        }
+
+        public Long getServiceId() { return serviceId; }
+        public Long getProviderId() { return providerId; }
+        public String getName() { return name; }
+        public String getCategory() { return category; }
+        public String getSubcategory() { return subcategory; }
+        public BigDecimal getPrice() { return price; }
+        public boolean isActive() { return active; }
+        public String getCity() { return city; }
+        public Double getLatitude() { return latitude; }
+        public Double getLongitude() { return longitude; }
+    }
+}
@@ -66,6 +66,9 @@ public class Booking extends BaseEntity {
     @Column(name = "cancellation_datetime")
     private LocalDateTime cancellationDateTime;
 
+    @Column(name = "reminder_sent_at")
+    private LocalDateTime reminderSentAt;
+
     // Relationships
     @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Rating> ratings = new HashSet<>();
@@ -209,6 +212,14 @@ public class Booking extends BaseEntity {
         this.cancellationDateTime = cancellationDateTime;
     }
 
+    public LocalDateTime getReminderSentAt() {
+        return reminderSentAt;
+    }
+
+    public void setReminderSentAt(LocalDateTime reminderSentAt) {
+        this.reminderSentAt = reminderSentAt;
+    }
+
     public Set<Rating> getRatings() {
         return ratings;
     }
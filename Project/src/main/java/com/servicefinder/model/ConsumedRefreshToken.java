@@ -0,0 +1,62 @@
+package com.servicefinder.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A refresh token that has been used or revoked. The token ID is unique, so of two
+ * concurrent refreshes with the same token only one insert succeeds, on any node.
+ * Rows are kept until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "consumed_refresh_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_consumed_refresh_token_id", columnNames = {"token_id"})
+}, indexes = {
+    @Index(name = "idx_consumed_refresh_expires", columnList = "expires_at")
+})
+public class ConsumedRefreshToken extends BaseEntity {
+
+    @Column(name = "token_id", nullable = false, length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public ConsumedRefreshToken() {}
+
+    public ConsumedRefreshToken(String tokenId, Long userId, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
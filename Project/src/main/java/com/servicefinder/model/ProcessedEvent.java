@@ -0,0 +1,45 @@
+package com.servicefinder.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Marks an outbox event as applied by one consumer. Written in the same transaction
+ * as the consumer's side effects, so a redelivered event can be recognised and skipped.
+ */
+@Entity
+@Table(name = "processed_events", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_processed_event_consumer", columnNames = {"consumer", "event_id"})
+})
+public class ProcessedEvent extends BaseEntity {
+
+    @Column(name = "consumer", nullable = false, length = 50)
+    private String consumer;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    // Constructors
+    public ProcessedEvent() {}
+
+    public ProcessedEvent(String consumer, Long eventId) {
+        this.consumer = consumer;
+        this.eventId = eventId;
+    }
+
+    // Getters and Setters
+    public String getConsumer() {
+        return consumer;
+    }
+
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+}
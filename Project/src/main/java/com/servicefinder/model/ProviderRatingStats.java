@@ -0,0 +1,173 @@
+package com.servicefinder.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Running rating totals per provider, updated in the same transaction as each
+ * rating write so average and histogram reads never aggregate the ratings table.
+ */
+@Entity
+@Table(name = "provider_rating_stats")
+public class ProviderRatingStats {
+
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "rating_sum", nullable = false, precision = 14, scale = 1)
+    private BigDecimal ratingSum = BigDecimal.ZERO;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    // Histogram buckets by whole star (4.5 counts as 4, like the distribution query)
+    @Column(name = "one_star", nullable = false)
+    private Long oneStar = 0L;
+
+    @Column(name = "two_star", nullable = false)
+    private Long twoStar = 0L;
+
+    @Column(name = "three_star", nullable = false)
+    private Long threeStar = 0L;
+
+    @Column(name = "four_star", nullable = false)
+    private Long fourStar = 0L;
+
+    @Column(name = "five_star", nullable = false)
+    private Long fiveStar = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ProviderRatingStats() {}
+
+    public ProviderRatingStats(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    // Getters and Setters
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public BigDecimal getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(BigDecimal ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getOneStar() {
+        return oneStar;
+    }
+
+    public void setOneStar(Long oneStar) {
+        this.oneStar = oneStar;
+    }
+
+    public Long getTwoStar() {
+        return twoStar;
+    }
+
+    public void setTwoStar(Long twoStar) {
+        this.twoStar = twoStar;
+    }
+
+    public Long getThreeStar() {
+        return threeStar;
+    }
+
+    public void setThreeStar(Long threeStar) {
+        this.threeStar = threeStar;
+    }
+
+    public Long getFourStar() {
+        return fourStar;
+    }
+
+    public void setFourStar(Long fourStar) {
+        this.fourStar = fourStar;
+    }
+
+    public Long getFiveStar() {
+        return fiveStar;
+    }
+
+    public void setFiveStar(Long fiveStar) {
+        this.fiveStar = fiveStar;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    // Utility methods
+    public BigDecimal getAverage() {
+        if (ratingCount == null || ratingCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return ratingSum.divide(BigDecimal.valueOf(ratingCount), 2, RoundingMode.HALF_UP);
+    }
+
+    public long getBucket(int stars) {
+        switch (stars) {
+            case 1: return oneStar;
+            case 2: return twoStar;
+            case 3: return threeStar;
+            case 4: return fourStar;
+            case 5: return fiveStar;
+            default: return 0;
+        }
+    }
+
+    public void addToBucket(int stars, long delta) {
+        switch (stars) {
+            case 1: oneStar += delta; break;
+            case 2: twoStar += delta; break;
+            case 3: threeStar += delta; break;
+            case 4: fourStar += delta; break;
+            case 5: fiveStar += delta; break;
+        }
+    }
+
+    public boolean sameAs(ProviderRatingStats other) {
+        if (other == null || ratingSum.compareTo(other.ratingSum) != 0 || !ratingCount.equals(other.ratingCount)) {
+            return false;
+        }
+        for (int stars = 1; stars <= 5; stars++) {
+            if (getBucket(stars) != other.getBucket(stars)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whole-star bucket for a rating value, clamped to 1..5
+     */
+    public static int bucketOf(BigDecimal rating) {
+        return Math.max(1, Math.min(5, rating.intValue()));
+    }
+}
@@ -0,0 +1,136 @@
+package com.servicefinder.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-provider booking counters, kept up to date from booking events
+ * so dashboards never have to aggregate the bookings table.
+ */
+@Entity
+@Table(name = "provider_stats")
+public class ProviderStats {
+
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "total_bookings", nullable = false)
+    private Long totalBookings = 0L;
+
+    // PENDING + CONFIRMED
+    @Column(name = "upcoming_bookings", nullable = false)
+    private Long upcomingBookings = 0L;
+
+    @Column(name = "in_progress_bookings", nullable = false)
+    private Long inProgressBookings = 0L;
+
+    @Column(name = "completed_bookings", nullable = false)
+    private Long completedBookings = 0L;
+
+    @Column(name = "cancelled_bookings", nullable = false)
+    private Long cancelledBookings = 0L;
+
+    // Sum of totalPrice over completed bookings
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "reconciled_at")
+    private LocalDateTime reconciledAt;
+
+    // Constructors
+    public ProviderStats() {}
+
+    public ProviderStats(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    // Getters and Setters
+    public Long getProviderId() {
+        return providerId;
+    }
+
+    public void setProviderId(Long providerId) {
+        this.providerId = providerId;
+    }
+
+    public Long getTotalBookings() {
+        return totalBookings;
+    }
+
+    public void setTotalBookings(Long totalBookings) {
+        this.totalBookings = totalBookings;
+    }
+
+    public Long getUpcomingBookings() {
+        return upcomingBookings;
+    }
+
+    public void setUpcomingBookings(Long upcomingBookings) {
+        this.upcomingBookings = upcomingBookings;
+    }
+
+    public Long getInProgressBookings() {
+        return inProgressBookings;
+    }
+
+    public void setInProgressBookings(Long inProgressBookings) {
+        this.inProgressBookings = inProgressBookings;
+    }
+
+    public Long getCompletedBookings() {
+        return completedBookings;
+    }
+
+    public void setCompletedBookings(Long completedBookings) {
+        this.completedBookings = completedBookings;
+    }
+
+    public Long getCancelledBookings() {
+        return cancelledBookings;
+    }
+
+    public void setCancelledBookings(Long cancelledBookings) {
+        this.cancelledBookings = cancelledBookings;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+
+    // Utility methods
+    public boolean sameCountsAs(ProviderStats other) {
+        return other != null &&
+               totalBookings.equals(other.totalBookings) &&
+               upcomingBookings.equals(other.upcomingBookings) &&
+               inProgressBookings.equals(other.inProgressBookings) &&
+               completedBookings.equals(other.completedBookings) &&
+               cancelledBookings.equals(other.cancelledBookings) &&
+               revenue.compareTo(other.revenue) == 0;
+    }
+}
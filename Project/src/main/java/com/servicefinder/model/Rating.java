@@ -9,20 +9,26 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "ratings")
+@Table(name = "ratings", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_ratings_source_external_id", columnNames = {"source", "external_id"})
+}, indexes = {
+    @Index(name = "idx_ratings_updated_at", columnList = "updated_at, id"),
+    @Index(name = "idx_ratings_provider_created", columnList = "service_provider_id, created_at"),
+    @Index(name = "idx_ratings_provider_rating", columnList = "service_provider_id, rating, created_at")
+})
 public class Rating extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user; // The user who gave the rating
+    @JoinColumn(name = "user_id")
+    private User user; // The user who gave the rating (null for imported reviews)
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "service_provider_id", nullable = false)
     private ServiceProvider serviceProvider; // The service provider being rated
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "booking_id", nullable = false)
-    private Booking booking; // The booking this rating is associated with
+    @JoinColumn(name = "booking_id")
+    private Booking booking; // The booking this rating is associated with (null for imported reviews)
 
     @NotNull(message = "Rating value is required")
     @DecimalMin(value = "1.0", message = "Rating must be at least 1")
@@ -34,9 +40,22 @@ public class Rating extends BaseEntity {
     @Column(name = "review", length = 1000)
     private String review;
 
-    @Column(name = "helpful_count")
+    // Only ever changed by HelpfulVoteCounter's atomic increments, never by entity saves
+    @Column(name = "helpful_count", updatable = false)
     private Integer helpfulCount = 0;
 
+    // Origin of imported reviews, e.g. the marketplace name; null for native ratings
+    @Column(name = "source", length = 50)
+    private String source;
+
+    // Review ID in the source system; (source, external_id) is unique so re-imports skip existing rows
+    @Column(name = "external_id", length = 100)
+    private String externalId;
+
+    // Display name of the reviewer for imported reviews, which have no user
+    @Column(name = "reviewer_name", length = 100)
+    private String reviewerName;
+
     // Constructors
     public Rating() {}
 
@@ -96,6 +115,30 @@ public class Rating extends BaseEntity {
         this.helpfulCount = helpfulCount;
     }
 
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+
+    public String getReviewerName() {
+        return reviewerName;
+    }
+
+    public void setReviewerName(String reviewerName) {
+        this.reviewerName = reviewerName;
+    }
+
     // Utility methods
     public boolean hasReview() {
         return review != null && !review.trim().isEmpty();
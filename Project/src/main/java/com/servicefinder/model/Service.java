@@ -9,7 +9,12 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "services")
+@Table(name = "services", indexes = {
+    @Index(name = "idx_services_active_category_price", columnList = "active, category, price"),
+    @Index(name = "idx_services_active_subcategory", columnList = "active, subcategory"),
+    @Index(name = "idx_services_active_city", columnList = "active, location_city"),
+    @Index(name = "idx_services_active_price", columnList = "active, price")
+})
 public class Service extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -45,6 +45,10 @@ public class User extends BaseEntity {
     @Column(name = "active", nullable = false)
     private Boolean active = true;
 
+    // Bumped to revoke every token issued so far (password, role or status change)
+    @Column(name = "token_version", nullable = false)
+    private Integer tokenVersion = 0;
+
     @Column(name = "profile_picture_url")
     private String profilePictureUrl;
 
@@ -147,6 +151,14 @@ public class User extends BaseEntity {
         this.active = active;
     }
 
+    public Integer getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public String getProfilePictureUrl() {
         return profilePictureUrl;
     }
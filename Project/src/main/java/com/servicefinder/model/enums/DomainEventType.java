@@ -0,0 +1,13 @@
+package com.servicefinder.model.enums;
+
+public enum DomainEventType {
+    BOOKING_CREATED,
+    BOOKING_CONFIRMED,
+    BOOKING_STARTED,
+    BOOKING_COMPLETED,
+    BOOKING_CANCELLED,
+    BOOKING_REMINDER_DUE,
+    RATING_CREATED,
+    RATING_UPDATED,
+    RATING_DELETED
+}
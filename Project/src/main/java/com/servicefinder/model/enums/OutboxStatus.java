@@ -0,0 +1,7 @@
+package com.servicefinder.model.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    PROCESSED,
+    FAILED
+}
@@ -6,7 +6,10 @@ import com.servicefinder.model.User;
 import com.servicefinder.model.enums.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -71,6 +74,11 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.serviceProvider = :provider AND b.status = 'CANCELLED'")
     Long countCancelledBookingsByProvider(@Param("provider") ServiceProvider provider);
 
+    // Per-provider, per-status counts and totals for a chunk of providers (stats rebuild)
+    @Query("SELECT b.serviceProvider.id, b.status, COUNT(b), COALESCE(SUM(b.totalPrice), 0) FROM Booking b " +
+           "WHERE b.serviceProvider.id IN :providerIds GROUP BY b.serviceProvider.id, b.status")
+    List<Object[]> aggregateStatusByProviders(@Param("providerIds") List<Long> providerIds);
+
     // Customer statistics  
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.customer = :customer AND b.status = 'COMPLETED'")
     Long countCompletedBookingsByCustomer(@Param("customer") User customer);
@@ -78,4 +86,80 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     // Find bookings by service
     @Query("SELECT b FROM Booking b WHERE b.service.id = :serviceId ORDER BY b.scheduledDateTime DESC")
     Page<Booking> findBookingsByServiceId(@Param("serviceId") Long serviceId, Pageable pageable);
-} 
\ No newline at end of file
+
+    // Timer loading: (id, scheduledDateTime) pairs only, no entity graph
+    @Query("SELECT b.id, b.scheduledDateTime FROM Booking b WHERE b.status = 'PENDING' AND b.scheduledDateTime < :until")
+    List<Object[]> findPendingTimersBefore(@Param("until") LocalDateTime until);
+
+    @Query("SELECT b.id, b.scheduledDateTime FROM Booking b WHERE b.status = 'CONFIRMED' AND b.reminderSentAt IS NULL AND " +
+           "b.scheduledDateTime > :from AND b.scheduledDateTime < :until")
+    List<Object[]> findReminderTimersBetween(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    // Lock the still-stale PENDING bookings of a batch before expiring them
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' AND b.scheduledDateTime < :cutoff")
+    List<Booking> lockExpirablePending(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = com.servicefinder.model.enums.BookingStatus.CANCELLED, b.cancelledBy = 'system', b.cancellationReason = :reason, " +
+           "b.cancellationDateTime = :now, b.updatedAt = :now WHERE b.id IN :ids AND b.status = 'PENDING'")
+    int expirePending(@Param("ids") List<Long> ids, @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'CONFIRMED' AND b.reminderSentAt IS NULL AND " +
+           "b.scheduledDateTime > :now AND b.scheduledDateTime <= :latest")
+    List<Booking> lockRemindable(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now, @Param("latest") LocalDateTime latest);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.reminderSentAt = :now WHERE b.id IN :ids AND b.reminderSentAt IS NULL")
+    int markReminderSent(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // Bulk provider transitions: lock the provider's own bookings, then one guarded UPDATE
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.serviceProvider.id = :providerId")
+    List<Booking> lockProviderBookings(@Param("ids") List<Long> ids, @Param("providerId") Long providerId);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.updatedAt = :now WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int bulkUpdateStatus(@Param("ids") List<Long> ids, @Param("fromStatuses") List<BookingStatus> fromStatuses,
+                         @Param("target") BookingStatus target, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.actualStartDateTime = :now, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int bulkStart(@Param("ids") List<Long> ids, @Param("fromStatuses") List<BookingStatus> fromStatuses,
+                  @Param("target") BookingStatus target, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.actualEndDateTime = :now, b.updatedAt = :now " +
+           "WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int bulkComplete(@Param("ids") List<Long> ids, @Param("fromStatuses") List<BookingStatus> fromStatuses,
+                     @Param("target") BookingStatus target, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :target, b.cancelledBy = :cancelledBy, b.cancellationReason = :reason, " +
+           "b.cancellationDateTime = :now, b.updatedAt = :now WHERE b.id IN :ids AND b.status IN :fromStatuses")
+    int bulkCancel(@Param("ids") List<Long> ids, @Param("fromStatuses") List<BookingStatus> fromStatuses,
+                   @Param("target") BookingStatus target, @Param("cancelledBy") String cancelledBy,
+                   @Param("reason") String reason, @Param("now") LocalDateTime now);
+
+    // Provider's active bookings overlapping a window, for in-memory travel-aware conflict checks
+    @Query("SELECT b FROM Booking b WHERE b.serviceProvider.id = :providerId AND b.status NOT IN ('CANCELLED', 'COMPLETED') AND " +
+           "b.scheduledDateTime < :windowEnd AND COALESCE(b.estimatedEndDateTime, b.scheduledDateTime) >= :windowStart " +
+           "ORDER BY b.scheduledDateTime ASC")
+    List<Booking> findActiveBookingsInWindow(@Param("providerId") Long providerId,
+                                             @Param("windowStart") LocalDateTime windowStart,
+                                             @Param("windowEnd") LocalDateTime windowEnd);
+
+    // Provider's bookings in one status for a time range (route planning)
+    @Query("SELECT b FROM Booking b WHERE b.serviceProvider.id = :providerId AND b.status = :status AND " +
+           "b.scheduledDateTime >= :from AND b.scheduledDateTime < :to ORDER BY b.scheduledDateTime ASC")
+    List<Booking> findProviderBookingsByStatusBetween(@Param("providerId") Long providerId,
+                                                      @Param("status") BookingStatus status,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    // (serviceId, booking count) for every booked service, used as autocomplete popularity
+    @Query("SELECT b.service.id, COUNT(b) FROM Booking b GROUP BY b.service.id")
+    List<Object[]> countBookingsPerService();
+}
@@ -0,0 +1,23 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.ConsumedRefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ConsumedRefreshTokenRepository extends JpaRepository<ConsumedRefreshToken, Long> {
+
+    Optional<ConsumedRefreshToken> findByTokenId(String tokenId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ConsumedRefreshToken c WHERE c.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
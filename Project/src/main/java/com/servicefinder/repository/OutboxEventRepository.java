@@ -0,0 +1,63 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.OutboxEvent;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.model.enums.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest due events first; insertion order is the per-aggregate delivery order.
+    // Events queued behind one that is backing off are left out too, so waiting
+    // aggregates neither fill the batch nor get delivered out of order
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'PENDING' AND NOT EXISTS (" +
+           "SELECT b.id FROM OutboxEvent b WHERE b.status = 'PENDING' " +
+           "AND b.aggregateType = e.aggregateType AND b.aggregateId = e.aggregateId " +
+           "AND b.id <= e.id AND b.nextAttemptAt > :now) " +
+           "ORDER BY e.id ASC")
+    List<OutboxEvent> findDueOrderByIdAsc(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxStatus status);
+
+    // Aggregates with an event of this type since the given time, e.g. ratings deleted
+    // while a node's read model was not receiving events
+    @Query("SELECT e.aggregateId FROM OutboxEvent e WHERE e.aggregateType = :aggregateType " +
+           "AND e.eventType = :eventType AND e.createdAt >= :since")
+    List<Long> findAggregateIdsSince(@Param("aggregateType") String aggregateType,
+                                     @Param("eventType") DomainEventType eventType,
+                                     @Param("since") LocalDateTime since);
+
+    // Pending events of the given types that the consumer has not applied yet, for
+    // aggregates (bookings) of the given providers
+    @Query("SELECT e FROM OutboxEvent e, Booking b WHERE e.aggregateType = :aggregateType " +
+           "AND e.aggregateId = b.id AND e.status = 'PENDING' AND e.eventType IN :types " +
+           "AND b.serviceProvider.id IN :providerIds AND NOT EXISTS (" +
+           "SELECT p.id FROM ProcessedEvent p WHERE p.consumer = :consumer AND p.eventId = e.id)")
+    List<OutboxEvent> findUnappliedEvents(@Param("aggregateType") String aggregateType,
+                                          @Param("types") Collection<DomainEventType> types,
+                                          @Param("consumer") String consumer,
+                                          @Param("providerIds") List<Long> providerIds);
+
+    // Record a delivery as soon as it happens, rather than with the rest of its batch
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = 'PROCESSED', e.processedAt = :now, e.lastError = NULL WHERE e.id = :id")
+    int markProcessed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Purge delivered events past the retention window
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'PROCESSED' AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
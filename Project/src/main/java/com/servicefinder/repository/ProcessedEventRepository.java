@@ -0,0 +1,23 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
+
+    boolean existsByConsumerAndEventId(String consumer, Long eventId);
+
+    // Outbox events older than this have been purged and cannot be redelivered
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ProcessedEvent p WHERE p.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
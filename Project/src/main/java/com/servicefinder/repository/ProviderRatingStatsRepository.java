@@ -0,0 +1,48 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.ProviderRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProviderRatingStatsRepository extends JpaRepository<ProviderRatingStats, Long> {
+
+    // Apply one rating change in place; returns 0 when the provider has no stats row yet
+    @Modifying
+    @Query("UPDATE ProviderRatingStats s SET " +
+           "s.ratingSum = s.ratingSum + :sum, " +
+           "s.ratingCount = s.ratingCount + :count, " +
+           "s.oneStar = s.oneStar + :one, " +
+           "s.twoStar = s.twoStar + :two, " +
+           "s.threeStar = s.threeStar + :three, " +
+           "s.fourStar = s.fourStar + :four, " +
+           "s.fiveStar = s.fiveStar + :five, " +
+           "s.updatedAt = :now " +
+           "WHERE s.providerId = :providerId")
+    int applyDelta(@Param("providerId") Long providerId,
+                   @Param("sum") BigDecimal sum,
+                   @Param("count") long count,
+                   @Param("one") long one,
+                   @Param("two") long two,
+                   @Param("three") long three,
+                   @Param("four") long four,
+                   @Param("five") long five,
+                   @Param("now") LocalDateTime now);
+
+    // Lock existing rows before recomputing them so concurrent rating writes queue behind the rebuild
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProviderRatingStats s WHERE s.providerId IN :providerIds")
+    List<ProviderRatingStats> lockAllById(@Param("providerIds") List<Long> providerIds);
+
+    @Query("SELECT s.providerId FROM ProviderRatingStats s WHERE s.updatedAt > :since")
+    List<Long> findProviderIdsUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,46 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.ProviderStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProviderStatsRepository extends JpaRepository<ProviderStats, Long> {
+
+    // Apply counter deltas in place; returns 0 when the provider has no stats row yet
+    @Modifying
+    @Query("UPDATE ProviderStats s SET " +
+           "s.totalBookings = s.totalBookings + :total, " +
+           "s.upcomingBookings = s.upcomingBookings + :upcoming, " +
+           "s.inProgressBookings = s.inProgressBookings + :inProgress, " +
+           "s.completedBookings = s.completedBookings + :completed, " +
+           "s.cancelledBookings = s.cancelledBookings + :cancelled, " +
+           "s.revenue = s.revenue + :revenue, " +
+           "s.updatedAt = :now " +
+           "WHERE s.providerId = :providerId")
+    int applyDelta(@Param("providerId") Long providerId,
+                   @Param("total") long total,
+                   @Param("upcoming") long upcoming,
+                   @Param("inProgress") long inProgress,
+                   @Param("completed") long completed,
+                   @Param("cancelled") long cancelled,
+                   @Param("revenue") BigDecimal revenue,
+                   @Param("now") LocalDateTime now);
+
+    // Lock existing rows before recomputing them so concurrent deltas queue behind the rebuild
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProviderStats s WHERE s.providerId IN :providerIds")
+    List<ProviderStats> lockAllById(@Param("providerIds") List<Long> providerIds);
+
+    @Query("SELECT s.providerId FROM ProviderStats s WHERE s.updatedAt > :since")
+    List<Long> findProviderIdsUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -50,11 +50,19 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.serviceProvider = :provider")
     Long countRatingsByProvider(@Param("provider") ServiceProvider provider);
 
-    // Find ratings by rating value range
-    @Query("SELECT r FROM Rating r WHERE r.serviceProvider = :provider AND r.rating >= :minRating AND r.rating <= :maxRating ORDER BY r.createdAt DESC")
-    List<Rating> findRatingsByProviderAndRatingRange(@Param("provider") ServiceProvider provider, 
-                                                    @Param("minRating") BigDecimal minRating, 
-                                                    @Param("maxRating") BigDecimal maxRating);
+    // Find one page of ratings in a rating value range, optionally only those with reviews
+    @Query(value = "SELECT r FROM Rating r WHERE r.serviceProvider = :provider " +
+                   "AND r.rating >= :minRating AND r.rating <= :maxRating " +
+                   "AND (:reviewsOnly = false OR (r.review IS NOT NULL AND TRIM(r.review) != '')) " +
+                   "ORDER BY r.createdAt DESC",
+           countQuery = "SELECT COUNT(r) FROM Rating r WHERE r.serviceProvider = :provider " +
+                        "AND r.rating >= :minRating AND r.rating <= :maxRating " +
+                        "AND (:reviewsOnly = false OR (r.review IS NOT NULL AND TRIM(r.review) != ''))")
+    Page<Rating> findRatingsByProviderAndRatingRange(@Param("provider") ServiceProvider provider,
+                                                    @Param("minRating") BigDecimal minRating,
+                                                    @Param("maxRating") BigDecimal maxRating,
+                                                    @Param("reviewsOnly") boolean reviewsOnly,
+                                                    Pageable pageable);
 
     // Find most helpful reviews
     @Query("SELECT r FROM Rating r WHERE r.serviceProvider = :provider AND r.review IS NOT NULL AND TRIM(r.review) != '' ORDER BY r.helpfulCount DESC, r.createdAt DESC")
@@ -89,4 +97,18 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     // Find ratings for multiple service providers
     @Query("SELECT r FROM Rating r WHERE r.serviceProvider IN :providers ORDER BY r.createdAt DESC")
     List<Rating> findRatingsByProviders(@Param("providers") List<ServiceProvider> providers);
-} 
\ No newline at end of file
+
+    // Per-provider histogram and sums for a chunk of providers (rating stats rebuild)
+    @Query("SELECT r.serviceProvider.id, FLOOR(r.rating), COUNT(r), SUM(r.rating) FROM Rating r " +
+           "WHERE r.serviceProvider.id IN :providerIds GROUP BY r.serviceProvider.id, FLOOR(r.rating)")
+    List<Object[]> aggregateByProviders(@Param("providerIds") List<Long> providerIds);
+
+    // Keyset scan over recently changed ratings (review index catch-up): id, providerId, review, updatedAt
+    @Query("SELECT r.id, r.serviceProvider.id, r.review, r.updatedAt FROM Rating r " +
+           "WHERE r.updatedAt > :since OR (r.updatedAt = :since AND r.id > :afterId) ORDER BY r.updatedAt ASC, r.id ASC")
+    List<Object[]> findChangedSince(@Param("since") java.time.LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    // Stored helpful count only (write-behind vote counter reads); legacy NULL counts read as 0
+    @Query("SELECT COALESCE(r.helpfulCount, 0) FROM Rating r WHERE r.id = :id")
+    Optional<Integer> findHelpfulCountById(@Param("id") Long id);
+}
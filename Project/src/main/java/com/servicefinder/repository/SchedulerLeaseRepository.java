@@ -0,0 +1,25 @@
+package com.servicefinder.repository;
+
+import com.servicefinder.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Take over the lease if we already hold it or the previous holder let it lapse
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.leaseUntil = :until " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.leaseUntil < :now)")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("until") LocalDateTime until,
+              @Param("now") LocalDateTime now);
+}
@@ -3,12 +3,16 @@ package com.servicefinder.repository;
 import com.servicefinder.model.ServiceProvider;
 import com.servicefinder.model.User;
 import com.servicefinder.model.enums.VerificationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,9 +46,43 @@ public interface ServiceProviderRepository extends JpaRepository<ServiceProvider
            "(sp.businessName LIKE %:keyword% OR sp.description LIKE %:keyword%)")
     List<ServiceProvider> searchByKeyword(@Param("keyword") String keyword);
     
-    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.available = true ORDER BY sp.averageRating DESC")
-    List<ServiceProvider> findTopRatedProviders();
-    
-    @Query("SELECT sp FROM ServiceProvider sp WHERE sp.available = true ORDER BY sp.totalBookings DESC")
-    List<ServiceProvider> findMostBookedProviders();
-} 
\ No newline at end of file
+    // Leaderboard rows: id, businessName, available, user city, averageRating, totalRatings, totalBookings
+    @Query("SELECT sp.id, sp.businessName, sp.available, u.city, sp.averageRating, sp.totalRatings, sp.totalBookings " +
+           "FROM ServiceProvider sp JOIN sp.user u WHERE sp.id > :afterId ORDER BY sp.id")
+    List<Object[]> findLeaderboardRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT sp.id, sp.businessName, sp.available, u.city, sp.averageRating, sp.totalRatings, sp.totalBookings " +
+           "FROM ServiceProvider sp JOIN sp.user u WHERE sp.id IN :providerIds")
+    List<Object[]> findLeaderboardRows(@Param("providerIds") Collection<Long> providerIds);
+
+    // Atomic counter update so concurrent event handlers never lose increments
+    @Modifying
+    @Transactional
+    @Query("UPDATE ServiceProvider sp SET sp.totalBookings = COALESCE(sp.totalBookings, 0) + :delta WHERE sp.id = :providerId")
+    int incrementTotalBookings(@Param("providerId") Long providerId, @Param("delta") int delta);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ServiceProvider sp SET sp.totalBookings = :total WHERE sp.id = :providerId AND " +
+           "(sp.totalBookings IS NULL OR sp.totalBookings <> :total)")
+    int updateTotalBookings(@Param("providerId") Long providerId, @Param("total") int total);
+
+    @Query("SELECT sp.id FROM ServiceProvider sp ORDER BY sp.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT sp.id FROM ServiceProvider sp WHERE sp.user.email = :email")
+    Optional<Long> findIdByUserEmail(@Param("email") String email);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ServiceProvider sp SET sp.averageRating = :average, sp.totalRatings = :total WHERE sp.id = :providerId")
+    int updateRatingSummary(@Param("providerId") Long providerId, @Param("average") BigDecimal average, @Param("total") int total);
+
+    // (latitude, longitude) of the provider's user
+    @Query("SELECT u.latitude, u.longitude FROM ServiceProvider sp JOIN sp.user u WHERE sp.id = :providerId")
+    List<Object[]> findLocationById(@Param("providerId") Long providerId);
+
+    // (id, businessName, totalBookings) of available providers, for the autocomplete and fuzzy search indexes
+    @Query("SELECT sp.id, sp.businessName, sp.totalBookings FROM ServiceProvider sp WHERE sp.available = true")
+    List<Object[]> findAutocompleteRows();
+}
@@ -1,17 +1,58 @@
 package com.servicefinder.repository;
 
+import com.servicefinder.dto.ServiceResponse;
 import com.servicefinder.model.Service;
 import com.servicefinder.model.ServiceProvider;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ServiceRepository extends JpaRepository<Service, Long> {
+public interface ServiceRepository extends JpaRepository<Service, Long>, JpaSpecificationExecutor<Service> {
+
+    // Catalog queries load provider and provider user with the page to avoid per-row lookups
+    // Service, provider and provider user columns straight into ServiceResponse, in one statement
+    String SERVICE_RESPONSE_SELECT = "SELECT new com.servicefinder.dto.ServiceResponse(" +
+           "s.id, s.name, s.description, s.category, s.subcategory, s.price, s.durationMinutes, s.active, " +
+           "s.createdAt, s.updatedAt, s.serviceArea, s.locationCity, s.locationDistrict, s.locationState, " +
+           "s.locationCountry, s.locationPostalCode, s.locationLatitude, s.locationLongitude, s.serviceRadiusKm, " +
+           "sp.id, sp.businessName, sp.averageRating, sp.totalRatings, sp.verificationStatus, sp.available, " +
+           "u.id, u.firstName, u.lastName, u.email, u.phoneNumber) " +
+           "FROM Service s LEFT JOIN s.serviceProvider sp LEFT JOIN sp.user u ";
+
+    @Query(SERVICE_RESPONSE_SELECT + "WHERE sp.id = :providerId ORDER BY s.id")
+    List<ServiceResponse> findResponsesByProviderId(@Param("providerId") Long providerId);
+
+    /**
+     * Same rows as findResponsesByProviderId, read incrementally for bulk export;
+     * must be consumed and closed inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SERVICE_RESPONSE_SELECT + "WHERE sp.id = :providerId ORDER BY s.id")
+    Stream<ServiceResponse> streamResponsesByProviderId(@Param("providerId") Long providerId);
+
+    @Override
+    @EntityGraph(attributePaths = {"serviceProvider", "serviceProvider.user"})
+    Page<Service> findAll(Specification<Service> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"serviceProvider", "serviceProvider.user"})
+    List<Service> findAll(Specification<Service> spec, Sort sort);
     
     List<Service> findByServiceProvider(ServiceProvider serviceProvider);
     
@@ -27,7 +68,7 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     
     List<Service> findByNameContainingIgnoreCase(String name);
     
-    @Query("SELECT s FROM Service s WHERE s.active = true AND s.name LIKE %:keyword% OR s.description LIKE %:keyword%")
+    @Query("SELECT s FROM Service s WHERE s.active = true AND (s.name LIKE %:keyword% OR s.description LIKE %:keyword%)")
     List<Service> searchByKeyword(@Param("keyword") String keyword);
     
     @Query("SELECT s FROM Service s WHERE s.active = true AND s.price BETWEEN :minPrice AND :maxPrice")
@@ -43,13 +84,38 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     
     @Query("SELECT DISTINCT s.subcategory FROM Service s WHERE s.active = true AND s.category = :category ORDER BY s.subcategory")
     List<String> findSubcategoriesByCategory(@Param("category") String category);
+
+    // (category, subcategory, count) over active services, for the taxonomy cache rebuild
+    @Query("SELECT s.category, s.subcategory, COUNT(s) FROM Service s WHERE s.active = true AND s.category IS NOT NULL " +
+           "GROUP BY s.category, s.subcategory")
+    List<Object[]> countActiveByCategoryAndSubcategory();
     
-    @Query("SELECT s FROM Service s JOIN s.serviceProvider sp JOIN sp.user u WHERE " +
+    @Query(SERVICE_RESPONSE_SELECT + "WHERE " +
            "s.active = true AND sp.available = true AND " +
            "(6371 * acos(cos(radians(:latitude)) * cos(radians(u.latitude)) * " +
            "cos(radians(u.longitude) - radians(:longitude)) + " +
            "sin(radians(:latitude)) * sin(radians(u.latitude)))) <= :radiusKm")
-    List<Service> findServicesWithinRadius(@Param("latitude") Double latitude, 
-                                         @Param("longitude") Double longitude, 
-                                         @Param("radiusKm") Double radiusKm);
-} 
\ No newline at end of file
+    List<ServiceResponse> findResponsesWithinRadius(@Param("latitude") Double latitude,
+                                                    @Param("longitude") Double longitude,
+                                                    @Param("radiusKm") Double radiusKm);
+
+    // (providerId, category, locationCity) for each active service of the given providers
+    @Query("SELECT s.serviceProvider.id, s.category, s.locationCity FROM Service s " +
+           "WHERE s.active = true AND s.serviceProvider.id IN :providerIds")
+    List<Object[]> findActiveCategoriesAndCities(@Param("providerIds") Collection<Long> providerIds);
+
+    // Services with provider and provider user loaded, for rendering ranked hits from in-memory indexes
+    @EntityGraph(attributePaths = {"serviceProvider", "serviceProvider.user"})
+    List<Service> findByIdIn(Collection<Long> ids);
+
+    // (id, providerId, category, price, service lat, service lon, provider lat, provider lon, provider available)
+    // of every active service, for the discovery index
+    @Query("SELECT s.id, sp.id, s.category, s.price, s.locationLatitude, s.locationLongitude, " +
+           "u.latitude, u.longitude, sp.available " +
+           "FROM Service s JOIN s.serviceProvider sp JOIN sp.user u WHERE s.active = true")
+    List<Object[]> findActiveDiscoveryRows();
+
+    // (id, providerId, name, category, subcategory) of every active service, for the autocomplete and fuzzy search indexes
+    @Query("SELECT s.id, s.serviceProvider.id, s.name, s.category, s.subcategory FROM Service s WHERE s.active = true")
+    List<Object[]> findActiveAutocompleteRows();
+}
@@ -20,6 +20,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
     
     List<User> findByActiveTrue();
+
+    // [id, tokenVersion, active] for users whose tokens are not simply version 0
+    @Query("SELECT u.id, u.tokenVersion, u.active FROM User u WHERE u.tokenVersion > 0 OR u.active = false")
+    List<Object[]> findTokenVersionOverrides();
     
     @Query("SELECT u FROM User u WHERE u.city = :city AND u.active = true")
     List<User> findActiveUsersByCity(@Param("city") String city);
@@ -0,0 +1,20 @@
+package com.servicefinder.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the authenticated {@link com.servicefinder.model.User}, or that user's
+ * {@link com.servicefinder.model.ServiceProvider} profile (null if they have none),
+ * into a controller method parameter. Both are looked up at most once per request.
+ *
+ * A request without an authenticated user is rejected with 401 before the handler runs.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
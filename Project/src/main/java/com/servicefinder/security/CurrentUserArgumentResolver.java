@@ -0,0 +1,57 @@
+package com.servicefinder.security;
+
+import com.servicefinder.model.ServiceProvider;
+import com.servicefinder.model.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the authenticated principal's email.
+ * The identity is kept as a request attribute, so several parameters (or a forward)
+ * within one request share a single lookup; across requests it comes from the
+ * {@link IdentityCache}.
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String IDENTITY_ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".identity";
+
+    @Autowired
+    private IdentityCache identityCache;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == User.class || type == ServiceProvider.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        IdentityCache.Identity identity =
+                (IdentityCache.Identity) webRequest.getAttribute(IDENTITY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (identity == null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+                throw new AuthenticationCredentialsNotFoundException("Authentication required");
+            }
+            String email = authentication.getName();
+            identity = identityCache.get(email)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+            webRequest.setAttribute(IDENTITY_ATTRIBUTE, identity, RequestAttributes.SCOPE_REQUEST);
+        }
+        return parameter.getParameterType() == User.class ? identity.getUser() : identity.getProvider();
+    }
+}
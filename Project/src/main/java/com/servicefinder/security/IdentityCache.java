@@ -0,0 +1,99 @@
+package com.servicefinder.security;
+
+import com.servicefinder.event.ProviderChangedEvent;
+import com.servicefinder.model.ServiceProvider;
+import com.servicefinder.model.User;
+import com.servicefinder.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of users and their provider profiles by email, so back-to-back
+ * requests from the same user do not reload them.
+ *
+ * Entries are detached entities: fine to read and to reference from new entities,
+ * but handlers that modify the user or provider must load a fresh copy and call
+ * {@link #evict(String)} afterwards. Provider profile changes evict the entry too;
+ * anything else (e.g. rating stats) may be up to the TTL old.
+ */
+@Component
+public class IdentityCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${identity-cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    @Value("${identity-cache.max-size:10000}")
+    private int maxSize;
+
+    private final ConcurrentHashMap<String, Identity> identities = new ConcurrentHashMap<>();
+
+    /**
+     * The user with this email and their provider profile, if the user exists
+     */
+    public Optional<Identity> get(String email) {
+        long now = System.currentTimeMillis();
+        Identity cached = identities.get(email);
+        if (cached != null && cached.expiresAtMillis > now) {
+            return Optional.of(cached);
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        if (user.isEmpty()) {
+            identities.remove(email);
+            return Optional.empty();
+        }
+        // The provider side of the one-to-one is loaded with the user; make sure it is
+        // not left as a proxy, since the entry outlives this persistence context
+        ServiceProvider provider = user.get().getServiceProvider();
+        Hibernate.initialize(provider);
+
+        if (identities.size() >= maxSize) {
+            identities.values().removeIf(identity -> identity.expiresAtMillis <= now);
+            if (identities.size() >= maxSize) {
+                identities.clear();
+            }
+        }
+        Identity loaded = new Identity(user.get(), provider, now + ttlMillis);
+        identities.put(email, loaded);
+        return Optional.of(loaded);
+    }
+
+    public void evict(String email) {
+        identities.remove(email);
+    }
+
+    @EventListener
+    public void onProviderChanged(ProviderChangedEvent event) {
+        identities.values().removeIf(identity -> identity.provider != null
+                && identity.provider.getId().equals(event.getProviderId()));
+    }
+
+    public static class Identity {
+        private final User user;
+        private final ServiceProvider provider;
+        private final long expiresAtMillis;
+
+        Identity(User user, ServiceProvider provider, long expiresAtMillis) {
+            this.user = user;
+            this.provider = provider;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public ServiceProvider getProvider() {
+            return provider;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.servicefinder.security;
 
+import com.servicefinder.model.enums.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,7 +22,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private CustomUserDetailsService userDetailsService;
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private RevokedTokenStore revokedTokenStore;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
@@ -30,8 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        AuthenticatedUser principal = null;
 
         String requestPath = request.getServletPath();
 
@@ -43,25 +46,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Signature and expiry are checked here, once per token thanks to JwtUtil's cache
+                principal = toPrincipal(jwtUtil.getVerifiedClaims(jwt));
             } catch (Exception e) {
                 logger.warn("JWT token extraction failed", e);
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+        if (principal != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         
         filterChain.doFilter(request, response);
     }
+
+    // Build the principal from the claims alone; null if the token lacks them, is a refresh token or was revoked
+    private AuthenticatedUser toPrincipal(Claims claims) {
+        if (!jwtUtil.isAccessToken(claims) || revokedTokenStore.isRevoked(claims.getId(), claims.getExpiration())) {
+            return null;
+        }
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Number version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        if (userId == null || role == null || version == null) {
+            return null;
+        }
+        if (!tokenVersionRegistry.isCurrent(userId.longValue(), version.intValue())) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+    }
 } 
\ No newline at end of file
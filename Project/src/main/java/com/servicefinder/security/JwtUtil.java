@@ -1,16 +1,23 @@
 package com.servicefinder.security;
 
+import com.servicefinder.model.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -22,26 +29,85 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private Long refreshExpiration;
+
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Token hash -> claims of a token whose signature already checked out.
+    // Access-ordered, so the least recently used token is evicted first.
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedCacheSize;
+            }
+        };
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        return signingKey;
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, userDetails.getUsername());
+    // Claims that let requests be authenticated without loading the user
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    public static final String CLAIM_TYPE = "typ";
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    /**
+     * Short-lived token sent with every API request
+     */
+    public String generateToken(User user) {
+        return createToken(userClaims(user, TYPE_ACCESS), user.getEmail(), expiration);
+    }
+
+    /**
+     * Long-lived token accepted only by /auth/refresh
+     */
+    public String generateRefreshToken(User user) {
+        return createToken(userClaims(user, TYPE_REFRESH), user.getEmail(), refreshExpiration);
     }
 
-    public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails);
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    public boolean isAccessToken(Claims claims) {
+        // Tokens issued before the type claim existed are access tokens
+        String type = claims.get(CLAIM_TYPE, String.class);
+        return type == null || TYPE_ACCESS.equals(type);
+    }
+
+    private Map<String, Object> userClaims(User user, String type) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole().name());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        claims.put(CLAIM_TYPE, type);
+        return claims;
+    }
+
+    private String createToken(Map<String, Object> claims, String subject, long ttlMillis) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -59,16 +125,53 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Claims of a validly signed, unexpired token. The signature is checked once
+     * per token; later calls are served from the cache until the token expires.
+     * @throws RuntimeException if the token is malformed, forged or expired
+     */
+    public Claims getVerifiedClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
+        if (token == null) {
+            throw new RuntimeException("Invalid JWT token");
+        }
+        String key = hash(token);
+        synchronized (verifiedTokens) {
+            VerifiedToken cached = verifiedTokens.get(key);
+            if (cached != null) {
+                if (cached.expiresAtMillis > System.currentTimeMillis()) {
+                    return cached.claims;
+                }
+                // Expired since it was cached; the parser below rejects it
+                verifiedTokens.remove(key);
+            }
+        }
+
+        Claims claims;
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException("Invalid JWT token", e);
         }
+
+        // Only tokens that passed verification are cached, so forged tokens cannot fill it
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     public Boolean isTokenExpired(String token) {
@@ -81,8 +184,8 @@ public class JwtUtil {
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            final Claims claims = getVerifiedClaims(token);
+            return claims.getSubject().equals(userDetails.getUsername());
         } catch (Exception e) {
             return false;
         }
@@ -90,10 +193,20 @@ public class JwtUtil {
 
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            getVerifiedClaims(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    private static class VerifiedToken {
+        final Claims claims;
+        final long expiresAtMillis;
+
+        VerifiedToken(Claims claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.servicefinder.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt hashing and verification on a small dedicated pool, so a login or
+ * registration spike cannot tie up every request thread and starve cheap endpoints.
+ *
+ * The pool has a fixed number of threads and a bounded queue. When the queue is
+ * full, or a caller has waited longer than the timeout, {@link BusyException} is
+ * thrown at once and the controller answers 503 with Retry-After. Hash latency,
+ * queue depth and rejections are published as Micrometer metrics.
+ */
+@Component
+public class PasswordHashingService {
+
+    // Verified against when the email is unknown, so that case takes as long as a wrong password
+    private static final String UNKNOWN_USER_PASSWORD = "unknown-user-password";
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${auth.hashing.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Timer encodeTimer;
+    private Timer verifyTimer;
+    private Counter rejected;
+    private volatile String unknownUserHash;
+
+    @PostConstruct
+    public void start() {
+        // BCrypt is CPU-bound, so by default use one thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        encodeTimer = Timer.builder("auth.password.hash").tag("operation", "encode")
+                .description("BCrypt time, excluding the wait in the queue").register(meterRegistry);
+        verifyTimer = Timer.builder("auth.password.hash").tag("operation", "verify")
+                .description("BCrypt time, excluding the wait in the queue").register(meterRegistry);
+        rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests turned away because the pool was saturated").register(meterRegistry);
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size())
+                .description("Hashing requests waiting for a thread").register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads busy").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Spend one verification's worth of time for an unknown email
+     */
+    public void simulateMatch(CharSequence rawPassword) {
+        if (unknownUserHash == null) {
+            unknownUserHash = encode(UNKNOWN_USER_PASSWORD);
+        }
+        matches(rawPassword, unknownUserHash);
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusyException();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Not worth finishing: the caller has already given up
+            future.cancel(true);
+            rejected.increment();
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusyException();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * The hashing pool is saturated; the request should be retried later
+     */
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Too many sign-in requests in progress, please retry shortly");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.servicefinder.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limits on expensive endpoints, per signed-in user or, for
+ * anonymous requests, per client IP. Runs right after {@link JwtAuthenticationFilter}
+ * so the user is known.
+ *
+ * Routes are configured as {@code pattern:capacity:refillPerMinute} in
+ * {@code rate-limit.routes}; patterns are Ant-style and matched without the /api
+ * prefix. A throttled request gets 429 with Retry-After.
+ *
+ * Each bucket is one AtomicLong packing the refill time and the remaining tokens,
+ * updated by compare-and-set, so hot clients never contend on a lock. Buckets live
+ * in a bounded map: when it fills up, idle (full) buckets are dropped first, since
+ * recreating them loses nothing.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Low 24 bits: tokens in thousandths; high 40 bits: last refill, ms since start
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE_TOKEN = 1000;
+    private static final long MAX_CAPACITY = TOKEN_MASK / ONE_TOKEN;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.routes:}")
+    private String routeSpecs;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private int maxBuckets;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Route> routes = new ArrayList<>();
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final long startNanos = System.nanoTime();
+    private Counter evicted;
+
+    @PostConstruct
+    public void init() {
+        for (String spec : routeSpecs.split(",")) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            String[] parts = spec.trim().split(":");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid rate-limit route '" + spec + "', expected pattern:capacity:refillPerMinute");
+            }
+            long capacity = Long.parseLong(parts[1].trim());
+            double perMinute = Double.parseDouble(parts[2].trim());
+            if (capacity < 1 || capacity > MAX_CAPACITY || perMinute <= 0) {
+                throw new IllegalArgumentException("Invalid rate-limit route '" + spec + "', capacity must be 1-" + MAX_CAPACITY
+                        + " and refill positive");
+            }
+            routes.add(new Route(routes.size(), parts[0].trim(), capacity, perMinute));
+        }
+
+        evicted = Counter.builder("ratelimit.buckets.evicted")
+                .description("Rate-limit buckets dropped to keep the map bounded").register(meterRegistry);
+        Gauge.builder("ratelimit.buckets", buckets, ConcurrentHashMap::size)
+                .description("Clients currently tracked by the rate limiter").register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = enabled ? match(request) : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitMillis = tryAcquire(route, route.index + "|" + clientKey(request));
+        if (waitMillis == 0) {
+            route.allowed.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        route.throttled.increment();
+        long retryAfterSeconds = Math.max(1, (waitMillis + 999) / 1000);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded, retry in "
+                + retryAfterSeconds + " seconds\"}");
+    }
+
+    private Route match(HttpServletRequest request) {
+        if ("OPTIONS".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getServletPath();
+        if (path.startsWith("/api/")) {
+            path = path.substring(4);
+        }
+        for (Route route : routes) {
+            if (pathMatcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u" + user.getId();
+        }
+        return "ip" + request.getRemoteAddr();
+    }
+
+    /**
+     * Take one token from the client's bucket. Returns 0 if one was available,
+     * otherwise how many milliseconds until one will be.
+     */
+    private long tryAcquire(Route route, String key) {
+        long now = nowMillis();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(pack(now, route.capacityTokens)));
+        }
+
+        while (true) {
+            long state = bucket.get();
+            long tokens = refill(route, state, now);
+            // A full bucket restarts refilling from now, so idle time is never credited twice.
+            // Otherwise keep the old timestamp while the refill rounds down to nothing, so
+            // slow refill rates are not rounded away by frequent requests
+            long refilledAt = tokens >= route.capacityTokens || tokens > (state & TOKEN_MASK) ? now : state >>> TOKEN_BITS;
+            if (tokens < ONE_TOKEN) {
+                return (long) Math.ceil((ONE_TOKEN - tokens) / route.tokensPerMilli);
+            }
+            if (bucket.compareAndSet(state, pack(refilledAt, tokens - ONE_TOKEN))) {
+                return 0;
+            }
+        }
+    }
+
+    private static long refill(Route route, long state, long now) {
+        long tokens = state & TOKEN_MASK;
+        long elapsed = Math.max(0, now - (state >>> TOKEN_BITS));
+        return Math.min(route.capacityTokens, tokens + (long) (elapsed * route.tokensPerMilli));
+    }
+
+    // Drop buckets that have refilled completely; if that is not enough, drop any
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int before = buckets.size();
+            buckets.entrySet().removeIf(entry -> {
+                Route route = routes.get(Integer.parseInt(entry.getKey().substring(0, entry.getKey().indexOf('|'))));
+                return refill(route, entry.getValue().get(), now) >= route.capacityTokens;
+            });
+            int target = maxBuckets - maxBuckets / 10;
+            Iterator<String> keys = buckets.keySet().iterator();
+            while (buckets.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+            evicted.increment(Math.max(0, before - buckets.size()));
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    // Milliseconds since the filter was created; package-private so tests can drive the clock
+    long nowMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static long pack(long millis, long tokens) {
+        return (millis << TOKEN_BITS) | tokens;
+    }
+
+    private class Route {
+        final int index;
+        final String pattern;
+        final long capacityTokens;
+        final double tokensPerMilli;
+        final Counter allowed;
+        final Counter throttled;
+
+        Route(int index, String pattern, long capacity, double perMinute) {
+            this.index = index;
+            this.pattern = pattern;
+            this.capacityTokens = capacity * ONE_TOKEN;
+            this.tokensPerMilli = perMinute * ONE_TOKEN / 60_000.0;
+            this.allowed = Counter.builder("ratelimit.requests").tag("route", pattern).tag("outcome", "allowed")
+                    .description("Requests checked against a rate limit").register(meterRegistry);
+            this.throttled = Counter.builder("ratelimit.requests").tag("route", pattern).tag("outcome", "throttled")
+                    .description("Requests checked against a rate limit").register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.servicefinder.security;
+
+import com.servicefinder.model.ConsumedRefreshToken;
+import com.servicefinder.repository.ConsumedRefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Used and revoked refresh tokens, shared by all nodes through the database.
+ *
+ * Consuming a token inserts its ID under a unique key, so the insert that wins is
+ * the one refresh that succeeds, whichever node it lands on. A token presented
+ * again shortly after it was used is most likely a second tab refreshing at the
+ * same moment and is simply refused; presented later, it has leaked.
+ */
+@Component
+public class RefreshTokenLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenLedger.class);
+
+    public enum Outcome {
+        /** First use; the caller may issue a new pair */
+        CONSUMED,
+        /** Already used within the grace window; refuse without further action */
+        RECENTLY_USED,
+        /** Already used or revoked earlier; treat as stolen */
+        REUSED
+    }
+
+    @Autowired
+    private ConsumedRefreshTokenRepository consumedRefreshTokenRepository;
+
+    @Value("${jwt.refresh-reuse-grace-ms:10000}")
+    private long reuseGraceMillis;
+
+    /**
+     * Mark the token used, atomically across nodes
+     */
+    public Outcome consume(String tokenId, Long userId, Date expiresAt) {
+        if (insert(tokenId, userId, expiresAt)) {
+            return Outcome.CONSUMED;
+        }
+        LocalDateTime graceStart = LocalDateTime.now().minusNanos(reuseGraceMillis * 1_000_000);
+        return consumedRefreshTokenRepository.findByTokenId(tokenId)
+                .filter(used -> used.getCreatedAt().isAfter(graceStart))
+                .map(used -> Outcome.RECENTLY_USED)
+                .orElse(Outcome.REUSED);
+    }
+
+    /**
+     * Revoke the token (e.g. on logout); revoking it twice is harmless
+     */
+    public void revoke(String tokenId, Long userId, Date expiresAt) {
+        insert(tokenId, userId, expiresAt);
+    }
+
+    // False if the token ID is already recorded
+    private boolean insert(String tokenId, Long userId, Date expiresAt) {
+        if (consumedRefreshTokenRepository.findByTokenId(tokenId).isPresent()) {
+            return false;
+        }
+        try {
+            consumedRefreshTokenRepository.saveAndFlush(new ConsumedRefreshToken(tokenId, userId,
+                    LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault())));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently
+            return false;
+        }
+    }
+
+    /**
+     * Expired tokens are rejected on signature checks, so their rows can go
+     */
+    @Scheduled(cron = "${jwt.refresh-cleanup.cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        int removed = consumedRefreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.info("Purged {} expired refresh token records", removed);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.servicefinder.security;
+
+import com.servicefinder.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Revoked access token IDs (jti), kept only until the tokens would have expired anyway.
+ *
+ * IDs are grouped into buckets by expiry window. Each bucket has a Bloom filter in
+ * front of an exact set: a token that was never revoked is almost always cleared
+ * by the filter alone, and a filter hit is confirmed against the set, so there are
+ * no false positives. Once a window has passed, every token in it has expired and
+ * the whole bucket is dropped, so memory is bounded by the tokens revoked within
+ * one access-token lifetime.
+ *
+ * The store is per node; a token revoked on one node stays valid on others until
+ * it expires. Short access tokens keep that window small. Refresh tokens live much
+ * longer and are tracked in the database by {@link RefreshTokenLedger} instead.
+ */
+@Component
+public class RevokedTokenStore {
+
+    @Value("${jwt.revocation.bucket-ms:3600000}")
+    private long bucketMillis;
+
+    @Value("${jwt.revocation.expected-per-bucket:4096}")
+    private int expectedPerBucket;
+
+    // Bucket number (expiry / bucketMillis) -> revoked IDs expiring in that window
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    /**
+     * Revoke a token until its expiry. Returns false if it was already revoked.
+     */
+    public boolean revoke(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return true;
+        }
+        return buckets.computeIfAbsent(expiresAt.getTime() / bucketMillis, b -> new Bucket(expectedPerBucket))
+                .add(tokenId);
+    }
+
+    public boolean isRevoked(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return false;
+        }
+        Bucket bucket = buckets.get(expiresAt.getTime() / bucketMillis);
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    /**
+     * Drop buckets whose whole window is in the past
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.bucket-ms:3600000}")
+    public void purgeExpired() {
+        buckets.headMap(System.currentTimeMillis() / bucketMillis).clear();
+    }
+
+    private static class Bucket {
+        final BloomFilter filter;
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        Bucket(int expected) {
+            this.filter = new BloomFilter(expected, 0.01);
+        }
+
+        boolean add(String id) {
+            // Set first, so a filter hit always finds the ID
+            boolean added = ids.add(id);
+            filter.add(id);
+            return added;
+        }
+
+        boolean contains(String id) {
+            return filter.mightContain(id) && ids.contains(id);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.servicefinder.security;
+
+import com.servicefinder.model.User;
+import com.servicefinder.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version per user, so JWTs can be checked without a database hit.
+ *
+ * Only users whose tokens were ever revoked (version above 0) or who are inactive
+ * are held; everyone else is at version 0. A token is accepted only if its "ver"
+ * claim matches, so bumping a user's version (password, role or status change)
+ * revokes every token issued before. Changes made on this node apply at once; a
+ * periodic reload picks up changes made on other nodes or directly in the database.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    // Version for inactive users; never matches a token
+    private static final int INACTIVE = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Map<Long, Integer> versions;
+
+    /**
+     * Whether a token carrying this version is still valid for the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Map<Long, Integer> current = versions;
+        if (current == null) {
+            reload();
+            current = versions;
+        }
+        return current.getOrDefault(userId, 0) == tokenVersion;
+    }
+
+    /**
+     * Bump the user's token version so all tokens issued so far stop working. The
+     * caller saves the user, then calls {@link #update(User)}.
+     */
+    public void revokeTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+
+    /**
+     * Record a saved user's current version and status
+     */
+    public synchronized void update(User user) {
+        if (versions == null) {
+            reload();
+        }
+        if (!Boolean.TRUE.equals(user.getActive())) {
+            versions.put(user.getId(), INACTIVE);
+        } else if (user.getTokenVersion() > 0) {
+            versions.put(user.getId(), user.getTokenVersion());
+        } else {
+            versions.remove(user.getId());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${jwt.token-version-refresh-ms:60000}", fixedDelayString = "${jwt.token-version-refresh-ms:60000}")
+    public synchronized void reload() {
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.findTokenVersionOverrides()) {
+            boolean active = Boolean.TRUE.equals(row[2]);
+            loaded.put((Long) row[0], active ? ((Number) row[1]).intValue() : INACTIVE);
+        }
+        Map<Long, Integer> previous = versions;
+        versions = loaded;
+        if (previous != null && !previous.equals(loaded)) {
+            logger.info("Token versions changed on reload: {} users revoked or inactive", loaded.size());
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.AutocompleteResponse;
+import com.servicefinder.event.ProviderChangedEvent;
+import com.servicefinder.event.ServiceChangedEvent;
+import com.servicefinder.repository.BookingRepository;
+import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.repository.ServiceRepository;
+import com.servicefinder.util.RadixTrie;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead suggestions for the search box over categories, subcategories, service
+ * names and provider business names.
+ *
+ * Each kind has its own {@link RadixTrie}. Every word of a suggestion starts a key,
+ * so "rep" finds "Leak Repair". Tries cache the most popular suggestions per node,
+ * so a lookup costs a few character steps and never touches the database.
+ * Popularity is the number of active services behind a suggestion plus their
+ * bookings (for providers: 1 + total bookings). Service create, update and delete
+ * events and provider profile changes adjust the affected suggestions in place. A
+ * periodic rebuild refreshes booking-based popularity and picks up changes made on
+ * other nodes; service events stamped before the rebuild's read are already in it
+ * and are skipped.
+ */
+@Component
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private enum Kind { CATEGORY, SUBCATEGORY, SERVICE, PROVIDER }
+
+    private static final Comparator<Entry> BY_POPULARITY = Comparator
+            .comparingLong((Entry e) -> e.popularity).reversed()
+            .thenComparing(e -> e.text)
+            .thenComparing(e -> e.id);
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private volatile Index index = new Index(new HashMap<>());
+    // System.nanoTime() when the last rebuild started reading; guarded by this
+    private long readStartedAt = System.nanoTime();
+
+    /**
+     * Suggestions for a partially typed query, grouped by kind
+     */
+    public AutocompleteResponse suggest(String query, int limit) {
+        AutocompleteResponse response = new AutocompleteResponse(query);
+        String prefix = normalize(query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query);
+        if (prefix.isEmpty()) {
+            return response;
+        }
+
+        Index current = index;
+        int n = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        response.setCategories(toSuggestions(current.tries.get(Kind.CATEGORY).search(prefix, n)));
+        response.setSubcategories(toSuggestions(current.tries.get(Kind.SUBCATEGORY).search(prefix, n)));
+        response.setServices(toSuggestions(current.tries.get(Kind.SERVICE).search(prefix, n)));
+        response.setProviders(toSuggestions(current.tries.get(Kind.PROVIDER).search(prefix, n)));
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload every suggestion from the database and swap in the new index
+     */
+    @Scheduled(initialDelayString = "${autocomplete.rebuild-ms:600000}", fixedDelayString = "${autocomplete.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        readStartedAt = started;
+
+        Map<Long, Long> bookings = new HashMap<>();
+        for (Object[] row : bookingRepository.countBookingsPerService()) {
+            bookings.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        Index fresh = new Index(bookings);
+
+        for (Object[] row : serviceProviderRepository.findAutocompleteRows()) {
+            Long providerId = (Long) row[0];
+            int totalBookings = row[2] != null ? ((Number) row[2]).intValue() : 0;
+            fresh.adjust(Kind.PROVIDER, (String) row[1], providerId, 0, 1 + totalBookings);
+        }
+        for (Object[] row : serviceRepository.findActiveAutocompleteRows()) {
+            Long serviceId = (Long) row[0];
+            fresh.addService(serviceId, (Long) row[1], (String) row[2], (String) row[3], (String) row[4], 1);
+        }
+
+        index = fresh;
+        logger.info("Rebuilt autocomplete index: {} suggestions in {} ms", fresh.entries.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        if (event.isCoveredBy(readStartedAt)) {
+            return;
+        }
+        Index current = index;
+        ServiceChangedEvent.Snapshot before = event.getBefore();
+        ServiceChangedEvent.Snapshot after = event.getAfter();
+        if (before != null && before.isActive()) {
+            current.addService(before.getServiceId(), before.getProviderId(), before.getName(),
+                    before.getCategory(), before.getSubcategory(), -1);
+        }
+        if (after != null && after.isActive()) {
+            current.addService(after.getServiceId(), after.getProviderId(), after.getName(),
+                    after.getCategory(), after.getSubcategory(), 1);
+        }
+    }
+
+    @EventListener
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        index.updateProvider(event.getProviderId(), event.getBusinessName(), event.isAvailable());
+    }
+
+    private static List<AutocompleteResponse.Suggestion> toSuggestions(List<Entry> entries) {
+        List<AutocompleteResponse.Suggestion> suggestions = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            suggestions.add(new AutocompleteResponse.Suggestion(entry.text, entry.providerId, entry.serviceCount));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Lowercase, strip accents and collapse punctuation to single spaces
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Trie keys for a suggestion: the normalized text from each word onwards
+     */
+    static Set<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (normalized.charAt(i) == ' ') {
+                keys.add(normalized.substring(i + 1));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * One generation of suggestion tries. Writers are serialized by the service's
+     * monitor; readers only touch the tries, which lock internally.
+     */
+    private static final class Index {
+        final Map<Kind, RadixTrie<Entry>> tries = new EnumMap<>(Kind.class);
+        final Map<String, Entry> entries = new HashMap<>();
+        final Map<Long, Long> bookingsByService;
+
+        Index(Map<Long, Long> bookingsByService) {
+            this.bookingsByService = bookingsByService;
+            for (Kind kind : Kind.values()) {
+                tries.put(kind, new RadixTrie<>(MAX_SUGGESTIONS, BY_POPULARITY));
+            }
+        }
+
+        /**
+         * Add (sign 1) or remove (sign -1) one active service's contribution
+         */
+        void addService(Long serviceId, Long providerId, String name, String category, String subcategory, int sign) {
+            long weight = 1 + bookingsByService.getOrDefault(serviceId, 0L);
+            adjust(Kind.SERVICE, name, null, sign, sign * weight);
+            adjust(Kind.CATEGORY, category, null, sign, sign * weight);
+            adjust(Kind.SUBCATEGORY, subcategory, null, sign, sign * weight);
+            if (providerId != null) {
+                Entry provider = entries.get(Kind.PROVIDER + ":" + providerId);
+                if (provider != null) {
+                    adjust(Kind.PROVIDER, provider.text, providerId, sign, 0);
+                }
+            }
+        }
+
+        /**
+         * Re-key a provider under its current business name, keeping its counts, or
+         * drop it if it is no longer available. A newly listed provider starts with no
+         * services until the next rebuild counts them.
+         */
+        void updateProvider(Long providerId, String businessName, boolean available) {
+            String id = Kind.PROVIDER + ":" + providerId;
+            RadixTrie<Entry> trie = tries.get(Kind.PROVIDER);
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                for (String key : keys(normalize(previous.text))) {
+                    trie.remove(key, previous);
+                }
+            }
+
+            String normalized = normalize(businessName);
+            if (!available || normalized.isEmpty()) {
+                return;
+            }
+            Entry next = previous != null
+                    ? new Entry(id, businessName.trim(), providerId, previous.serviceCount, previous.popularity)
+                    : new Entry(id, businessName.trim(), providerId, 0, 1);
+            entries.put(id, next);
+            for (String key : keys(normalized)) {
+                trie.add(key, next);
+            }
+        }
+
+        void adjust(Kind kind, String text, Long providerId, int serviceDelta, long popularityDelta) {
+            String normalized = normalize(text);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            String id = kind + ":" + (kind == Kind.PROVIDER ? String.valueOf(providerId) : normalized);
+            RadixTrie<Entry> trie = tries.get(kind);
+
+            Entry previous = entries.get(id);
+            int serviceCount = serviceDelta;
+            long popularity = popularityDelta;
+            String display = text.trim();
+            if (previous != null) {
+                for (String key : keys(normalize(previous.text))) {
+                    trie.remove(key, previous);
+                }
+                serviceCount += previous.serviceCount;
+                popularity += previous.popularity;
+                display = previous.text;
+            }
+
+            // Providers stay listed with no services; other suggestions go with their last service
+            if (kind != Kind.PROVIDER && serviceCount <= 0) {
+                entries.remove(id);
+                return;
+            }
+
+            Entry next = new Entry(id, display, providerId, Math.max(0, serviceCount), popularity);
+            entries.put(id, next);
+            for (String key : keys(normalized)) {
+                trie.add(key, next);
+            }
+        }
+    }
+
+    /**
+     * Suggestion stored in the tries; compared by identity, since each id has exactly
+     * one live entry at a time
+     */
+    private static final class Entry {
+        final String id;
+        final String text;
+        final Long providerId;
+        final int serviceCount;
+        final long popularity;
+
+        Entry(String id, String text, Long providerId, int serviceCount, long popularity) {
+            this.id = id;
+            this.text = text;
+            this.providerId = providerId;
+            this.serviceCount = serviceCount;
+            this.popularity = popularity;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.servicefinder.service;
+
+import com.servicefinder.model.Booking;
+import com.servicefinder.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booking conflict detection that accounts for travel between jobs.
+ *
+ * The provider's active bookings around the requested day are loaded in one
+ * query. Each neighbour is then checked in memory: the gap between the two jobs
+ * must cover the drive time between their locations plus a fixed setup time.
+ */
+@Service
+public class BookingConflictService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    @Value("${booking.travel.average-speed-kmh:30}")
+    private double averageSpeedKmh;
+
+    @Value("${booking.travel.setup-minutes:10}")
+    private long setupMinutes;
+
+    // Used when either booking has no coordinates
+    @Value("${booking.travel.default-buffer-minutes:30}")
+    private long defaultBufferMinutes;
+
+    // Longest buffer considered; also how far past the day boundaries bookings are loaded
+    @Value("${booking.travel.max-buffer-minutes:180}")
+    private long maxBufferMinutes;
+
+    /**
+     * Find the provider's bookings that clash with a new job, including travel time
+     * @return conflicting bookings, empty if the slot is free
+     */
+    public List<Conflict> findConflicts(Long providerId, LocalDateTime start, LocalDateTime end,
+                                        Double latitude, Double longitude) {
+        LocalDateTime windowStart = start.toLocalDate().atStartOfDay().minusMinutes(maxBufferMinutes);
+        LocalDateTime windowEnd = end.toLocalDate().plusDays(1).atStartOfDay().plusMinutes(maxBufferMinutes);
+
+        List<Booking> bookings = bookingRepository.findActiveBookingsInWindow(providerId, windowStart, windowEnd);
+        return findConflicts(bookings, start, end, latitude, longitude);
+    }
+
+    /**
+     * In-memory check against an already loaded set of bookings
+     */
+    public List<Conflict> findConflicts(List<Booking> bookings, LocalDateTime start, LocalDateTime end,
+                                        Double latitude, Double longitude) {
+        List<Conflict> conflicts = new ArrayList<>();
+        for (Booking booking : bookings) {
+            LocalDateTime otherStart = booking.getScheduledDateTime();
+            LocalDateTime otherEnd = booking.getEstimatedEndDateTime() != null
+                    ? booking.getEstimatedEndDateTime() : otherStart.plusMinutes(60);
+
+            // Plain time overlap
+            if (otherStart.isBefore(end) && otherEnd.isAfter(start)) {
+                conflicts.add(new Conflict(booking, 0, 0));
+                continue;
+            }
+
+            long buffer = travelBufferMinutes(booking.getCustomerLatitude(), booking.getCustomerLongitude(), latitude, longitude);
+            long gap = otherEnd.isAfter(start)
+                    ? Duration.between(end, otherStart).toMinutes()
+                    : Duration.between(otherEnd, start).toMinutes();
+
+            if (gap < buffer) {
+                conflicts.add(new Conflict(booking, buffer, gap));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Minutes needed between two jobs: drive time at the average speed plus setup
+     */
+    public long travelBufferMinutes(Double fromLat, Double fromLon, Double toLat, Double toLon) {
+        if (!geolocationService.isValidLocation(fromLat, fromLon) || !geolocationService.isValidLocation(toLat, toLon)) {
+            return defaultBufferMinutes;
+        }
+        double distanceKm = geolocationService.calculateDistance(fromLat, fromLon, toLat, toLon);
+        long driveMinutes = (long) Math.ceil(distanceKm / averageSpeedKmh * 60.0);
+        return Math.min(maxBufferMinutes, driveMinutes + setupMinutes);
+    }
+
+    /**
+     * A clashing booking; requiredGapMinutes is 0 for a direct time overlap
+     */
+    public static class Conflict {
+        private final Booking booking;
+        private final long requiredGapMinutes;
+        private final long actualGapMinutes;
+
+        public Conflict(Booking booking, long requiredGapMinutes, long actualGapMinutes) {
+            this.booking = booking;
+            this.requiredGapMinutes = requiredGapMinutes;
+            this.actualGapMinutes = actualGapMinutes;
+        }
+
+        public Booking getBooking() { return booking; }
+        public long getRequiredGapMinutes() { return requiredGapMinutes; }
+        public long getActualGapMinutes() { return actualGapMinutes; }
+
+        public boolean isOverlap() {
+            return requiredGapMinutes == 0;
+        }
+    }
+}
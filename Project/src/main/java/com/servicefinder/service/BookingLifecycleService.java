@@ -0,0 +1,212 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.BulkBookingTransitionResponse;
+import com.servicefinder.event.OutboxService;
+import com.servicefinder.model.Booking;
+import com.servicefinder.model.enums.BookingStatus;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Persists booking changes together with their outbox events so that
+ * downstream work (stats, notifications, indexes) never sees a lost or phantom change.
+ */
+@Service
+public class BookingLifecycleService {
+
+    // Statuses a provider may move a booking from, per target status
+    private static final Map<BookingStatus, List<BookingStatus>> PROVIDER_TRANSITIONS = new EnumMap<>(BookingStatus.class);
+
+    static {
+        PROVIDER_TRANSITIONS.put(BookingStatus.CONFIRMED, Collections.singletonList(BookingStatus.PENDING));
+        PROVIDER_TRANSITIONS.put(BookingStatus.IN_PROGRESS, Collections.singletonList(BookingStatus.CONFIRMED));
+        PROVIDER_TRANSITIONS.put(BookingStatus.COMPLETED, Collections.singletonList(BookingStatus.IN_PROGRESS));
+        PROVIDER_TRANSITIONS.put(BookingStatus.CANCELLED,
+            Arrays.asList(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.IN_PROGRESS));
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Save a booking and record the matching lifecycle event in the same transaction
+     * @param previousStatus status before the change, or null for a new booking
+     */
+    @Transactional
+    public Booking save(Booking booking, BookingStatus previousStatus) {
+        Booking saved = bookingRepository.save(booking);
+
+        DomainEventType type = resolveEventType(previousStatus, saved.getStatus());
+        if (type != null) {
+            outboxService.append(OutboxService.BOOKING_AGGREGATE, saved.getId(), type, buildPayload(saved, previousStatus));
+        }
+        return saved;
+    }
+
+    /**
+     * Cancel the given bookings that are still PENDING and scheduled before the cutoff.
+     * Rows are locked first so that concurrent expiry runs on other nodes cannot emit
+     * duplicate events, then updated in one statement.
+     * @return number of bookings expired
+     */
+    @Transactional
+    public int expirePending(List<Long> bookingIds, LocalDateTime cutoff) {
+        List<Booking> stale = bookingRepository.lockExpirablePending(bookingIds, cutoff);
+        if (stale.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> staleIds = stale.stream().map(Booking::getId).collect(Collectors.toList());
+        int expired = bookingRepository.expirePending(staleIds, "Expired: not confirmed before the scheduled time", LocalDateTime.now());
+
+        for (Booking booking : stale) {
+            Map<String, Object> payload = buildPayload(booking, BookingStatus.PENDING);
+            payload.put("status", BookingStatus.CANCELLED);
+            payload.put("cancelledBy", "system");
+            outboxService.append(OutboxService.BOOKING_AGGREGATE, booking.getId(), DomainEventType.BOOKING_CANCELLED, payload);
+        }
+        return expired;
+    }
+
+    /**
+     * Mark reminders as sent for CONFIRMED bookings that have not had one yet
+     * and emit a reminder event for each.
+     * @param latest only bookings scheduled at or before this time are reminded
+     * @return number of reminders emitted
+     */
+    @Transactional
+    public int sendReminders(List<Long> bookingIds, LocalDateTime latest) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> due = bookingRepository.lockRemindable(bookingIds, now, latest);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        bookingRepository.markReminderSent(due.stream().map(Booking::getId).collect(Collectors.toList()), now);
+        for (Booking booking : due) {
+            outboxService.append(OutboxService.BOOKING_AGGREGATE, booking.getId(), DomainEventType.BOOKING_REMINDER_DUE,
+                buildPayload(booking, booking.getStatus()));
+        }
+        return due.size();
+    }
+
+    /**
+     * Apply one provider transition to many bookings with a single UPDATE.
+     * Bookings that do not exist, belong to another provider or are in the wrong
+     * status are reported as failures and left untouched.
+     */
+    @Transactional
+    public BulkBookingTransitionResponse bulkTransition(Long providerId, List<Long> bookingIds,
+                                                        BookingStatus target, String cancellationReason) {
+        BulkBookingTransitionResponse response = new BulkBookingTransitionResponse(target);
+        List<BookingStatus> fromStatuses = PROVIDER_TRANSITIONS.get(target);
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+
+        if (fromStatuses == null) {
+            requested.forEach(id -> response.addResult(id, false, "Providers cannot move bookings to " + target));
+            return response;
+        }
+
+        Map<Long, Booking> owned = bookingRepository.lockProviderBookings(requested, providerId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<Booking> eligible = new ArrayList<>();
+        Map<Long, String> rejected = new HashMap<>();
+        for (Long id : requested) {
+            Booking booking = owned.get(id);
+            if (booking == null) {
+                rejected.put(id, "Booking not found");
+            } else if (!fromStatuses.contains(booking.getStatus())) {
+                rejected.put(id, "Invalid status transition from " + booking.getStatus() + " to " + target);
+            } else {
+                eligible.add(booking);
+            }
+        }
+
+        if (!eligible.isEmpty()) {
+            List<Long> ids = eligible.stream().map(Booking::getId).collect(Collectors.toList());
+            LocalDateTime now = LocalDateTime.now();
+            switch (target) {
+                case IN_PROGRESS:
+                    bookingRepository.bulkStart(ids, fromStatuses, target, now);
+                    break;
+                case COMPLETED:
+                    bookingRepository.bulkComplete(ids, fromStatuses, target, now);
+                    break;
+                case CANCELLED:
+                    bookingRepository.bulkCancel(ids, fromStatuses, target, "provider", cancellationReason, now);
+                    break;
+                default:
+                    bookingRepository.bulkUpdateStatus(ids, fromStatuses, target, now);
+            }
+
+            for (Booking booking : eligible) {
+                Map<String, Object> payload = buildPayload(booking, booking.getStatus());
+                payload.put("status", target);
+                outboxService.append(OutboxService.BOOKING_AGGREGATE, booking.getId(),
+                    resolveEventType(booking.getStatus(), target), payload);
+            }
+        }
+
+        for (Long id : requested) {
+            String reason = rejected.get(id);
+            response.addResult(id, reason == null, reason == null ? "Booking moved to " + target : reason);
+        }
+        return response;
+    }
+
+    /**
+     * Map a status change to its event type; null when the status did not change
+     */
+    public static DomainEventType resolveEventType(BookingStatus previousStatus, BookingStatus newStatus) {
+        if (previousStatus == null) {
+            return DomainEventType.BOOKING_CREATED;
+        }
+        if (previousStatus == newStatus) {
+            return null;
+        }
+        switch (newStatus) {
+            case CONFIRMED:
+                return DomainEventType.BOOKING_CONFIRMED;
+            case IN_PROGRESS:
+                return DomainEventType.BOOKING_STARTED;
+            case COMPLETED:
+                return DomainEventType.BOOKING_COMPLETED;
+            case CANCELLED:
+                return DomainEventType.BOOKING_CANCELLED;
+            default:
+                return null;
+        }
+    }
+
+    public static Map<String, Object> buildPayload(Booking booking, BookingStatus previousStatus) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("providerId", booking.getServiceProvider().getId());
+        payload.put("customerId", booking.getCustomer().getId());
+        payload.put("serviceId", booking.getService().getId());
+        payload.put("status", booking.getStatus());
+        payload.put("previousStatus", previousStatus);
+        payload.put("scheduledDateTime", booking.getScheduledDateTime() != null ? booking.getScheduledDateTime().toString() : null);
+        payload.put("totalPrice", booking.getTotalPrice());
+        return payload;
+    }
+}
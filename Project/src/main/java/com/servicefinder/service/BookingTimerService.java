@@ -0,0 +1,190 @@
+package com.servicefinder.service;
+
+import com.servicefinder.event.DomainEvent;
+import com.servicefinder.event.DomainEventSubscriber;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.BookingRepository;
+import com.servicefinder.util.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Drives booking auto-expiry and reminders from an in-memory timing wheel.
+ *
+ * Timers for the next window are bulk-loaded from the database with one query
+ * per kind, and new or confirmed bookings add their timer from the outbox event.
+ * When timers fire, the affected bookings are handled in bounded batches by
+ * conditional bulk updates, so it is safe for every node to run this.
+ */
+@Component
+public class BookingTimerService implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingTimerService.class);
+
+    private enum Kind { EXPIRE, REMIND }
+
+    private static final class Timer {
+        final Kind kind;
+        final Long bookingId;
+
+        Timer(Kind kind, Long bookingId) {
+            this.kind = kind;
+            this.bookingId = bookingId;
+        }
+
+        String key() {
+            return kind + ":" + bookingId;
+        }
+    }
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingLifecycleService bookingLifecycleService;
+
+    @Value("${booking.expiry.grace-minutes:15}")
+    private long expiryGraceMinutes;
+
+    @Value("${booking.reminder.lead-minutes:1440}")
+    private long reminderLeadMinutes;
+
+    @Value("${booking.timers.window-minutes:360}")
+    private long windowMinutes;
+
+    @Value("${booking.timers.batch-size:200}")
+    private int batchSize;
+
+    private HierarchicalTimingWheel<Timer> wheel;
+
+    // Timers currently in the wheel, so reloading a window does not add duplicates
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+
+    // End of the latest window loaded from the database
+    private volatile LocalDateTime loadedUntil;
+
+    @PostConstruct
+    public void init() {
+        // 1s ticks, 4 levels of 64 slots: ~8.5 years before falling into overflow
+        wheel = new HierarchicalTimingWheel<>(1000, 64, 4, System.currentTimeMillis());
+    }
+
+    /**
+     * Load timers firing within the next window. The reload interval should be well
+     * under the window length so windows overlap and a slow run never leaves a gap.
+     */
+    @Scheduled(fixedDelayString = "${booking.timers.reload-ms:1800000}", initialDelay = 10000)
+    public void loadWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plusMinutes(windowMinutes);
+
+        // Expire at scheduledDateTime + grace; includes bookings that are already stale
+        int expiries = 0;
+        for (Object[] row : bookingRepository.findPendingTimersBefore(until.minusMinutes(expiryGraceMinutes))) {
+            if (add(Kind.EXPIRE, (Long) row[0], ((LocalDateTime) row[1]).plusMinutes(expiryGraceMinutes))) {
+                expiries++;
+            }
+        }
+
+        // Remind at scheduledDateTime - lead, for bookings that have not started yet
+        int reminders = 0;
+        for (Object[] row : bookingRepository.findReminderTimersBetween(now, until.plusMinutes(reminderLeadMinutes))) {
+            if (add(Kind.REMIND, (Long) row[0], ((LocalDateTime) row[1]).minusMinutes(reminderLeadMinutes))) {
+                reminders++;
+            }
+        }
+
+        loadedUntil = until;
+        logger.debug("Loaded {} expiry and {} reminder timers up to {}", expiries, reminders, until);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.timers.tick-ms:1000}", initialDelay = 15000)
+    public void tick() {
+        List<Timer> fired = wheel.advance(System.currentTimeMillis());
+        if (fired.isEmpty()) {
+            return;
+        }
+
+        List<Long> expire = new ArrayList<>();
+        List<Long> remind = new ArrayList<>();
+        for (Timer timer : fired) {
+            scheduled.remove(timer.key());
+            (timer.kind == Kind.EXPIRE ? expire : remind).add(timer.bookingId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(expiryGraceMinutes);
+        LocalDateTime remindUpTo = now.plusMinutes(reminderLeadMinutes);
+        int expired = 0;
+        for (List<Long> batch : partition(expire)) {
+            expired += bookingLifecycleService.expirePending(batch, cutoff);
+        }
+        int reminded = 0;
+        for (List<Long> batch : partition(remind)) {
+            reminded += bookingLifecycleService.sendReminders(batch, remindUpTo);
+        }
+
+        if (expired > 0 || reminded > 0) {
+            logger.info("Expired {} pending bookings, sent {} reminders", expired, reminded);
+        }
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.BOOKING_CREATED || type == DomainEventType.BOOKING_CONFIRMED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        LocalDateTime scheduledAt = event.getDateTime("scheduledDateTime");
+        if (scheduledAt == null || loadedUntil == null) {
+            return;
+        }
+
+        // Anything beyond the loaded window is picked up by a later window load
+        if (event.getType() == DomainEventType.BOOKING_CREATED) {
+            LocalDateTime fireAt = scheduledAt.plusMinutes(expiryGraceMinutes);
+            if (fireAt.isBefore(loadedUntil)) {
+                add(Kind.EXPIRE, event.getAggregateId(), fireAt);
+            }
+        } else {
+            LocalDateTime fireAt = scheduledAt.minusMinutes(reminderLeadMinutes);
+            if (fireAt.isBefore(loadedUntil)) {
+                add(Kind.REMIND, event.getAggregateId(), fireAt);
+            }
+        }
+    }
+
+    public int getPendingTimerCount() {
+        return wheel.size();
+    }
+
+    private boolean add(Kind kind, Long bookingId, LocalDateTime fireAt) {
+        Timer timer = new Timer(kind, bookingId);
+        if (!scheduled.add(timer.key())) {
+            return false;
+        }
+        wheel.schedule(timer, fireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        return true;
+    }
+
+    private List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,391 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.FuzzySearchResponse;
+import com.servicefinder.dto.ServiceResponse;
+import com.servicefinder.event.ProviderChangedEvent;
+import com.servicefinder.event.ServiceChangedEvent;
+import com.servicefinder.model.Service;
+import com.servicefinder.model.ServiceProvider;
+import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.repository.ServiceRepository;
+import com.servicefinder.util.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Typo-tolerant search over service names, categories, subcategories and provider
+ * business names, so "plumbr" still finds plumbing services.
+ *
+ * Every distinct word is kept in a {@link TrigramIndex}; each query word is matched
+ * against it within an edit distance that grows with word length (none up to 2
+ * characters, 1 up to 5, otherwise 2). Matching words map to the documents that
+ * contain them, and a document must match every query word of 3+ characters. Score
+ * is the sum over query words of field weight times closeness of the best match.
+ * Service and provider change events update the index in place; a periodic rebuild
+ * picks up changes made on other nodes.
+ */
+@Component
+public class FuzzySearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FuzzySearchService.class);
+
+    public static final int MAX_RESULTS = 50;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_QUERY_WORDS = 6;
+    private static final int MAX_TERMS_PER_WORD = 50;
+
+    private static final double NAME_WEIGHT = 1.0;
+    private static final double SUBCATEGORY_WEIGHT = 0.8;
+    private static final double CATEGORY_WEIGHT = 0.6;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    private volatile Index index = new Index();
+
+    /**
+     * Best matching active services and available providers for a free-text query
+     */
+    public FuzzySearchResponse search(String query, int limit) {
+        FuzzySearchResponse response = new FuzzySearchResponse(query);
+        List<String> words = queryWords(query);
+        if (words.isEmpty()) {
+            return response;
+        }
+
+        Index current = index;
+        int n = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<Hit> serviceHits = current.services.search(words, n);
+        List<Hit> providerHits = current.providers.search(words, n);
+
+        if (!serviceHits.isEmpty()) {
+            Map<Long, Service> byId = serviceRepository.findByIdIn(ids(serviceHits)).stream()
+                    .collect(Collectors.toMap(Service::getId, Function.identity()));
+            for (Hit hit : serviceHits) {
+                Service service = byId.get(hit.id);
+                if (service != null && Boolean.TRUE.equals(service.getActive())) {
+                    response.getServices().add(new ServiceResponse(service));
+                }
+            }
+        }
+        if (!providerHits.isEmpty()) {
+            Map<Long, ServiceProvider> byId = serviceProviderRepository.findAllById(ids(providerHits)).stream()
+                    .collect(Collectors.toMap(ServiceProvider::getId, Function.identity()));
+            for (Hit hit : providerHits) {
+                ServiceProvider provider = byId.get(hit.id);
+                if (provider != null && Boolean.TRUE.equals(provider.getAvailable())) {
+                    response.getProviders().add(new FuzzySearchResponse.ProviderHit(provider.getId(),
+                            provider.getBusinessName(), provider.getAverageRating(), provider.getTotalRatings(), hit.score));
+                }
+            }
+        }
+
+        String corrected = current.correct(words);
+        if (!corrected.equals(String.join(" ", words))) {
+            response.setCorrectedQuery(corrected);
+        }
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload every document from the database and swap in the new index
+     */
+    @Scheduled(initialDelayString = "${fuzzy-search.rebuild-ms:600000}", fixedDelayString = "${fuzzy-search.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        Index fresh = new Index();
+        for (Object[] row : serviceRepository.findActiveAutocompleteRows()) {
+            fresh.services.put((Long) row[0], serviceFields((String) row[2], (String) row[3], (String) row[4]));
+        }
+        for (Object[] row : serviceProviderRepository.findAutocompleteRows()) {
+            fresh.providers.put((Long) row[0], providerFields((String) row[1]));
+        }
+        index = fresh;
+        logger.info("Rebuilt fuzzy search index: {} services, {} providers in {} ms", fresh.services.size(),
+                fresh.providers.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        Index current = index;
+        if (event.getBefore() != null) {
+            current.services.remove(event.getBefore().getServiceId());
+        }
+        ServiceChangedEvent.Snapshot after = event.getAfter();
+        if (after != null && after.isActive()) {
+            current.services.put(after.getServiceId(),
+                    serviceFields(after.getName(), after.getCategory(), after.getSubcategory()));
+        }
+    }
+
+    @EventListener
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        Index current = index;
+        current.providers.remove(event.getProviderId());
+        if (event.isAvailable()) {
+            current.providers.put(event.getProviderId(), providerFields(event.getBusinessName()));
+        }
+    }
+
+    private static Map<String, Double> serviceFields(String name, String category, String subcategory) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, category, CATEGORY_WEIGHT);
+        addTerms(terms, subcategory, SUBCATEGORY_WEIGHT);
+        addTerms(terms, name, NAME_WEIGHT);
+        return terms;
+    }
+
+    private static Map<String, Double> providerFields(String businessName) {
+        Map<String, Double> terms = new HashMap<>();
+        addTerms(terms, businessName, NAME_WEIGHT);
+        return terms;
+    }
+
+    // A term found in several fields keeps its highest field weight
+    private static void addTerms(Map<String, Double> terms, String text, double weight) {
+        for (String word : AutocompleteService.normalize(text).split(" ")) {
+            if (!word.isEmpty()) {
+                terms.merge(word, weight, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Distinct normalized query words; words under 3 characters are dropped unless
+     * nothing else is left
+     */
+    private static List<String> queryWords(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        String text = AutocompleteService.normalize(query.length() > MAX_QUERY_LENGTH ? query.substring(0, MAX_QUERY_LENGTH) : query);
+        Set<String> all = new LinkedHashSet<>();
+        Set<String> significant = new LinkedHashSet<>();
+        for (String word : text.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            all.add(word);
+            if (word.length() >= 3) {
+                significant.add(word);
+            }
+        }
+        List<String> words = new ArrayList<>(significant.isEmpty() ? all : significant);
+        return words.size() > MAX_QUERY_WORDS ? words.subList(0, MAX_QUERY_WORDS) : words;
+    }
+
+    static int maxDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    private static List<Long> ids(List<Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ids.add(hit.id);
+        }
+        return ids;
+    }
+
+    /**
+     * One generation of the service and provider corpora
+     */
+    private static final class Index {
+        final Corpus services = new Corpus();
+        final Corpus providers = new Corpus();
+
+        /**
+         * Each query word replaced by its closest, most widely used term across both corpora
+         */
+        String correct(List<String> words) {
+            List<String> corrected = new ArrayList<>(words.size());
+            for (String word : words) {
+                Correction best = services.closest(word);
+                Correction other = providers.closest(word);
+                if (best == null || (other != null && other.isBetterThan(best))) {
+                    best = other;
+                }
+                corrected.add(best != null ? best.term : word);
+            }
+            return String.join(" ", corrected);
+        }
+    }
+
+    /**
+     * Documents of one kind with their weighted terms, plus the trigram vocabulary over
+     * those terms. Lookups take a read lock, updates a write lock.
+     */
+    private static final class Corpus {
+        private final TrigramIndex vocabulary = new TrigramIndex();
+        private final Map<Long, Map<String, Double>> documents = new HashMap<>();
+        private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void put(Long id, Map<String, Double> terms) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(id);
+                documents.put(id, terms);
+                for (Map.Entry<String, Double> term : terms.entrySet()) {
+                    postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(id, term.getValue());
+                    vocabulary.add(term.getKey());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long id) {
+            Map<String, Double> terms = documents.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms.keySet()) {
+                Map<Long, Double> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+                vocabulary.remove(term);
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return documents.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Hit> search(List<String> words, int limit) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = null;
+                for (String word : words) {
+                    // Best score this word reaches in each document
+                    Map<Long, Double> wordScores = new HashMap<>();
+                    for (TrigramIndex.Match match : vocabulary.search(word, maxDistance(word), MAX_TERMS_PER_WORD)) {
+                        double closeness = 1.0 - (double) match.getDistance() / (word.length() + 1);
+                        Map<Long, Double> posting = postings.get(match.getTerm());
+                        if (posting == null) {
+                            continue;
+                        }
+                        for (Map.Entry<Long, Double> doc : posting.entrySet()) {
+                            if (scores == null || scores.containsKey(doc.getKey())) {
+                                wordScores.merge(doc.getKey(), closeness * doc.getValue(), Math::max);
+                            }
+                        }
+                    }
+
+                    if (scores == null) {
+                        scores = wordScores;
+                    } else {
+                        // Keep only documents matching every word so far
+                        Map<Long, Double> combined = new HashMap<>();
+                        for (Map.Entry<Long, Double> doc : wordScores.entrySet()) {
+                            combined.put(doc.getKey(), scores.get(doc.getKey()) + doc.getValue());
+                        }
+                        scores = combined;
+                    }
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+
+                List<Hit> hits = new ArrayList<>(scores.size());
+                for (Map.Entry<Long, Double> doc : scores.entrySet()) {
+                    hits.add(new Hit(doc.getKey(), doc.getValue() / words.size()));
+                }
+                hits.sort(Comparator.comparingDouble((Hit h) -> h.score).reversed().thenComparing(h -> h.id));
+                return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Correction closest(String word) {
+            lock.readLock().lock();
+            try {
+                Correction best = null;
+                for (TrigramIndex.Match match : vocabulary.search(word, maxDistance(word), MAX_TERMS_PER_WORD)) {
+                    Correction candidate = new Correction(match.getTerm(), match.getDistance(),
+                            postings.getOrDefault(match.getTerm(), Map.of()).size());
+                    if (best == null || candidate.isBetterThan(best)) {
+                        best = candidate;
+                    }
+                }
+                return best;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private static final class Hit {
+        final Long id;
+        final double score;
+
+        Hit(Long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    private static final class Correction {
+        final String term;
+        final int distance;
+        final int documents;
+
+        Correction(String term, int distance, int documents) {
+            this.term = term;
+            this.distance = distance;
+            this.documents = documents;
+        }
+
+        boolean isBetterThan(Correction other) {
+            if (distance != other.distance) {
+                return distance < other.distance;
+            }
+            return documents > other.documents;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.servicefinder.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for "helpful" votes on reviews.
+ *
+ * Votes are added to a per-rating {@link LongAdder} without any locking or DB access.
+ * A scheduled flush moves the accumulated deltas to the database in one JDBC batch of
+ * {@code helpful_count = helpful_count + ?} updates, so concurrent votes are never lost.
+ * The batch commits as a whole, so a failed flush can put all its deltas back.
+ * Reads add the pending delta to the stored value.
+ */
+@Service
+public class HelpfulVoteCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HelpfulVoteCounter.class);
+
+    private static final String FLUSH_SQL = "UPDATE ratings SET helpful_count = COALESCE(helpful_count, 0) + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Deltas taken out of the adders whose batch has not committed yet
+    private final ConcurrentHashMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    // Adders dropped from the map on the last flush; a voter may still hold a reference
+    private Map<Long, LongAdder> retired = new HashMap<>();
+
+    public void increment(Long ratingId) {
+        pending.computeIfAbsent(ratingId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Current count: the stored value plus votes not yet flushed
+     */
+    public int currentValue(Long ratingId, Integer storedValue) {
+        long value = storedValue != null ? storedValue : 0;
+        LongAdder adder = pending.get(ratingId);
+        if (adder != null) {
+            value += adder.sum();
+        }
+        value += inFlight.getOrDefault(ratingId, 0L);
+        return (int) value;
+    }
+
+    @Scheduled(fixedDelayString = "${ratings.helpful.flush-ms:500}")
+    public synchronized void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+
+        // Late increments on adders retired last round
+        for (Map.Entry<Long, LongAdder> entry : retired.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+        Map<Long, LongAdder> nowRetired = new HashMap<>();
+
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            // sumThenReset never drops a concurrent increment: it is either returned or stays in the adder
+            long delta = entry.getValue().sumThenReset();
+            if (delta != 0) {
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            } else if (pending.remove(entry.getKey(), entry.getValue())) {
+                // Idle since the last flush; keep it one more round for in-progress increments
+                nowRetired.put(entry.getKey(), entry.getValue());
+            }
+        }
+        retired = nowRetired;
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        deltas.forEach((id, delta) -> inFlight.merge(id, delta, Long::sum));
+        List<Object[]> batch = new ArrayList<>(deltas.size());
+        deltas.forEach((id, delta) -> batch.add(new Object[]{delta, id}));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (Exception e) {
+            // The batch rolled back: put the votes back so the next flush retries them
+            deltas.forEach((id, delta) -> pending.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            logger.warn("Failed to flush {} helpful vote counters, will retry: {}", deltas.size(), e.getMessage());
+        } finally {
+            deltas.forEach((id, delta) -> inFlight.computeIfPresent(id, (k, v) -> v - delta == 0 ? null : v - delta));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Second pass drains adders retired by the first
+        flush();
+        flush();
+    }
+}
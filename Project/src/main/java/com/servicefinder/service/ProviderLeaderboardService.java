@@ -0,0 +1,409 @@
+package com.servicefinder.service;
+
+import com.servicefinder.event.DomainEvent;
+import com.servicefinder.event.DomainEventSubscriber;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.ProviderRatingStatsRepository;
+import com.servicefinder.repository.ProviderStatsRepository;
+import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.repository.ServiceRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory top-provider leaderboards, overall and per category, city and
+ * category+city, ranked by a Bayesian-adjusted rating or by booking volume.
+ *
+ * Each board keeps its providers in two concurrent skip lists (one per ranking),
+ * so a top-N read walks N nodes and never touches the database. Providers are
+ * re-read from the denormalized summary columns when their rating or booking
+ * events arrive, and every node also polls the stats tables for recently changed
+ * providers, since outbox events are only delivered on the node holding the
+ * dispatcher lease. A periodic full rebuild picks up catalog changes (categories,
+ * cities, availability) and refreshes the prior used for the Bayesian score.
+ */
+@Component
+public class ProviderLeaderboardService implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderLeaderboardService.class);
+
+    private static final Set<DomainEventType> EVENTS = EnumSet.of(
+            DomainEventType.BOOKING_CREATED,
+            DomainEventType.RATING_CREATED,
+            DomainEventType.RATING_UPDATED,
+            DomainEventType.RATING_DELETED);
+
+    private static final String ALL = "*";
+    private static final int LOAD_CHUNK_SIZE = 500;
+    // Re-read a little before the last poll so commits from nodes with slightly skewed clocks are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    public enum Ranking { RATING, BOOKINGS }
+
+    private static final Comparator<Entry> BY_RATING = Comparator
+            .comparingDouble(Entry::getScore).reversed()
+            .thenComparing(Comparator.comparingInt(Entry::getTotalBookings).reversed())
+            .thenComparingLong(Entry::getProviderId);
+
+    private static final Comparator<Entry> BY_BOOKINGS = Comparator
+            .comparingInt(Entry::getTotalBookings).reversed()
+            .thenComparing(Comparator.comparingDouble(Entry::getScore).reversed())
+            .thenComparingLong(Entry::getProviderId);
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ProviderRatingStatsRepository providerRatingStatsRepository;
+
+    @Autowired
+    private ProviderStatsRepository providerStatsRepository;
+
+    // Weight of the prior, in "virtual ratings" at the platform-wide mean
+    @Value("${leaderboard.prior-weight:5}")
+    private double priorWeight;
+
+    // Prior mean used until the first rebuild has seen any ratings
+    @Value("${leaderboard.default-prior-mean:3.5}")
+    private double defaultPriorMean;
+
+    @Value("${leaderboard.max-limit:100}")
+    private int maxLimit;
+
+    private volatile State state;
+    private volatile LocalDateTime lastPoll;
+
+    @PostConstruct
+    public void init() {
+        // Empty until the first rebuild, with the same prior a rebuild falls back to
+        state = new State(defaultPriorMean);
+    }
+
+    /**
+     * Top providers for a board
+     * @param category service category, or null for all categories
+     * @param city city, or null for all cities
+     */
+    public List<Entry> top(String category, String city, Ranking ranking, int limit) {
+        Board board = state.boards.get(boardKey(normalize(category), normalize(city)));
+        if (board == null) {
+            return Collections.emptyList();
+        }
+
+        int n = Math.max(1, Math.min(limit, maxLimit));
+        List<Entry> result = new ArrayList<>(n);
+        Set<Long> seen = new HashSet<>();
+        Iterator<Entry> it = (ranking == Ranking.BOOKINGS ? board.byBookings : board.byRating).iterator();
+        while (it.hasNext() && result.size() < n) {
+            Entry entry = it.next();
+            // An update inserts the new entry before removing the old one; skip the brief duplicate
+            if (seen.add(entry.getProviderId())) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return EVENTS.contains(type);
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        Long providerId = event.getLong("providerId");
+        if (providerId != null) {
+            refresh(Collections.singletonList(providerId));
+        }
+    }
+
+    /**
+     * Rebuild once startup runners (e.g. seed data) have finished; an earlier first
+     * poll may have loaded an empty catalog
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${leaderboard.poll-ms:5000}")
+    public void poll() {
+        if (lastPoll == null) {
+            rebuild();
+            return;
+        }
+
+        LocalDateTime started = LocalDateTime.now();
+        LocalDateTime since = lastPoll.minus(POLL_OVERLAP);
+        Set<Long> changed = new LinkedHashSet<>(providerRatingStatsRepository.findProviderIdsUpdatedSince(since));
+        changed.addAll(providerStatsRepository.findProviderIdsUpdatedSince(since));
+
+        List<Long> ids = new ArrayList<>(changed);
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            refresh(ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK_SIZE)));
+        }
+        lastPoll = started;
+    }
+
+    /**
+     * Rebuild every board from the database and swap it in. Updates applied to the
+     * old boards while this runs are picked up again by the next poll.
+     */
+    @Scheduled(initialDelayString = "${leaderboard.rebuild-ms:900000}", fixedDelayString = "${leaderboard.rebuild-ms:900000}")
+    public synchronized void rebuild() {
+        long startedNanos = System.nanoTime();
+        LocalDateTime started = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Object[]> chunk = serviceProviderRepository.findLeaderboardRowsAfter(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            rows.addAll(chunk);
+            if (chunk.size() < LOAD_CHUNK_SIZE) {
+                break;
+            }
+            afterId = (Long) chunk.get(chunk.size() - 1)[0];
+        }
+
+        // Platform-wide mean rating, held fixed until the next rebuild so scores stay comparable
+        double weightedSum = 0;
+        long ratingCount = 0;
+        for (Object[] row : rows) {
+            int count = intValue(row[5]);
+            if (row[4] != null && count > 0) {
+                weightedSum += ((BigDecimal) row[4]).doubleValue() * count;
+                ratingCount += count;
+            }
+        }
+
+        State fresh = new State(ratingCount > 0 ? weightedSum / ratingCount : defaultPriorMean);
+        for (int from = 0; from < rows.size(); from += LOAD_CHUNK_SIZE) {
+            apply(fresh, rows.subList(from, Math.min(rows.size(), from + LOAD_CHUNK_SIZE)));
+        }
+        state = fresh;
+        lastPoll = started;
+
+        logger.info("Rebuilt provider leaderboards: {} providers, {} boards, prior mean {} in {} ms",
+                fresh.entries.size(), fresh.boards.size(), String.format(Locale.ROOT, "%.2f", fresh.priorMean),
+                (System.nanoTime() - startedNanos) / 1_000_000);
+    }
+
+    private void refresh(Collection<Long> providerIds) {
+        State current = state;
+        List<Object[]> rows = serviceProviderRepository.findLeaderboardRows(providerIds);
+        apply(current, rows);
+
+        // Providers that no longer exist
+        Set<Long> found = new HashSet<>();
+        for (Object[] row : rows) {
+            found.add((Long) row[0]);
+        }
+        for (Long providerId : providerIds) {
+            if (!found.contains(providerId)) {
+                current.put(providerId, null);
+            }
+        }
+    }
+
+    private void apply(State target, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        Map<Long, Set<String>> categories = new HashMap<>();
+        Map<Long, Set<String>> cities = new HashMap<>();
+        for (Object[] row : serviceRepository.findActiveCategoriesAndCities(ids)) {
+            Long providerId = (Long) row[0];
+            addIfPresent(categories, providerId, normalize((String) row[1]));
+            addIfPresent(cities, providerId, normalize((String) row[2]));
+        }
+
+        for (Object[] row : rows) {
+            Long providerId = (Long) row[0];
+            if (!Boolean.TRUE.equals(row[2])) {
+                target.put(providerId, null);
+                continue;
+            }
+
+            Set<String> providerCities = cities.computeIfAbsent(providerId, id -> new HashSet<>());
+            String homeCity = normalize((String) row[3]);
+            if (homeCity != null) {
+                providerCities.add(homeCity);
+            }
+
+            BigDecimal average = row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO;
+            int totalRatings = intValue(row[5]);
+            double score = (priorWeight * target.priorMean + average.doubleValue() * totalRatings)
+                    / (priorWeight + totalRatings);
+
+            target.put(providerId, new Entry(providerId, (String) row[1], (String) row[3], average, totalRatings,
+                    intValue(row[6]), score,
+                    categories.getOrDefault(providerId, Collections.emptySet()), providerCities));
+        }
+    }
+
+    private static void addIfPresent(Map<Long, Set<String>> map, Long providerId, String value) {
+        if (value != null) {
+            map.computeIfAbsent(providerId, id -> new HashSet<>()).add(value);
+        }
+    }
+
+    private static int intValue(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    static String boardKey(String category, String city) {
+        return (category != null ? category : ALL) + "|" + (city != null ? city : ALL);
+    }
+
+    /**
+     * One generation of boards. Updates for a provider are serialized by the
+     * entries map, so its old and new positions are always swapped consistently.
+     */
+    private static final class State {
+        final double priorMean;
+        final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, Board> boards = new ConcurrentHashMap<>();
+
+        State(double priorMean) {
+            this.priorMean = priorMean;
+        }
+
+        void put(Long providerId, Entry next) {
+            entries.compute(providerId, (id, previous) -> {
+                Set<String> nextKeys = next != null ? next.boardKeys() : Collections.emptySet();
+                for (String key : nextKeys) {
+                    boards.computeIfAbsent(key, k -> new Board()).add(next);
+                }
+                if (previous != null) {
+                    for (String key : previous.boardKeys()) {
+                        Board board = boards.get(key);
+                        if (board != null) {
+                            board.replace(previous, nextKeys.contains(key) ? next : null);
+                        }
+                    }
+                }
+                return next;
+            });
+        }
+    }
+
+    private static final class Board {
+        final ConcurrentSkipListSet<Entry> byRating = new ConcurrentSkipListSet<>(BY_RATING);
+        final ConcurrentSkipListSet<Entry> byBookings = new ConcurrentSkipListSet<>(BY_BOOKINGS);
+
+        void add(Entry entry) {
+            byRating.add(entry);
+            byBookings.add(entry);
+        }
+
+        /**
+         * Drop the previous entry once its successor (if any) has been added. When the
+         * ranking position is unchanged the add was a no-op, so swap the two in place.
+         */
+        void replace(Entry previous, Entry next) {
+            replace(byRating, previous, next);
+            replace(byBookings, previous, next);
+        }
+
+        private static void replace(ConcurrentSkipListSet<Entry> ranking, Entry previous, Entry next) {
+            ranking.remove(previous);
+            if (next != null && ranking.comparator().compare(previous, next) == 0) {
+                ranking.add(next);
+            }
+        }
+    }
+
+    /**
+     * Immutable leaderboard snapshot of one provider
+     */
+    public static final class Entry {
+        private final long providerId;
+        private final String businessName;
+        private final String city;
+        private final BigDecimal averageRating;
+        private final int totalRatings;
+        private final int totalBookings;
+        private final double score;
+        private final Set<String> categories;
+        private final Set<String> cities;
+
+        Entry(long providerId, String businessName, String city, BigDecimal averageRating, int totalRatings,
+              int totalBookings, double score, Set<String> categories, Set<String> cities) {
+            this.providerId = providerId;
+            this.businessName = businessName;
+            this.city = city;
+            this.averageRating = averageRating;
+            this.totalRatings = totalRatings;
+            this.totalBookings = totalBookings;
+            this.score = score;
+            this.categories = categories;
+            this.cities = cities;
+        }
+
+        Set<String> boardKeys() {
+            Set<String> keys = new LinkedHashSet<>();
+            keys.add(boardKey(null, null));
+            for (String category : categories) {
+                keys.add(boardKey(category, null));
+            }
+            for (String c : cities) {
+                keys.add(boardKey(null, c));
+                for (String category : categories) {
+                    keys.add(boardKey(category, c));
+                }
+            }
+            return keys;
+        }
+
+        public long getProviderId() { return providerId; }
+        public String getBusinessName() { return businessName; }
+        public String getCity() { return city; }
+        public BigDecimal getAverageRating() { return averageRating; }
+        public int getTotalRatings() { return totalRatings; }
+        public int getTotalBookings() { return totalBookings; }
+        public double getScore() { return score; }
+    }
+}
@@ -0,0 +1,60 @@
+package com.servicefinder.service;
+
+import com.servicefinder.repository.ServiceProviderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Periodically rebuilds provider rating stats from the ratings table and
+ * repairs any drift (manual edits, bulk imports that bypassed the service).
+ */
+@Component
+public class ProviderRatingStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRatingStatsReconciler.class);
+
+    private static final String LEASE_NAME = "rating-stats-reconciler";
+
+    @Autowired
+    private ProviderRatingStatsService providerRatingStatsService;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${rating-stats.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${rating-stats.reconcile.cron:0 45 * * * *}")
+    public void reconcile() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Long> providerIds = serviceProviderRepository.findAllIds();
+        int repaired = 0;
+
+        // Small chunks keep row locks short
+        for (int from = 0; from < providerIds.size(); from += chunkSize) {
+            List<Long> chunk = providerIds.subList(from, Math.min(from + chunkSize, providerIds.size()));
+            try {
+                repaired += providerRatingStatsService.reconcileChunk(chunk);
+            } catch (Exception e) {
+                logger.error("Rating stats reconcile chunk failed", e);
+            }
+        }
+
+        logger.info("Reconciled rating stats for {} providers in {} ms, repaired {}",
+                providerIds.size(), System.currentTimeMillis() - start, repaired);
+    }
+}
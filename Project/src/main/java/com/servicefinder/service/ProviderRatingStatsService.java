@@ -0,0 +1,167 @@
+package com.servicefinder.service;
+
+import com.servicefinder.model.ProviderRatingStats;
+import com.servicefinder.repository.ProviderRatingStatsRepository;
+import com.servicefinder.repository.RatingRepository;
+import com.servicefinder.repository.ServiceProviderRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains running rating sums, counts and histograms per provider, and the
+ * denormalized averageRating/totalRatings on ServiceProvider.
+ */
+@Service
+public class ProviderRatingStatsService {
+
+    @Autowired
+    private ProviderRatingStatsRepository providerRatingStatsRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    public void init() {
+        newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get a provider's rating stats with one primary-key read. Not transactional, so
+     * the final read sees a row another request created first.
+     */
+    public ProviderRatingStats getStats(Long providerId) {
+        return providerRatingStatsRepository.findById(providerId).orElseGet(() -> {
+            insertIfAbsent(providerId);
+            return providerRatingStatsRepository.findById(providerId).orElseThrow();
+        });
+    }
+
+    /**
+     * Apply a rating change inside the caller's transaction
+     * @param added rating value added (create, or new value on update), or null
+     * @param removed rating value removed (delete, or old value on update), or null
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long providerId, BigDecimal added, BigDecimal removed) {
+        long[] buckets = new long[6];
+        BigDecimal sum = BigDecimal.ZERO;
+        long count = 0;
+        if (added != null) {
+            buckets[ProviderRatingStats.bucketOf(added)]++;
+            sum = sum.add(added);
+            count++;
+        }
+        if (removed != null) {
+            buckets[ProviderRatingStats.bucketOf(removed)]--;
+            sum = sum.subtract(removed);
+            count--;
+        }
+
+        if (!providerRatingStatsRepository.existsById(providerId)) {
+            insertIfAbsent(providerId);
+        }
+        providerRatingStatsRepository.applyDelta(providerId, sum, count,
+                buckets[1], buckets[2], buckets[3], buckets[4], buckets[5], LocalDateTime.now());
+
+        ProviderRatingStats stats = providerRatingStatsRepository.findById(providerId).orElseThrow();
+        serviceProviderRepository.updateRatingSummary(providerId, stats.getAverage(), stats.getRatingCount().intValue());
+    }
+
+    // Build the row from the ratings table in its own transaction. That transaction
+    // cannot see the caller's uncommitted change, so the caller's delta always applies
+    // on top; losing the insert race to a concurrent first rating is fine.
+    private void insertIfAbsent(Long providerId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!providerRatingStatsRepository.existsById(providerId)) {
+                    providerRatingStatsRepository.saveAndFlush(computeFromSource(providerId));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    /**
+     * Recompute a chunk of providers from the ratings table and repair drift.
+     * Existing rows are locked first, so rating writes for these providers wait
+     * until the rebuild commits and then apply on top of it.
+     * @return number of providers repaired
+     */
+    @Transactional
+    public int reconcileChunk(List<Long> providerIds) {
+        Map<Long, ProviderRatingStats> current = providerRatingStatsRepository.lockAllById(providerIds).stream()
+                .collect(Collectors.toMap(ProviderRatingStats::getProviderId, Function.identity()));
+        Map<Long, ProviderRatingStats> expected = computeFromSource(providerIds);
+
+        int repaired = 0;
+        for (Long providerId : providerIds) {
+            ProviderRatingStats fresh = expected.get(providerId);
+            ProviderRatingStats existing = current.get(providerId);
+            if (fresh.sameAs(existing)) {
+                continue;
+            }
+
+            ProviderRatingStats target = existing != null ? existing : new ProviderRatingStats(providerId);
+            target.setRatingSum(fresh.getRatingSum());
+            target.setRatingCount(fresh.getRatingCount());
+            for (int stars = 1; stars <= 5; stars++) {
+                target.addToBucket(stars, fresh.getBucket(stars) - target.getBucket(stars));
+            }
+            target.setUpdatedAt(LocalDateTime.now());
+            providerRatingStatsRepository.save(target);
+            serviceProviderRepository.updateRatingSummary(providerId, target.getAverage(), target.getRatingCount().intValue());
+            repaired++;
+        }
+        return repaired;
+    }
+
+    private ProviderRatingStats computeFromSource(Long providerId) {
+        return computeFromSource(Collections.singletonList(providerId)).get(providerId);
+    }
+
+    private Map<Long, ProviderRatingStats> computeFromSource(List<Long> providerIds) {
+        Map<Long, ProviderRatingStats> result = new HashMap<>();
+        for (Long providerId : providerIds) {
+            ProviderRatingStats stats = new ProviderRatingStats(providerId);
+            stats.setUpdatedAt(LocalDateTime.now());
+            result.put(providerId, stats);
+        }
+
+        for (Object[] row : ratingRepository.aggregateByProviders(providerIds)) {
+            ProviderRatingStats stats = result.get((Long) row[0]);
+            int stars = Math.max(1, Math.min(5, ((Number) row[1]).intValue()));
+            long count = ((Number) row[2]).longValue();
+            BigDecimal sum = row[3] instanceof BigDecimal ? (BigDecimal) row[3] : new BigDecimal(row[3].toString());
+
+            stats.addToBucket(stars, count);
+            stats.setRatingCount(stats.getRatingCount() + count);
+            stats.setRatingSum(stats.getRatingSum().add(sum));
+        }
+        return result;
+    }
+}
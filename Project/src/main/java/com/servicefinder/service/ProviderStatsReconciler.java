@@ -0,0 +1,97 @@
+package com.servicefinder.service;
+
+import com.servicefinder.repository.ServiceProviderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically recomputes provider stats from the bookings table in parallel
+ * chunks and repairs rows that drifted (lost or duplicated events, manual edits).
+ */
+@Component
+public class ProviderStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderStatsReconciler.class);
+
+    private static final String LEASE_NAME = "provider-stats-reconciler";
+
+    @Autowired
+    private ProviderStatsService providerStatsService;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private SchedulerLeaseService schedulerLeaseService;
+
+    @Value("${provider-stats.reconcile.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${provider-stats.reconcile.workers:4}")
+    private int workers;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "stats-reconciler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+
+    @Scheduled(cron = "${provider-stats.reconcile.cron:0 15 * * * *}")
+    public void reconcile() {
+        if (!schedulerLeaseService.tryAcquire(LEASE_NAME, Duration.ofMinutes(30))) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Long> providerIds = serviceProviderRepository.findAllIds();
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int from = 0; from < providerIds.size(); from += chunkSize) {
+            List<Long> chunk = providerIds.subList(from, Math.min(from + chunkSize, providerIds.size()));
+            tasks.add(() -> providerStatsService.reconcileChunk(chunk));
+        }
+
+        int repaired = 0;
+        try {
+            for (Future<Integer> future : executor.invokeAll(tasks)) {
+                try {
+                    repaired += future.get();
+                } catch (Exception e) {
+                    logger.error("Provider stats reconcile chunk failed", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        logger.info("Reconciled stats for {} providers in {} ms, repaired {}",
+                providerIds.size(), System.currentTimeMillis() - start, repaired);
+    }
+}
@@ -0,0 +1,287 @@
+package com.servicefinder.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicefinder.event.OutboxService;
+import com.servicefinder.event.ProcessedEventService;
+import com.servicefinder.event.ProviderStatsSubscriber;
+import com.servicefinder.model.OutboxEvent;
+import com.servicefinder.model.ProviderStats;
+import com.servicefinder.model.enums.BookingStatus;
+import com.servicefinder.repository.BookingRepository;
+import com.servicefinder.repository.OutboxEventRepository;
+import com.servicefinder.repository.ProviderStatsRepository;
+import com.servicefinder.repository.ServiceProviderRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the provider_stats read model. Booking events apply counter deltas
+ * with a single UPDATE; a periodic reconcile rebuilds rows from the bookings table.
+ *
+ * The bookings table already reflects booking events that have not been applied
+ * yet, so every rebuild (first use or reconcile) counts the bookings table and then
+ * takes back the transitions of booking events this consumer has not applied. Those
+ * events add themselves when they are delivered, so nothing is counted twice.
+ */
+@Service
+public class ProviderStatsService {
+
+    private static final String CONSUMER = "provider-stats";
+
+    @Autowired
+    private ProviderStatsRepository providerStatsRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ProcessedEventService processedEventService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    public void init() {
+        newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get stats for a provider with one primary-key read, building the row on first use.
+     * Not transactional, so the final read sees a row another request created first.
+     */
+    public ProviderStats getStats(Long providerId) {
+        return providerStatsRepository.findById(providerId).orElseGet(() -> {
+            insertIfAbsent(providerId);
+            return providerStatsRepository.findById(providerId).orElseThrow();
+        });
+    }
+
+    /**
+     * Apply one booking transition to the provider's counters, once per event
+     * @param eventId outbox event carrying the transition; a redelivery is skipped
+     * @param previousStatus null for a newly created booking
+     * @param price booking total, counted as revenue while the booking is COMPLETED
+     */
+    @Transactional
+    public void applyTransition(Long eventId, Long providerId, BookingStatus previousStatus, BookingStatus newStatus, BigDecimal price) {
+        if (!processedEventService.markProcessed(CONSUMER, eventId)) {
+            return;
+        }
+
+        if (!providerStatsRepository.existsById(providerId)) {
+            insertIfAbsent(providerId);
+        }
+        Transition transition = new Transition(previousStatus, newStatus, price);
+        providerStatsRepository.applyDelta(providerId, transition.total, transition.buckets[0], transition.buckets[1],
+                transition.buckets[2], transition.buckets[3], transition.revenue, LocalDateTime.now());
+        if (transition.total > 0) {
+            serviceProviderRepository.incrementTotalBookings(providerId, 1);
+        }
+    }
+
+    // Build the row in its own transaction. That transaction cannot see the caller's
+    // processed-event mark, so the caller's own event is taken back too and its delta
+    // applies on top; losing the insert race to another worker is fine
+    private void insertIfAbsent(Long providerId) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!providerStatsRepository.existsById(providerId)) {
+                    providerStatsRepository.saveAndFlush(computeApplied(Collections.singletonList(providerId)).get(providerId));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    /**
+     * Rebuild stats for a chunk of providers and repair any drift. Existing rows are
+     * locked first, so deltas for these providers wait for the rebuild; an event whose
+     * mark has not committed by then is taken back here and applies on top afterwards.
+     * @return number of providers whose stats were repaired
+     */
+    @Transactional
+    public int reconcileChunk(List<Long> providerIds) {
+        Map<Long, ProviderStats> current = providerStatsRepository.lockAllById(providerIds).stream()
+                .collect(Collectors.toMap(ProviderStats::getProviderId, Function.identity()));
+        Map<Long, ProviderStats> expected = computeApplied(providerIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        int repaired = 0;
+        for (Long providerId : providerIds) {
+            ProviderStats fresh = expected.get(providerId);
+            ProviderStats existing = current.get(providerId);
+
+            if (fresh.sameCountsAs(existing)) {
+                existing.setReconciledAt(now);
+                continue;
+            }
+
+            ProviderStats target = existing != null ? existing : new ProviderStats(providerId);
+            copyCounts(fresh, target);
+            target.setReconciledAt(now);
+            providerStatsRepository.save(target);
+            repaired++;
+
+            serviceProviderRepository.updateTotalBookings(providerId, fresh.getTotalBookings().intValue());
+        }
+        return repaired;
+    }
+
+    // Counts as of the booking events this consumer has applied: the bookings table
+    // minus the transitions still waiting for delivery
+    private Map<Long, ProviderStats> computeApplied(List<Long> providerIds) {
+        Map<Long, ProviderStats> result = computeFromSource(providerIds);
+        for (OutboxEvent event : outboxEventRepository.findUnappliedEvents(OutboxService.BOOKING_AGGREGATE,
+                ProviderStatsSubscriber.TRANSITIONS, CONSUMER, providerIds)) {
+            Map<String, Object> payload;
+            try {
+                payload = objectMapper.readValue(event.getPayload(), new TypeReference<Map<String, Object>>() {});
+            } catch (Exception e) {
+                // Unreadable events are never applied either
+                continue;
+            }
+            ProviderStats stats = result.get(toLong(payload.get("providerId")));
+            if (stats == null || payload.get("status") == null) {
+                continue;
+            }
+            Transition transition = new Transition(
+                    payload.get("previousStatus") != null ? BookingStatus.valueOf(payload.get("previousStatus").toString()) : null,
+                    BookingStatus.valueOf(payload.get("status").toString()),
+                    payload.get("totalPrice") != null ? new BigDecimal(payload.get("totalPrice").toString()) : null);
+            stats.setTotalBookings(stats.getTotalBookings() - transition.total);
+            stats.setUpcomingBookings(stats.getUpcomingBookings() - transition.buckets[0]);
+            stats.setInProgressBookings(stats.getInProgressBookings() - transition.buckets[1]);
+            stats.setCompletedBookings(stats.getCompletedBookings() - transition.buckets[2]);
+            stats.setCancelledBookings(stats.getCancelledBookings() - transition.buckets[3]);
+            stats.setRevenue(stats.getRevenue().subtract(transition.revenue));
+        }
+        return result;
+    }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString());
+    }
+
+    private Map<Long, ProviderStats> computeFromSource(List<Long> providerIds) {
+        Map<Long, ProviderStats> result = new HashMap<>();
+        for (Long providerId : providerIds) {
+            ProviderStats stats = new ProviderStats(providerId);
+            stats.setUpdatedAt(LocalDateTime.now());
+            result.put(providerId, stats);
+        }
+
+        for (Object[] row : bookingRepository.aggregateStatusByProviders(providerIds)) {
+            ProviderStats stats = result.get((Long) row[0]);
+            BookingStatus status = (BookingStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            BigDecimal sum = row[3] instanceof BigDecimal ? (BigDecimal) row[3] : new BigDecimal(row[3].toString());
+
+            stats.setTotalBookings(stats.getTotalBookings() + count);
+            switch (status) {
+                case PENDING:
+                case CONFIRMED:
+                    stats.setUpcomingBookings(stats.getUpcomingBookings() + count);
+                    break;
+                case IN_PROGRESS:
+                    stats.setInProgressBookings(stats.getInProgressBookings() + count);
+                    break;
+                case COMPLETED:
+                    stats.setCompletedBookings(stats.getCompletedBookings() + count);
+                    stats.setRevenue(stats.getRevenue().add(sum));
+                    break;
+                case CANCELLED:
+                    stats.setCancelledBookings(stats.getCancelledBookings() + count);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counter changes for one booking transition
+     */
+    private static final class Transition {
+        final long total;
+        // Index order: upcoming, inProgress, completed, cancelled
+        final long[] buckets = new long[4];
+        final BigDecimal revenue;
+
+        Transition(BookingStatus previousStatus, BookingStatus newStatus, BigDecimal price) {
+            addToBucket(newStatus, 1);
+            addToBucket(previousStatus, -1);
+
+            BigDecimal amount = price != null ? price : BigDecimal.ZERO;
+            BigDecimal change = BigDecimal.ZERO;
+            if (newStatus == BookingStatus.COMPLETED) {
+                change = change.add(amount);
+            }
+            if (previousStatus == BookingStatus.COMPLETED) {
+                change = change.subtract(amount);
+            }
+            this.revenue = change;
+            this.total = previousStatus == null ? 1 : 0;
+        }
+
+        private void addToBucket(BookingStatus status, int amount) {
+            if (status == null) {
+                return;
+            }
+            switch (status) {
+                case PENDING:
+                case CONFIRMED:
+                    buckets[0] += amount;
+                    break;
+                case IN_PROGRESS:
+                    buckets[1] += amount;
+                    break;
+                case COMPLETED:
+                    buckets[2] += amount;
+                    break;
+                case CANCELLED:
+                    buckets[3] += amount;
+                    break;
+            }
+        }
+    }
+
+    private void copyCounts(ProviderStats from, ProviderStats to) {
+        to.setTotalBookings(from.getTotalBookings());
+        to.setUpcomingBookings(from.getUpcomingBookings());
+        to.setInProgressBookings(from.getInProgressBookings());
+        to.setCompletedBookings(from.getCompletedBookings());
+        to.setCancelledBookings(from.getCancelledBookings());
+        to.setRevenue(from.getRevenue());
+        to.setUpdatedAt(from.getUpdatedAt());
+    }
+}
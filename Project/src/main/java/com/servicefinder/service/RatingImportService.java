@@ -0,0 +1,305 @@
+package com.servicefinder.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.servicefinder.dto.RatingImportResponse;
+import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.util.BoundedLineReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk import of historical reviews from NDJSON (one JSON object per line), e.g.
+ * {"providerId":1,"externalId":"r-981","rating":4.5,"review":"...","reviewerName":"Asha","createdAt":"2023-05-01T10:00:00"}
+ *
+ * The upload is read one line at a time, with lines capped at MAX_LINE_CHARS, and
+ * each line is tokenized with the Jackson streaming parser, so memory stays flat
+ * however large the file is. Valid rows are
+ * inserted with JDBC batches, one transaction per batch; (source, externalId) is
+ * unique, so re-running a partially failed import only inserts what is missing.
+ * Provider aggregates are recomputed once per touched provider at the end instead
+ * of on every row.
+ */
+@Service
+public class RatingImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO ratings (service_provider_id, rating, review, helpful_count, source, external_id, " +
+            "reviewer_name, created_at, updated_at) VALUES (?, ?, ?, 0, ?, ?, ?, ?, ?)";
+
+    private static final String EXISTING_SQL =
+            "SELECT external_id FROM ratings WHERE source = :source AND external_id IN (:externalIds)";
+
+    private static final BigDecimal MIN_RATING = new BigDecimal("1.0");
+    private static final BigDecimal MAX_RATING = new BigDecimal("5.0");
+    private static final int MAX_REVIEW_LENGTH = 1000;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_ERRORS = 100;
+    // A full row with a maximal review, with room for JSON escapes
+    private static final int MAX_LINE_CHARS = 16 * 1024;
+    private static final int RECONCILE_CHUNK_SIZE = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private ProviderRatingStatsService providerRatingStatsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ratings.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Import ratings from an NDJSON stream
+     * @param source name of the system the reviews come from, stored with each row
+     */
+    public RatingImportResponse importNdjson(InputStream in, String source) throws IOException {
+        long started = System.currentTimeMillis();
+        RatingImportResponse result = new RatingImportResponse();
+        result.setSource(source);
+
+        JsonFactory factory = objectMapper.getFactory();
+        Set<Long> knownProviders = new HashSet<>();
+        Set<Long> unknownProviders = new HashSet<>();
+        Set<Long> touchedProviders = new HashSet<>();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        LocalDateTime importedAt = LocalDateTime.now();
+
+        try (BoundedLineReader reader = new BoundedLineReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), MAX_LINE_CHARS)) {
+            while (true) {
+                String line;
+                try {
+                    line = reader.readLine();
+                } catch (IllegalArgumentException e) {
+                    result.setLinesRead(result.getLinesRead() + 1);
+                    reject(result, reader.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                if (line == null) {
+                    break;
+                }
+                long lineNumber = reader.getLineNumber();
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setLinesRead(result.getLinesRead() + 1);
+
+                ImportRow row;
+                try (JsonParser parser = factory.createParser(line)) {
+                    row = parse(parser);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    reject(result, lineNumber, e.getMessage());
+                    continue;
+                }
+
+                String error = validate(row, knownProviders, unknownProviders);
+                if (error != null) {
+                    reject(result, lineNumber, error);
+                    continue;
+                }
+
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    flush(batch, source, importedAt, result, touchedProviders);
+                }
+            }
+        }
+        flush(batch, source, importedAt, result, touchedProviders);
+
+        // One aggregate rebuild per provider instead of one per imported row
+        List<Long> providerIds = new ArrayList<>(touchedProviders);
+        for (int from = 0; from < providerIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            providerRatingStatsService.reconcileChunk(providerIds.subList(from, Math.min(providerIds.size(), from + RECONCILE_CHUNK_SIZE)));
+        }
+        result.setProvidersUpdated(providerIds.size());
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+
+        logger.info("Imported {} ratings from {} ({} duplicates, {} rejected, {} providers) in {} ms",
+                result.getImported(), source, result.getDuplicates(), result.getRejected(),
+                result.getProvidersUpdated(), result.getElapsedMillis());
+        return result;
+    }
+
+    private ImportRow parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("line is not a JSON object");
+        }
+
+        ImportRow row = new ImportRow();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "providerId" -> row.providerId = parser.getValueAsLong();
+                case "externalId" -> row.externalId = parser.getValueAsString();
+                case "rating" -> row.rating = token.isNumeric() ? parser.getDecimalValue() : new BigDecimal(parser.getValueAsString());
+                case "review" -> row.review = parser.getValueAsString();
+                case "reviewerName" -> row.reviewerName = parser.getValueAsString();
+                case "createdAt" -> row.createdAt = parseDateTime(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        if (parser.nextToken() != null) {
+            throw new IllegalArgumentException("unexpected content after the JSON object");
+        }
+        return row;
+    }
+
+    private String validate(ImportRow row, Set<Long> knownProviders, Set<Long> unknownProviders) {
+        if (row.externalId == null || row.externalId.isBlank()) {
+            return "externalId is required";
+        }
+        if (row.externalId.length() > MAX_NAME_LENGTH) {
+            return "externalId must not exceed " + MAX_NAME_LENGTH + " characters";
+        }
+        if (row.rating == null) {
+            return "rating is required";
+        }
+        row.rating = row.rating.setScale(1, RoundingMode.HALF_UP);
+        if (row.rating.compareTo(MIN_RATING) < 0 || row.rating.compareTo(MAX_RATING) > 0) {
+            return "rating must be between 1.0 and 5.0";
+        }
+        if (row.review != null && row.review.length() > MAX_REVIEW_LENGTH) {
+            return "review must not exceed " + MAX_REVIEW_LENGTH + " characters";
+        }
+        if (row.reviewerName != null && row.reviewerName.length() > MAX_NAME_LENGTH) {
+            return "reviewerName must not exceed " + MAX_NAME_LENGTH + " characters";
+        }
+        if (row.createdAt != null && row.createdAt.isAfter(LocalDateTime.now())) {
+            return "createdAt is in the future";
+        }
+
+        if (row.providerId == null || row.providerId <= 0) {
+            return "providerId is required";
+        }
+        if (unknownProviders.contains(row.providerId)) {
+            return "service provider " + row.providerId + " not found";
+        }
+        if (!knownProviders.contains(row.providerId)) {
+            if (!serviceProviderRepository.existsById(row.providerId)) {
+                unknownProviders.add(row.providerId);
+                return "service provider " + row.providerId + " not found";
+            }
+            knownProviders.add(row.providerId);
+        }
+        return null;
+    }
+
+    private void flush(List<ImportRow> batch, String source, LocalDateTime importedAt,
+                       RatingImportResponse result, Set<Long> touchedProviders) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> externalIds = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                externalIds.add(row.externalId);
+            }
+            Set<String> seen = new HashSet<>(namedParameterJdbcTemplate.queryForList(EXISTING_SQL,
+                    new MapSqlParameterSource("source", source).addValue("externalIds", externalIds), String.class));
+
+            // updated_at is the import time so the review search catch-up indexes these rows
+            Timestamp updatedAt = Timestamp.valueOf(importedAt);
+            List<Object[]> args = new ArrayList<>(batch.size());
+            for (ImportRow row : batch) {
+                if (!seen.add(row.externalId)) {
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    continue;
+                }
+                args.add(new Object[] {
+                        row.providerId, row.rating, row.review, source, row.externalId, row.reviewerName,
+                        Timestamp.valueOf(row.createdAt != null ? row.createdAt : importedAt), updatedAt
+                });
+                touchedProviders.add(row.providerId);
+            }
+
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, args);
+                result.setImported(result.getImported() + args.size());
+            }
+        });
+        batch.clear();
+    }
+
+    private void reject(RatingImportResponse result, long lineNumber, String message) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add(new RatingImportResponse.LineError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            // fall through to the other accepted formats
+        }
+        try {
+            return OffsetDateTime.parse(value).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // fall through
+        }
+        try {
+            return LocalDate.parse(value).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("createdAt must be an ISO-8601 date or date-time");
+        }
+    }
+
+    private static class ImportRow {
+        Long providerId;
+        String externalId;
+        BigDecimal rating;
+        String review;
+        String reviewerName;
+        LocalDateTime createdAt;
+    }
+}
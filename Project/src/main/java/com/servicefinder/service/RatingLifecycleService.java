@@ -0,0 +1,73 @@
+package com.servicefinder.service;
+
+import com.servicefinder.event.OutboxService;
+import com.servicefinder.model.Rating;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.RatingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Persists rating changes together with their outbox events and the
+ * provider's running rating stats.
+ */
+@Service
+public class RatingLifecycleService {
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ProviderRatingStatsService providerRatingStatsService;
+
+    @Transactional
+    public Rating create(Rating rating) {
+        Rating saved = ratingRepository.save(rating);
+        providerRatingStatsService.apply(saved.getServiceProvider().getId(), saved.getRating(), null);
+        outboxService.append(OutboxService.RATING_AGGREGATE, saved.getId(), DomainEventType.RATING_CREATED,
+            buildPayload(saved, null));
+        return saved;
+    }
+
+    /**
+     * Save an edited rating
+     * @param previousRating the star value before the edit
+     */
+    @Transactional
+    public Rating update(Rating rating, BigDecimal previousRating) {
+        Rating saved = ratingRepository.save(rating);
+        if (previousRating == null || previousRating.compareTo(saved.getRating()) != 0) {
+            providerRatingStatsService.apply(saved.getServiceProvider().getId(), saved.getRating(), previousRating);
+        }
+        outboxService.append(OutboxService.RATING_AGGREGATE, saved.getId(), DomainEventType.RATING_UPDATED,
+            buildPayload(saved, previousRating));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Rating rating) {
+        Map<String, Object> payload = buildPayload(rating, rating.getRating());
+        ratingRepository.delete(rating);
+        providerRatingStatsService.apply(rating.getServiceProvider().getId(), null, rating.getRating());
+        outboxService.append(OutboxService.RATING_AGGREGATE, rating.getId(), DomainEventType.RATING_DELETED, payload);
+    }
+
+    private Map<String, Object> buildPayload(Rating rating, BigDecimal previousRating) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("ratingId", rating.getId());
+        payload.put("providerId", rating.getServiceProvider().getId());
+        payload.put("bookingId", rating.getBooking() != null ? rating.getBooking().getId() : null);
+        payload.put("rating", rating.getRating());
+        payload.put("previousRating", previousRating);
+        payload.put("review", rating.getReview());
+        return payload;
+    }
+}
@@ -0,0 +1,266 @@
+package com.servicefinder.service;
+
+import com.servicefinder.event.DomainEvent;
+import com.servicefinder.event.DomainEventSubscriber;
+import com.servicefinder.event.OutboxService;
+import com.servicefinder.model.enums.DomainEventType;
+import com.servicefinder.repository.OutboxEventRepository;
+import com.servicefinder.repository.RatingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Full-text search over rating reviews backed by an embedded Lucene index on local disk.
+ *
+ * Reviews are tokenized and stemmed with the English analyzer and ranked by BM25.
+ * The index is kept current from rating outbox events. A catch-up scan over
+ * ratings.updated_at, resumed from a watermark stored in the index commit, picks
+ * up anything this node missed (restarts, changes delivered to another node).
+ * Deletes leave no row to scan, so the catch-up also reads RATING_DELETED outbox
+ * rows as tombstones; a node whose watermark is older than the outbox retention
+ * rebuilds the whole index instead. On first start it builds the whole index.
+ * Hits are always re-read from the database, so a deleted rating never appears
+ * even if the index lags.
+ */
+@Component
+public class ReviewSearchService implements DomainEventSubscriber {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewSearchService.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_PROVIDER = "providerId";
+    private static final String FIELD_REVIEW = "review";
+    private static final String WATERMARK_TIME = "watermark.updatedAt";
+    private static final String WATERMARK_ID = "watermark.id";
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Value("${outbox.retention-days:7}")
+    private long outboxRetentionDays;
+
+    @Value("${review.search.index-dir:./data/review-index}")
+    private String indexDir;
+
+    @Value("${review.search.catch-up-batch-size:1000}")
+    private int catchUpBatchSize;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    private volatile LocalDateTime watermarkTime = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private volatile long watermarkId = 0;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicBoolean catchingUp = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Paths.get(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+
+        // Resume catch-up from the last committed watermark
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (WATERMARK_TIME.equals(entry.getKey())) {
+                    watermarkTime = LocalDateTime.parse(entry.getValue());
+                } else if (WATERMARK_ID.equals(entry.getKey())) {
+                    watermarkId = Long.parseLong(entry.getValue());
+                }
+            }
+        }
+        logger.info("Opened review index at {} with {} documents, watermark {}", path.toAbsolutePath(),
+                writer.getDocStats().numDocs, watermarkTime);
+
+        // Tombstones older than the outbox retention are gone, so deletes since the
+        // watermark can no longer be replayed: start over
+        if (writer.getDocStats().numDocs > 0 && watermarkTime.isBefore(LocalDateTime.now().minusDays(outboxRetentionDays))) {
+            logger.info("Review index watermark is past the outbox retention, rebuilding");
+            writer.deleteAll();
+            watermarkTime = LocalDateTime.of(1970, 1, 1, 0, 0);
+            watermarkId = 0;
+            dirty.set(true);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Ranked search over a provider's reviews
+     * @return matching rating ids, best match first
+     */
+    public List<Long> search(Long providerId, String text, int limit) throws IOException {
+        Query textQuery = new QueryBuilder(analyzer).createBooleanQuery(FIELD_REVIEW, text, BooleanClause.Occur.SHOULD);
+        if (textQuery == null) {
+            // Only stop words or punctuation
+            return new ArrayList<>();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(textQuery, BooleanClause.Occur.MUST);
+        if (providerId != null) {
+            query.add(LongPoint.newExactQuery(FIELD_PROVIDER, providerId), BooleanClause.Occur.FILTER);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query.build(), limit);
+            List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+            for (ScoreDoc hit : topDocs.scoreDocs) {
+                ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(FIELD_ID)));
+            }
+            return ids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @Override
+    public boolean supports(DomainEventType type) {
+        return type == DomainEventType.RATING_CREATED ||
+               type == DomainEventType.RATING_UPDATED ||
+               type == DomainEventType.RATING_DELETED;
+    }
+
+    @Override
+    public void handle(DomainEvent event) throws IOException {
+        if (event.getType() == DomainEventType.RATING_DELETED) {
+            writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(event.getAggregateId())));
+        } else {
+            index(event.getAggregateId(), event.getLong("providerId"), event.getString("review"));
+        }
+        dirty.set(true);
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Index every rating changed since the watermark. Runs at startup (full build
+     * on an empty index) and periodically afterwards.
+     */
+    @Scheduled(fixedDelayString = "${review.search.catch-up-ms:30000}", initialDelay = 5000)
+    public void catchUp() throws IOException {
+        if (!catchingUp.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int indexed = 0;
+
+            // Tombstones first, from the same watermark the row scan starts at
+            for (Long ratingId : outboxEventRepository.findAggregateIdsSince(
+                    OutboxService.RATING_AGGREGATE, DomainEventType.RATING_DELETED, watermarkTime)) {
+                writer.deleteDocuments(new Term(FIELD_ID, String.valueOf(ratingId)));
+                indexed++;
+            }
+
+            List<Object[]> rows;
+            do {
+                rows = ratingRepository.findChangedSince(watermarkTime, watermarkId, PageRequest.of(0, catchUpBatchSize));
+                for (Object[] row : rows) {
+                    index((Long) row[0], (Long) row[1], (String) row[2]);
+                    watermarkTime = (LocalDateTime) row[3];
+                    watermarkId = (Long) row[0];
+                }
+                indexed += rows.size();
+            } while (rows.size() == catchUpBatchSize);
+
+            // Re-scan the last minute next time: a rating written by a transaction that was
+            // still open during this scan can carry an updated_at behind the watermark
+            LocalDateTime safePoint = LocalDateTime.now().minusSeconds(60);
+            if (watermarkTime.isAfter(safePoint)) {
+                watermarkTime = safePoint;
+                watermarkId = 0;
+            }
+
+            if (indexed > 0) {
+                dirty.set(true);
+                searcherManager.maybeRefresh();
+                commit();
+                logger.info("Review index caught up {} ratings, watermark {}", indexed, watermarkTime);
+            }
+        } finally {
+            catchingUp.set(false);
+        }
+    }
+
+    // Durably commit pending index changes together with the watermark
+    @Scheduled(fixedDelayString = "${review.search.commit-ms:5000}")
+    public void commit() throws IOException {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Map<String, String> commitData = new HashMap<>();
+        commitData.put(WATERMARK_TIME, watermarkTime.toString());
+        commitData.put(WATERMARK_ID, String.valueOf(watermarkId));
+        writer.setLiveCommitData(commitData.entrySet());
+        writer.commit();
+    }
+
+    private void index(Long ratingId, Long providerId, String review) throws IOException {
+        Term idTerm = new Term(FIELD_ID, String.valueOf(ratingId));
+        if (review == null || review.isBlank()) {
+            writer.deleteDocuments(idTerm);
+            return;
+        }
+
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID, String.valueOf(ratingId), Field.Store.YES));
+        doc.add(new LongPoint(FIELD_PROVIDER, providerId));
+        doc.add(new StoredField(FIELD_PROVIDER, providerId));
+        doc.add(new TextField(FIELD_REVIEW, review, Field.Store.NO));
+        writer.updateDocument(idTerm, doc);
+    }
+}
@@ -0,0 +1,106 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.RouteResponse;
+import com.servicefinder.model.Booking;
+import com.servicefinder.model.enums.BookingStatus;
+import com.servicefinder.repository.BookingRepository;
+import com.servicefinder.util.RouteOptimizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plans the visiting order of a provider's confirmed bookings for a day
+ */
+@Service
+public class RoutePlanningService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    @Value("${booking.travel.average-speed-kmh:30}")
+    private double averageSpeedKmh;
+
+    @Value("${route.optimizer.time-budget-ms:80}")
+    private long timeBudgetMillis;
+
+    /**
+     * @param startLatitude optional start location (e.g. provider's base); route starts at the first stop if absent
+     * @param flexMinutes how far from the booked time a visit may start without counting as late
+     */
+    public RouteResponse planRoute(Long providerId, LocalDate date, Double startLatitude, Double startLongitude, long flexMinutes) {
+        long started = System.currentTimeMillis();
+        LocalDateTime dayStart = date.atStartOfDay();
+
+        List<Booking> bookings = bookingRepository.findProviderBookingsByStatusBetween(
+                providerId, BookingStatus.CONFIRMED, dayStart, dayStart.plusDays(1));
+
+        RouteResponse response = new RouteResponse();
+        response.setProviderId(providerId);
+        response.setDate(date);
+
+        // Times are minutes from midnight of the route date
+        List<RouteOptimizer.Stop> stops = new ArrayList<>();
+        Map<Long, Booking> byId = new HashMap<>();
+        double firstWindow = Double.MAX_VALUE;
+        for (Booking booking : bookings) {
+            if (!geolocationService.isValidLocation(booking.getCustomerLatitude(), booking.getCustomerLongitude())) {
+                response.getUnroutedBookingIds().add(booking.getId());
+                continue;
+            }
+            double scheduled = minutesFrom(dayStart, booking.getScheduledDateTime());
+            double duration = booking.getEstimatedEndDateTime() != null
+                    ? minutesFrom(booking.getScheduledDateTime(), booking.getEstimatedEndDateTime()) : 60;
+            stops.add(new RouteOptimizer.Stop(booking.getId(), booking.getCustomerLatitude(), booking.getCustomerLongitude(),
+                    scheduled - flexMinutes, scheduled + flexMinutes, duration));
+            byId.put(booking.getId(), booking);
+            firstWindow = Math.min(firstWindow, scheduled - flexMinutes);
+        }
+
+        boolean hasStart = geolocationService.isValidLocation(startLatitude, startLongitude);
+        RouteOptimizer optimizer = new RouteOptimizer(averageSpeedKmh, timeBudgetMillis);
+        RouteOptimizer.Result result = optimizer.optimize(stops,
+                hasStart ? startLatitude : null, hasStart ? startLongitude : null,
+                stops.isEmpty() ? 0 : firstWindow);
+
+        List<RouteOptimizer.Stop> order = result.getOrder();
+        for (int i = 0; i < order.size(); i++) {
+            Booking booking = byId.get(order.get(i).getId());
+            RouteResponse.RouteStop stop = new RouteResponse.RouteStop();
+            stop.setSequence(i + 1);
+            stop.setBookingId(booking.getId());
+            stop.setScheduledDateTime(booking.getScheduledDateTime());
+            stop.setEstimatedArrival(dayStart.plusSeconds(Math.round(result.getArrivals()[i] * 60)));
+            stop.setLegDistanceKm(round(result.getLegDistancesKm()[i]));
+            stop.setCustomerAddress(booking.getCustomerAddress());
+            stop.setLatitude(booking.getCustomerLatitude());
+            stop.setLongitude(booking.getCustomerLongitude());
+            response.getStops().add(stop);
+        }
+
+        response.setTotalDistanceKm(round(result.getTotalDistanceKm()));
+        response.setTotalTravelMinutes(Math.round(result.getTotalDistanceKm() / averageSpeedKmh * 60));
+        response.setTotalLatenessMinutes(Math.round(result.getTotalLatenessMinutes()));
+        response.setComputeMillis(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private double minutesFrom(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).getSeconds() / 60.0;
+    }
+
+    private double round(double km) {
+        return Math.round(km * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.servicefinder.service;
+
+import com.servicefinder.model.SchedulerLease;
+import com.servicefinder.repository.SchedulerLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases so that background jobs run on one node at a time.
+ * A job calls {@link #tryAcquire} on every run; the holder keeps renewing it and
+ * another node takes over once the holder stops renewing for the lease duration.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final String nodeId = resolveNodeId();
+
+    /**
+     * Acquire or renew the named lease for this node
+     * @return true if this node holds the lease until now + ttl
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(ttl);
+
+        if (schedulerLeaseRepository.renew(name, nodeId, until, now) == 1) {
+            return true;
+        }
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+
+        try {
+            schedulerLeaseRepository.saveAndFlush(new SchedulerLease(name, nodeId, until));
+            logger.info("Acquired scheduler lease '{}' as {}", name, nodeId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease first
+            return false;
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
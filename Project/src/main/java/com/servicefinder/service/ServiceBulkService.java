@@ -0,0 +1,581 @@
+package com.servicefinder.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.servicefinder.dto.ServiceBulkRow;
+import com.servicefinder.dto.ServiceImportResponse;
+import com.servicefinder.dto.ServiceImportResponse.RowResult;
+import com.servicefinder.dto.ServiceResponse;
+import com.servicefinder.event.ServiceChangedEvent;
+import com.servicefinder.repository.ServiceRepository;
+import com.servicefinder.util.BoundedLineReader;
+import com.servicefinder.util.CsvReader;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Bulk CSV/NDJSON export and import of one provider's services.
+ *
+ * Export streams rows from a JPA Stream of DTO projections inside a read-only
+ * transaction, so nothing accumulates in the persistence context and memory stays
+ * flat. Import reads one record at a time, validates each row with the same rules
+ * as POST /services, and upserts in JDBC batches (one transaction per batch): a
+ * row with an id updates that service, a row without one updates the provider's
+ * service with the same name (case-insensitive) or creates a new one. Each row is
+ * a full replacement of the service; only an empty "active" keeps the current value.
+ * Catalog indexes are notified with one ServiceChangedEvent per written row.
+ */
+@org.springframework.stereotype.Service
+public class ServiceBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceBulkService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    // Column order for CSV headers; NDJSON uses the same names via ServiceBulkRow
+    public static final String[] COLUMNS = {"id", "name", "description", "category", "subcategory", "price",
+            "durationMinutes", "active", "serviceArea", "city", "district", "state", "country", "postalCode",
+            "latitude", "longitude", "serviceRadiusKm"};
+
+    private static final String SNAPSHOT_COLUMNS =
+            "SELECT id, name, category, subcategory, price, active, location_city, location_latitude, location_longitude " +
+            "FROM services WHERE service_provider_id = :providerId ";
+
+    private static final String EXISTING_BY_ID_SQL = SNAPSHOT_COLUMNS + "AND id IN (:ids)";
+
+    private static final String EXISTING_BY_NAME_SQL = SNAPSHOT_COLUMNS + "AND LOWER(name) IN (:names)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE services SET name = :name, description = :description, category = :category, " +
+            "subcategory = :subcategory, price = :price, duration_minutes = :durationMinutes, " +
+            "active = COALESCE(:active, active), service_area = :serviceArea, location_city = :city, " +
+            "location_district = :district, location_state = :state, location_country = :country, " +
+            "location_postal_code = :postalCode, location_latitude = :latitude, location_longitude = :longitude, " +
+            "service_radius_km = :serviceRadiusKm, updated_at = :now " +
+            "WHERE id = :id AND service_provider_id = :providerId";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO services (service_provider_id, name, description, category, subcategory, price, " +
+            "duration_minutes, active, service_area, location_city, location_district, location_state, " +
+            "location_country, location_postal_code, location_latitude, location_longitude, service_radius_km, " +
+            "created_at, updated_at) VALUES (:providerId, :name, :description, :category, :subcategory, :price, " +
+            ":durationMinutes, COALESCE(:active, TRUE), :serviceArea, :city, :district, :state, :country, " +
+            ":postalCode, :latitude, :longitude, :serviceRadiusKm, :now, :now)";
+
+    private static final int MAX_CSV_RECORD_CHARS = 64 * 1024;
+    private static final int MAX_NDJSON_LINE_CHARS = 64 * 1024;
+    private static final int MAX_ROW_RESULTS = 10_000;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${services.bulk.batch-size:500}")
+    private int batchSize;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Write every service of the provider to the output stream
+     */
+    public void export(Long providerId, Format format, OutputStream out) {
+        ObjectWriter rowWriter = objectMapper.writerFor(ServiceBulkRow.class);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ServiceResponse> services = serviceRepository.streamResponsesByProviderId(providerId)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (format == Format.CSV) {
+                    writer.write(String.join(",", COLUMNS));
+                    writer.write("\r\n");
+                }
+                Iterator<ServiceResponse> rows = services.iterator();
+                while (rows.hasNext()) {
+                    ServiceBulkRow row = ServiceBulkRow.from(rows.next());
+                    if (format == Format.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        writer.write(rowWriter.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Upsert services for the provider from a CSV (with header row) or NDJSON stream
+     * @throws IllegalArgumentException if the CSV header names an unknown column
+     */
+    public ServiceImportResponse importRows(InputStream in, Format format, Long providerId) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportRun run = new ImportRun(new ServiceImportResponse(format.name().toLowerCase(Locale.ROOT), providerId));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        }
+        run.flush();
+
+        ServiceImportResponse result = run.result;
+        result.setElapsedMillis(System.currentTimeMillis() - started);
+        logger.info("Imported services for provider {}: {} created, {} updated, {} rejected in {} ms", providerId,
+                result.getCreated(), result.getUpdated(), result.getRejected(), result.getElapsedMillis());
+        return result;
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader, MAX_CSV_RECORD_CHARS);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+        String[] columns = new String[header.size()];
+        Set<String> known = Set.of(COLUMNS);
+        for (int i = 0; i < columns.length; i++) {
+            // Spreadsheet exports often start with a byte order mark
+            String name = header.get(i).replace("﻿", "").trim();
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("unknown column '" + name + "'; expected " + String.join(",", COLUMNS));
+            }
+            columns[i] = name;
+        }
+
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.readRecord();
+            } catch (IllegalArgumentException e) {
+                // The rest of the file cannot be split into records reliably
+                run.reject(csv.getRecordLine(), e.getMessage());
+                return;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (record.size() != columns.length) {
+                run.reject(csv.getRecordLine(), "expected " + columns.length + " fields but found " + record.size());
+                continue;
+            }
+
+            ServiceBulkRow row = new ServiceBulkRow();
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    setField(row, columns[i], record.get(i).trim());
+                }
+            } catch (IllegalArgumentException e) {
+                run.reject(csv.getRecordLine(), e.getMessage());
+                continue;
+            }
+            run.accept(csv.getRecordLine(), row);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, MAX_NDJSON_LINE_CHARS);
+        while (true) {
+            String line;
+            try {
+                line = lines.readLine();
+            } catch (IllegalArgumentException e) {
+                run.reject(lines.getLineNumber(), e.getMessage());
+                continue;
+            }
+            if (line == null) {
+                return;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            ServiceBulkRow row;
+            try {
+                row = objectMapper.readValue(line, ServiceBulkRow.class);
+            } catch (JsonProcessingException e) {
+                run.reject(lines.getLineNumber(), e.getOriginalMessage());
+                continue;
+            }
+            run.accept(lines.getLineNumber(), row);
+        }
+    }
+
+    private static void setField(ServiceBulkRow row, String column, String value) {
+        if (value.isEmpty()) {
+            return;
+        }
+        try {
+            switch (column) {
+                case "id" -> row.setId(Long.parseLong(value));
+                case "name" -> row.setName(value);
+                case "description" -> row.setDescription(value);
+                case "category" -> row.setCategory(value);
+                case "subcategory" -> row.setSubcategory(value);
+                case "price" -> row.setPrice(new BigDecimal(value));
+                case "durationMinutes" -> row.setDurationMinutes(Integer.parseInt(value));
+                case "active" -> row.setActive(parseBoolean(value));
+                case "serviceArea" -> row.setServiceArea(value);
+                case "city" -> row.setCity(value);
+                case "district" -> row.setDistrict(value);
+                case "state" -> row.setState(value);
+                case "country" -> row.setCountry(value);
+                case "postalCode" -> row.setPostalCode(value);
+                case "latitude" -> row.setLatitude(Double.parseDouble(value));
+                case "longitude" -> row.setLongitude(Double.parseDouble(value));
+                case "serviceRadiusKm" -> row.setServiceRadiusKm(Integer.parseInt(value));
+                default -> throw new IllegalArgumentException("unknown column '" + column + "'");
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid " + column + " '" + value + "'");
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "1":
+                return true;
+            case "false", "no", "0":
+                return false;
+            default:
+                throw new IllegalArgumentException("invalid active '" + value + "'");
+        }
+    }
+
+    private String validate(ServiceBulkRow row) {
+        Set<String> messages = new TreeSet<>();
+        for (ConstraintViolation<ServiceBulkRow> violation : validator.validate(row)) {
+            messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        if (row.getLatitude() != null && (row.getLatitude() < -90 || row.getLatitude() > 90)) {
+            messages.add("latitude: must be between -90 and 90");
+        }
+        if (row.getLongitude() != null && (row.getLongitude() < -180 || row.getLongitude() > 180)) {
+            messages.add("longitude: must be between -180 and 180");
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private static void writeCsv(Writer writer, ServiceBulkRow row) throws IOException {
+        Object[] values = {row.getId(), row.getName(), row.getDescription(), row.getCategory(), row.getSubcategory(),
+                row.getPrice() != null ? row.getPrice().toPlainString() : null, row.getDurationMinutes(), row.getActive(),
+                row.getServiceArea(), row.getCity(), row.getDistrict(), row.getState(), row.getCountry(),
+                row.getPostalCode(), row.getLatitude(), row.getLongitude(), row.getServiceRadiusKm()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * State of one import: the pending batch and the running totals
+     */
+    private final class ImportRun {
+        final ServiceImportResponse result;
+        final List<PendingRow> batch = new ArrayList<>();
+        final Set<Long> batchIds = new HashSet<>();
+        final Set<String> batchNames = new HashSet<>();
+
+        ImportRun(ServiceImportResponse result) {
+            this.result = result;
+        }
+
+        void reject(long line, String error) {
+            result.setRowsRead(result.getRowsRead() + 1);
+            add(new PendingRow(line, null, error));
+        }
+
+        void accept(long line, ServiceBulkRow row) {
+            result.setRowsRead(result.getRowsRead() + 1);
+            String error = validate(row);
+            if (error != null) {
+                add(new PendingRow(line, null, error));
+                return;
+            }
+
+            // A second write to the same service must see the first one's result
+            boolean repeated = row.getId() != null
+                    ? batchIds.contains(row.getId())
+                    : batchNames.contains(nameKey(row.getName()));
+            if (repeated) {
+                flush();
+            }
+            if (row.getId() != null) {
+                batchIds.add(row.getId());
+            } else {
+                batchNames.add(nameKey(row.getName()));
+            }
+            add(new PendingRow(line, row, null));
+        }
+
+        private void add(PendingRow pending) {
+            batch.add(pending);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * Write the pending batch in one transaction, record row results in file
+         * order, then notify the catalog indexes
+         */
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Long providerId = result.getProviderId();
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(providerId));
+            } catch (DataAccessException e) {
+                for (PendingRow pending : batch) {
+                    if (pending.error == null) {
+                        pending.action = null;
+                        pending.serviceId = null;
+                        pending.error = "batch failed: " + e.getMostSpecificCause().getMessage();
+                    }
+                }
+            }
+
+            // Built after the commit, so the events are stamped later than it
+            List<ServiceChangedEvent> events = new ArrayList<>();
+            for (PendingRow pending : batch) {
+                if (pending.action == null) {
+                    continue;
+                }
+                ServiceBulkRow row = pending.row;
+                boolean active = row.getActive() != null ? row.getActive() : pending.before == null || pending.before.isActive();
+                ServiceChangedEvent.Snapshot after = new ServiceChangedEvent.Snapshot(pending.serviceId, providerId,
+                        row.getName(), row.getCategory(), row.getSubcategory(), row.getPrice(), active, row.getCity(),
+                        row.getLatitude(), row.getLongitude());
+                events.add(new ServiceChangedEvent(pending.before, after));
+            }
+
+            for (PendingRow pending : batch) {
+                RowResult.Action action = pending.error != null ? RowResult.Action.REJECTED : pending.action;
+                switch (action) {
+                    case CREATED -> result.setCreated(result.getCreated() + 1);
+                    case UPDATED -> result.setUpdated(result.getUpdated() + 1);
+                    case REJECTED -> result.setRejected(result.getRejected() + 1);
+                }
+                if (result.getRows().size() < MAX_ROW_RESULTS) {
+                    result.getRows().add(new RowResult(pending.line, action, pending.serviceId, pending.error));
+                } else {
+                    result.setRowsTruncated(true);
+                }
+            }
+            batch.clear();
+            batchIds.clear();
+            batchNames.clear();
+
+            for (ServiceChangedEvent event : events) {
+                eventPublisher.publishEvent(event);
+            }
+        }
+
+        private void write(Long providerId) {
+            List<Long> ids = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (PendingRow pending : batch) {
+                if (pending.row == null) {
+                    continue;
+                }
+                if (pending.row.getId() != null) {
+                    ids.add(pending.row.getId());
+                } else {
+                    names.add(nameKey(pending.row.getName()));
+                }
+            }
+            Map<Long, ServiceChangedEvent.Snapshot> byId = new HashMap<>();
+            Map<String, List<ServiceChangedEvent.Snapshot>> byName = new HashMap<>();
+            if (!ids.isEmpty()) {
+                for (ServiceChangedEvent.Snapshot existing : existing(EXISTING_BY_ID_SQL, "ids", ids, providerId)) {
+                    byId.put(existing.getServiceId(), existing);
+                }
+            }
+            if (!names.isEmpty()) {
+                for (ServiceChangedEvent.Snapshot existing : existing(EXISTING_BY_NAME_SQL, "names", names, providerId)) {
+                    byName.computeIfAbsent(nameKey(existing.getName()), n -> new ArrayList<>()).add(existing);
+                }
+            }
+
+            // Decide per row between update, insert and reject
+            List<PendingRow> updates = new ArrayList<>();
+            List<PendingRow> inserts = new ArrayList<>();
+            for (PendingRow pending : batch) {
+                if (pending.row == null) {
+                    continue;
+                }
+                if (pending.row.getId() != null) {
+                    pending.before = byId.get(pending.row.getId());
+                    if (pending.before == null) {
+                        pending.error = "service " + pending.row.getId() + " not found for this provider";
+                        continue;
+                    }
+                    updates.add(pending);
+                } else {
+                    List<ServiceChangedEvent.Snapshot> matches = byName.getOrDefault(nameKey(pending.row.getName()), List.of());
+                    if (matches.size() > 1) {
+                        pending.error = "several services are named '" + pending.row.getName() + "'; set id to pick one";
+                    } else if (matches.size() == 1) {
+                        pending.before = matches.get(0);
+                        updates.add(pending);
+                    } else {
+                        inserts.add(pending);
+                    }
+                }
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            if (!updates.isEmpty()) {
+                SqlParameterSource[] args = new SqlParameterSource[updates.size()];
+                for (int i = 0; i < args.length; i++) {
+                    PendingRow pending = updates.get(i);
+                    args[i] = parameters(pending.row, providerId, now).addValue("id", pending.before.getServiceId());
+                }
+                namedParameterJdbcTemplate.batchUpdate(UPDATE_SQL, args);
+                for (PendingRow pending : updates) {
+                    pending.action = RowResult.Action.UPDATED;
+                    pending.serviceId = pending.before.getServiceId();
+                }
+            }
+            if (!inserts.isEmpty()) {
+                SqlParameterSource[] args = new SqlParameterSource[inserts.size()];
+                for (int i = 0; i < args.length; i++) {
+                    args[i] = parameters(inserts.get(i).row, providerId, now);
+                }
+                KeyHolder keys = new GeneratedKeyHolder();
+                namedParameterJdbcTemplate.batchUpdate(INSERT_SQL, args, keys, new String[] {"id"});
+                List<Map<String, Object>> keyList = keys.getKeyList();
+                for (int i = 0; i < inserts.size(); i++) {
+                    PendingRow pending = inserts.get(i);
+                    pending.action = RowResult.Action.CREATED;
+                    pending.serviceId = ((Number) keyList.get(i).values().iterator().next()).longValue();
+                }
+            }
+        }
+
+        private List<ServiceChangedEvent.Snapshot> existing(String sql, String listParameter, List<?> values, Long providerId) {
+            return namedParameterJdbcTemplate.query(sql,
+                    new MapSqlParameterSource("providerId", providerId).addValue(listParameter, values),
+                    (rs, rowNum) -> new ServiceChangedEvent.Snapshot(
+                            rs.getLong("id"), providerId, rs.getString("name"), rs.getString("category"),
+                            rs.getString("subcategory"), rs.getBigDecimal("price"), rs.getBoolean("active"),
+                            rs.getString("location_city"), rs.getObject("location_latitude", Double.class),
+                            rs.getObject("location_longitude", Double.class)));
+        }
+
+        private MapSqlParameterSource parameters(ServiceBulkRow row, Long providerId, Timestamp now) {
+            return new MapSqlParameterSource("providerId", providerId)
+                    .addValue("name", row.getName().trim())
+                    .addValue("description", row.getDescription())
+                    .addValue("category", row.getCategory())
+                    .addValue("subcategory", row.getSubcategory())
+                    .addValue("price", row.getPrice())
+                    .addValue("durationMinutes", row.getDurationMinutes())
+                    .addValue("active", row.getActive())
+                    .addValue("serviceArea", row.getServiceArea())
+                    .addValue("city", row.getCity())
+                    .addValue("district", row.getDistrict())
+                    .addValue("state", row.getState())
+                    .addValue("country", row.getCountry())
+                    .addValue("postalCode", row.getPostalCode())
+                    .addValue("latitude", row.getLatitude())
+                    .addValue("longitude", row.getLongitude())
+                    .addValue("serviceRadiusKm", row.getServiceRadiusKm())
+                    .addValue("now", now);
+        }
+    }
+
+    private static final class PendingRow {
+        final long line;
+        final ServiceBulkRow row;
+        String error;
+        RowResult.Action action;
+        Long serviceId;
+        ServiceChangedEvent.Snapshot before;
+
+        PendingRow(long line, ServiceBulkRow row, String error) {
+            this.line = line;
+            this.row = row;
+            this.error = error;
+        }
+    }
+}
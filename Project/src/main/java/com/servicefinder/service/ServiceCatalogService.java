@@ -0,0 +1,270 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.ServiceCatalogResponse;
+import com.servicefinder.dto.ServiceResponse;
+import com.servicefinder.model.Service;
+import com.servicefinder.model.ServiceProvider;
+import com.servicefinder.model.User;
+import com.servicefinder.repository.ServiceRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog query engine for services. Every filter is optional and all given
+ * filters are combined into one Criteria query, so results, pagination and facet
+ * counts always agree. Facets are disjunctive: category counts ignore the
+ * category filter and price bucket counts ignore the price filter, so the client
+ * can show what else is available. Equality and range filters line up with the
+ * (active, ...) indexes on the services table.
+ */
+@org.springframework.stereotype.Service
+public class ServiceCatalogService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    // Upper bounds of the price facet buckets; the last bucket is open-ended
+    @Value("${catalog.price-buckets:500,1000,2500,5000}")
+    private String priceBucketBounds;
+
+    @Value("${catalog.max-category-facets:50}")
+    private int maxCategoryFacets;
+
+    private BigDecimal[] bucketBounds;
+
+    @PostConstruct
+    public void init() {
+        String[] parts = priceBucketBounds.split(",");
+        bucketBounds = new BigDecimal[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            bucketBounds[i] = new BigDecimal(parts[i].trim());
+        }
+    }
+
+    /**
+     * One page of matching services plus category and price facet counts
+     */
+    @Transactional(readOnly = true)
+    public ServiceCatalogResponse search(CatalogFilter filter, int page, int size, String sort) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)), toSort(sort));
+        Page<Service> result = serviceRepository.findAll(toSpecification(filter), pageRequest);
+
+        ServiceCatalogResponse response = new ServiceCatalogResponse();
+        response.setContent(result.getContent().stream().map(ServiceResponse::new).collect(Collectors.toList()));
+        response.setPage(result.getNumber());
+        response.setSize(result.getSize());
+        response.setTotalElements(result.getTotalElements());
+        response.setTotalPages(result.getTotalPages());
+        response.setCategories(categoryFacets(filter));
+        response.setPriceBuckets(priceFacets(filter));
+        return response;
+    }
+
+    /**
+     * All matching services, unpaginated (backs the legacy GET /services list)
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceResponse> findAll(CatalogFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ServiceResponse> query = cb.createQuery(ServiceResponse.class);
+        Root<Service> root = query.from(Service.class);
+
+        // Same columns as ServiceRepository.SERVICE_RESPONSE_SELECT: one statement, no entities
+        Join<Service, ServiceProvider> provider = root.join("serviceProvider", JoinType.LEFT);
+        Join<ServiceProvider, User> user = provider.join("user", JoinType.LEFT);
+        query.select(cb.construct(ServiceResponse.class,
+                        root.get("id"), root.get("name"), root.get("description"), root.get("category"),
+                        root.get("subcategory"), root.get("price"), root.get("durationMinutes"), root.get("active"),
+                        root.get("createdAt"), root.get("updatedAt"), root.get("serviceArea"), root.get("locationCity"),
+                        root.get("locationDistrict"), root.get("locationState"), root.get("locationCountry"),
+                        root.get("locationPostalCode"), root.get("locationLatitude"), root.get("locationLongitude"),
+                        root.get("serviceRadiusKm"),
+                        provider.get("id"), provider.get("businessName"), provider.get("averageRating"),
+                        provider.get("totalRatings"), provider.get("verificationStatus"), provider.get("available"),
+                        user.get("id"), user.get("firstName"), user.get("lastName"), user.get("email"),
+                        user.get("phoneNumber")))
+                .where(predicates(cb, root, filter, true, true).toArray(new Predicate[0]))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    public Specification<Service> toSpecification(CatalogFilter filter) {
+        return (root, query, cb) -> cb.and(predicates(cb, root, filter, true, true).toArray(new Predicate[0]));
+    }
+
+    private List<ServiceCatalogResponse.FacetCount> categoryFacets(CatalogFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Service> root = query.from(Service.class);
+
+        List<Predicate> predicates = predicates(cb, root, filter, false, true);
+        predicates.add(cb.isNotNull(root.get("category")));
+        Expression<Long> count = cb.count(root);
+        query.multiselect(root.get("category"), count)
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(root.get("category"))
+                .orderBy(cb.desc(count), cb.asc(root.get("category")));
+
+        List<ServiceCatalogResponse.FacetCount> facets = new ArrayList<>();
+        for (Object[] row : entityManager.createQuery(query).setMaxResults(maxCategoryFacets).getResultList()) {
+            facets.add(new ServiceCatalogResponse.FacetCount((String) row[0], ((Number) row[1]).longValue()));
+        }
+        return facets;
+    }
+
+    private List<ServiceCatalogResponse.PriceBucket> priceFacets(CatalogFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Service> root = query.from(Service.class);
+
+        // Bucket index per row, counted in a single GROUP BY
+        Expression<BigDecimal> price = root.get("price");
+        CriteriaBuilder.Case<Integer> bucketCase = cb.selectCase();
+        for (int i = 0; i < bucketBounds.length; i++) {
+            bucketCase = bucketCase.when(cb.lessThan(price, bucketBounds[i]), i);
+        }
+        Expression<Integer> bucket = bucketCase.otherwise(bucketBounds.length);
+
+        List<Predicate> predicates = predicates(cb, root, filter, true, false);
+        predicates.add(cb.isNotNull(price));
+        query.multiselect(bucket, cb.count(root))
+                .where(predicates.toArray(new Predicate[0]))
+                .groupBy(bucket);
+
+        long[] counts = new long[bucketBounds.length + 1];
+        for (Object[] row : entityManager.createQuery(query).getResultList()) {
+            counts[((Number) row[0]).intValue()] = ((Number) row[1]).longValue();
+        }
+
+        List<ServiceCatalogResponse.PriceBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal min = i == 0 ? BigDecimal.ZERO : bucketBounds[i - 1];
+            BigDecimal max = i < bucketBounds.length ? bucketBounds[i] : null;
+            buckets.add(new ServiceCatalogResponse.PriceBucket(min, max, counts[i]));
+        }
+        return buckets;
+    }
+
+    private List<Predicate> predicates(CriteriaBuilder cb, Root<Service> root, CatalogFilter filter,
+                                       boolean withCategory, boolean withPrice) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(root.get("active")));
+
+        if (withCategory && hasText(filter.getCategory())) {
+            predicates.add(cb.equal(root.get("category"), filter.getCategory().trim()));
+        }
+        if (hasText(filter.getSubcategory())) {
+            predicates.add(cb.equal(root.get("subcategory"), filter.getSubcategory().trim()));
+        }
+        if (hasText(filter.getCity())) {
+            predicates.add(cb.equal(root.get("locationCity"), filter.getCity().trim()));
+        }
+        if (withPrice && filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+        }
+        if (withPrice && filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+        }
+        if (filter.getMinRating() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(providerJoin(root).get("averageRating"), filter.getMinRating()));
+        }
+        if (hasText(filter.getKeyword())) {
+            String pattern = "%" + escapeLike(filter.getKeyword().trim().toLowerCase(Locale.ROOT)) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("description")), pattern, '\\')));
+        }
+        return predicates;
+    }
+
+    // Reuse the query's provider join (e.g. the projection's LEFT join) rather than adding a second one
+    @SuppressWarnings("unchecked")
+    private static Join<Service, ServiceProvider> providerJoin(Root<Service> root) {
+        for (Join<Service, ?> join : root.getJoins()) {
+            if ("serviceProvider".equals(join.getAttribute().getName())) {
+                return (Join<Service, ServiceProvider>) join;
+            }
+        }
+        return root.join("serviceProvider");
+    }
+
+    private static Sort toSort(String sort) {
+        if (sort == null) {
+            return Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id"));
+        }
+        switch (sort.trim().toLowerCase(Locale.ROOT)) {
+            case "price_asc":
+                return Sort.by(Sort.Direction.ASC, "price").and(Sort.by("id"));
+            case "price_desc":
+                return Sort.by(Sort.Direction.DESC, "price").and(Sort.by("id"));
+            case "rating":
+                return Sort.by(Sort.Direction.DESC, "serviceProvider.averageRating").and(Sort.by("id"));
+            case "name":
+                return Sort.by(Sort.Direction.ASC, "name").and(Sort.by("id"));
+            default:
+                return Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id"));
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Optional catalog filters; null or blank values are ignored
+     */
+    public static class CatalogFilter {
+        private String keyword;
+        private String category;
+        private String subcategory;
+        private String city;
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+        private BigDecimal minRating;
+
+        public String getKeyword() { return keyword; }
+        public void setKeyword(String keyword) { this.keyword = keyword; }
+        public String getCategory() { return category; }
+        public void setCategory(String category) { this.category = category; }
+        public String getSubcategory() { return subcategory; }
+        public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+        public BigDecimal getMinPrice() { return minPrice; }
+        public void setMinPrice(BigDecimal minPrice) { this.minPrice = minPrice; }
+        public BigDecimal getMaxPrice() { return maxPrice; }
+        public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+        public BigDecimal getMinRating() { return minRating; }
+        public void setMinRating(BigDecimal minRating) { this.minRating = minRating; }
+    }
+}
@@ -0,0 +1,438 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.ServiceDiscoveryResponse;
+import com.servicefinder.dto.ServiceResponse;
+import com.servicefinder.event.ProviderChangedEvent;
+import com.servicefinder.event.ServiceChangedEvent;
+import com.servicefinder.model.Service;
+import com.servicefinder.repository.ServiceProviderRepository;
+import com.servicefinder.repository.ServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index answering "services of a category within a radius and price range"
+ * in one pass, sorted by distance or price.
+ *
+ * Services are partitioned by category, then bucketed into a fixed lat/lon grid;
+ * each grid cell keeps its services in a skip list ordered by price. A query visits
+ * only the cells overlapping the search circle's bounding box, takes the price
+ * sub-range of each cell directly, and checks the exact distance. Price order is a
+ * k-way merge of the cells' sorted ranges that stops once the requested page is full;
+ * distance order keeps a bounded heap of the closest matches.
+ *
+ * A service is located at its own coordinates, or at its provider's when it has
+ * none. Service and provider change events update the index in place; a periodic
+ * rebuild picks up changes made on other nodes. Service events stamped before the
+ * rebuild's read are already in it and are skipped, so a delayed event cannot put
+ * back an older version of a service.
+ */
+@Component
+public class ServiceDiscoveryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceDiscoveryIndex.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    public enum SortOrder { DISTANCE, PRICE }
+
+    // Cheapest first, unpriced last; service ID breaks ties so entries are unique
+    private static final Comparator<Entry> BY_PRICE = Comparator
+            .comparing((Entry e) -> e.price, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(e -> e.serviceId);
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    @Value("${discovery.cell-km:5}")
+    private double cellKm;
+
+    private volatile State state = new State();
+    // System.nanoTime() when the last rebuild started reading; guarded by this
+    private long readStartedAt = System.nanoTime();
+
+    /**
+     * One page of active services within radiusKm of the point, optionally restricted
+     * to a category and price range
+     */
+    public ServiceDiscoveryResponse search(String category, double latitude, double longitude, double radiusKm,
+                                           BigDecimal minPrice, BigDecimal maxPrice, SortOrder sort,
+                                           int page, int size) {
+        GeolocationService.BoundingBox box = geolocationService.getBoundingBox(latitude, longitude, radiusKm);
+        if (box == null) {
+            throw new RuntimeException("Invalid location or radius");
+        }
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new RuntimeException("minPrice must not exceed maxPrice");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        // One extra match tells whether another page exists
+        int wanted = pageNumber * pageSize + pageSize + 1;
+
+        State current = state;
+        List<NavigableSet<Entry>> ranges = priceRanges(current, category, box, minPrice, maxPrice);
+        List<Match> matches = sort == SortOrder.PRICE
+                ? byPrice(current, ranges, latitude, longitude, radiusKm, wanted)
+                : byDistance(current, ranges, latitude, longitude, radiusKm, wanted);
+
+        ServiceDiscoveryResponse response = new ServiceDiscoveryResponse(pageNumber, pageSize, matches.size() == wanted);
+        int from = Math.min(matches.size(), pageNumber * pageSize);
+        List<Match> pageMatches = matches.subList(from, Math.min(matches.size(), from + pageSize));
+        if (pageMatches.isEmpty()) {
+            return response;
+        }
+
+        List<Long> ids = pageMatches.stream().map(m -> m.entry.serviceId).collect(Collectors.toList());
+        Map<Long, Service> byId = serviceRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Service::getId, Function.identity()));
+        for (Match match : pageMatches) {
+            Service service = byId.get(match.entry.serviceId);
+            if (service != null && Boolean.TRUE.equals(service.getActive())) {
+                response.getContent().add(new ServiceDiscoveryResponse.Result(new ServiceResponse(service), match.distanceKm));
+            }
+        }
+        return response;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload every active service from the database and swap in the new index
+     */
+    @Scheduled(initialDelayString = "${discovery.rebuild-ms:600000}", fixedDelayString = "${discovery.rebuild-ms:600000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        readStartedAt = started;
+        State fresh = new State();
+        for (Object[] row : serviceRepository.findActiveDiscoveryRows()) {
+            Long providerId = (Long) row[1];
+            Double providerLat = (Double) row[6];
+            Double providerLon = (Double) row[7];
+            if (providerLat != null && providerLon != null) {
+                fresh.providerLocations.put(providerId, new double[] { providerLat, providerLon });
+            }
+            if (!Boolean.TRUE.equals(row[8])) {
+                fresh.unavailableProviders.add(providerId);
+            }
+            add(fresh, (Long) row[0], providerId, (String) row[2], (BigDecimal) row[3], (Double) row[4], (Double) row[5]);
+        }
+        state = fresh;
+        logger.info("Rebuilt service discovery index: {} services in {} ms", fresh.byService.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @EventListener
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        if (event.isCoveredBy(readStartedAt)) {
+            return;
+        }
+        State current = state;
+        if (event.getBefore() != null) {
+            remove(current, event.getBefore().getServiceId());
+        }
+        ServiceChangedEvent.Snapshot after = event.getAfter();
+        if (after != null && after.isActive()) {
+            if (after.getProviderId() != null && !current.providerLocations.containsKey(after.getProviderId())) {
+                for (Object[] location : serviceProviderRepository.findLocationById(after.getProviderId())) {
+                    if (location[0] != null && location[1] != null) {
+                        current.providerLocations.put(after.getProviderId(),
+                                new double[] { (Double) location[0], (Double) location[1] });
+                    }
+                }
+            }
+            add(current, after.getServiceId(), after.getProviderId(), after.getCategory(), after.getPrice(),
+                    after.getLatitude(), after.getLongitude());
+        }
+    }
+
+    @EventListener
+    public synchronized void onProviderChanged(ProviderChangedEvent event) {
+        if (event.isAvailable()) {
+            state.unavailableProviders.remove(event.getProviderId());
+        } else {
+            state.unavailableProviders.add(event.getProviderId());
+        }
+    }
+
+    private void add(State target, Long serviceId, Long providerId, String category, BigDecimal price,
+                     Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            double[] providerLocation = providerId != null ? target.providerLocations.get(providerId) : null;
+            if (providerLocation == null) {
+                // Nowhere to put it on the map
+                return;
+            }
+            latitude = providerLocation[0];
+            longitude = providerLocation[1];
+        }
+        if (!geolocationService.isValidLocation(latitude, longitude)) {
+            return;
+        }
+
+        Entry entry = new Entry(serviceId, providerId, categoryKey(category), price, latitude, longitude,
+                cell(latRow(latitude), lonColumn(longitude)));
+        remove(target, serviceId);
+        target.byService.put(serviceId, entry);
+        target.partitions.computeIfAbsent(entry.category, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(entry.cell, c -> new ConcurrentSkipListSet<>(BY_PRICE))
+                .add(entry);
+    }
+
+    private void remove(State target, Long serviceId) {
+        Entry entry = target.byService.remove(serviceId);
+        if (entry == null) {
+            return;
+        }
+        Map<Long, ConcurrentSkipListSet<Entry>> cells = target.partitions.get(entry.category);
+        if (cells != null) {
+            ConcurrentSkipListSet<Entry> entries = cells.get(entry.cell);
+            if (entries != null) {
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    cells.remove(entry.cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * The price-bounded slice of every cell overlapping the bounding box, in the
+     * requested category or in all of them
+     */
+    private List<NavigableSet<Entry>> priceRanges(State current, String category, GeolocationService.BoundingBox box,
+                                                  BigDecimal minPrice, BigDecimal maxPrice) {
+        Collection<Map<Long, ConcurrentSkipListSet<Entry>>> partitions;
+        if (category != null && !category.isBlank()) {
+            Map<Long, ConcurrentSkipListSet<Entry>> partition = current.partitions.get(categoryKey(category));
+            partitions = partition != null ? List.of(partition) : List.of();
+        } else {
+            partitions = current.partitions.values();
+        }
+
+        int minRow = latRow(box.getMinLatitude());
+        int maxRow = latRow(box.getMaxLatitude());
+        int minColumn = lonColumn(box.getMinLongitude());
+        int maxColumn = lonColumn(box.getMaxLongitude());
+        long boxCells = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+
+        List<NavigableSet<Entry>> ranges = new ArrayList<>();
+        for (Map<Long, ConcurrentSkipListSet<Entry>> cells : partitions) {
+            if (boxCells <= cells.size()) {
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int column = minColumn; column <= maxColumn; column++) {
+                        addRange(ranges, cells.get(cell(row, column)), minPrice, maxPrice);
+                    }
+                }
+            } else {
+                // Sparse partition: cheaper to test its occupied cells against the box
+                for (Map.Entry<Long, ConcurrentSkipListSet<Entry>> cell : cells.entrySet()) {
+                    int row = (int) (cell.getKey() >> 32);
+                    int column = (int) (long) cell.getKey();
+                    if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn) {
+                        addRange(ranges, cell.getValue(), minPrice, maxPrice);
+                    }
+                }
+            }
+        }
+        return ranges;
+    }
+
+    private static void addRange(List<NavigableSet<Entry>> ranges, ConcurrentSkipListSet<Entry> entries,
+                                 BigDecimal minPrice, BigDecimal maxPrice) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        NavigableSet<Entry> range = entries;
+        if (minPrice != null) {
+            range = range.tailSet(Entry.bound(minPrice, Long.MIN_VALUE), true);
+        }
+        if (maxPrice != null) {
+            range = range.headSet(Entry.bound(maxPrice, Long.MAX_VALUE), true);
+        } else if (minPrice != null) {
+            // Unpriced services sort last and never satisfy a price filter
+            range = range.headSet(Entry.bound(null, Long.MIN_VALUE), false);
+        }
+        ranges.add(range);
+    }
+
+    /**
+     * Cheapest matches first: merge the cells' price-ordered ranges, stopping once enough
+     * services inside the radius have been found
+     */
+    private List<Match> byPrice(State current, List<NavigableSet<Entry>> ranges, double latitude, double longitude,
+                                double radiusKm, int wanted) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparing((Cursor c) -> c.head, BY_PRICE));
+        for (NavigableSet<Entry> range : ranges) {
+            Cursor cursor = new Cursor(range.iterator());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        while (!heads.isEmpty() && matches.size() < wanted) {
+            Cursor cursor = heads.poll();
+            Entry entry = cursor.head;
+            if (isVisible(current, entry)) {
+                double distance = geolocationService.calculateDistance(latitude, longitude, entry.latitude, entry.longitude);
+                if (distance <= radiusKm) {
+                    matches.add(new Match(entry, distance));
+                }
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Closest matches first, keeping only the nearest {@code wanted} in a bounded heap
+     */
+    private List<Match> byDistance(State current, List<NavigableSet<Entry>> ranges, double latitude, double longitude,
+                                   double radiusKm, int wanted) {
+        Comparator<Match> nearestFirst = Comparator.comparingDouble((Match m) -> m.distanceKm)
+                .thenComparingLong(m -> m.entry.serviceId);
+        PriorityQueue<Match> nearest = new PriorityQueue<>(nearestFirst.reversed());
+        for (NavigableSet<Entry> range : ranges) {
+            for (Entry entry : range) {
+                if (!isVisible(current, entry)) {
+                    continue;
+                }
+                double distance = geolocationService.calculateDistance(latitude, longitude, entry.latitude, entry.longitude);
+                if (distance > radiusKm) {
+                    continue;
+                }
+                Match match = new Match(entry, distance);
+                if (nearest.size() < wanted) {
+                    nearest.add(match);
+                } else if (nearestFirst.compare(match, nearest.peek()) < 0) {
+                    nearest.poll();
+                    nearest.add(match);
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(nearest);
+        matches.sort(nearestFirst);
+        return matches;
+    }
+
+    private static boolean isVisible(State current, Entry entry) {
+        return entry.providerId == null || !current.unavailableProviders.contains(entry.providerId);
+    }
+
+    private int latRow(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellDegrees());
+    }
+
+    private int lonColumn(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellDegrees());
+    }
+
+    private double cellDegrees() {
+        return Math.max(0.1, cellKm) / KM_PER_DEGREE;
+    }
+
+    private static long cell(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static String categoryKey(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One generation of the index. Writers are serialized by the component's monitor;
+     * readers see the concurrent collections without locking.
+     */
+    private static final class State {
+        // category -> grid cell -> services by price
+        final Map<String, Map<Long, ConcurrentSkipListSet<Entry>>> partitions = new ConcurrentHashMap<>();
+        final Map<Long, Entry> byService = new ConcurrentHashMap<>();
+        final Map<Long, double[]> providerLocations = new ConcurrentHashMap<>();
+        final Set<Long> unavailableProviders = ConcurrentHashMap.newKeySet();
+    }
+
+    private static final class Entry {
+        final long serviceId;
+        final Long providerId;
+        final String category;
+        final BigDecimal price;
+        final double latitude;
+        final double longitude;
+        final long cell;
+
+        Entry(long serviceId, Long providerId, String category, BigDecimal price, double latitude, double longitude, long cell) {
+            this.serviceId = serviceId;
+            this.providerId = providerId;
+            this.category = category;
+            this.price = price;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+
+        // Search key for price-range slicing
+        static Entry bound(BigDecimal price, long serviceId) {
+            return new Entry(serviceId, null, null, price, 0, 0, 0);
+        }
+    }
+
+    private static final class Match {
+        final Entry entry;
+        final double distanceKm;
+
+        Match(Entry entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+    }
+
+    private static final class Cursor {
+        final Iterator<Entry> iterator;
+        Entry head;
+
+        Cursor(Iterator<Entry> iterator) {
+            this.iterator = iterator;
+        }
+
+        boolean advance() {
+            head = iterator.hasNext() ? iterator.next() : null;
+            return head != null;
+        }
+    }
+}
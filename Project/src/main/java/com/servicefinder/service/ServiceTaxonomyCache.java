@@ -0,0 +1,199 @@
+package com.servicefinder.service;
+
+import com.servicefinder.dto.CategoryTaxonomyResponse;
+import com.servicefinder.event.ServiceChangedEvent;
+import com.servicefinder.repository.ServiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory category/subcategory taxonomy with active service counts.
+ *
+ * Service create/update/delete events adjust the counts in place and publish a new
+ * immutable snapshot, so reads never hit the database. The ETag is a hash of the
+ * snapshot content, so every node serving the same taxonomy hands out the same tag.
+ * A periodic rebuild picks up changes saved on other nodes and repairs any drift.
+ * Events are published after their commit, so one can reach the cache after a
+ * rebuild that already counted it; events stamped before the rebuild's read are skipped.
+ */
+@Component
+public class ServiceTaxonomyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTaxonomyCache.class);
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    // category -> active service count, and category -> subcategory -> count; guarded by this
+    private final TreeMap<String, Long> categoryCounts = new TreeMap<>();
+    private final TreeMap<String, TreeMap<String, Long>> subcategoryCounts = new TreeMap<>();
+    // System.nanoTime() when the last rebuild started reading; guarded by this
+    private long readStartedAt;
+
+    private volatile Taxonomy taxonomy;
+
+    /**
+     * Current taxonomy snapshot, built on first use
+     */
+    public Taxonomy get() {
+        Taxonomy current = taxonomy;
+        if (current == null) {
+            rebuild();
+            current = taxonomy;
+        }
+        return current;
+    }
+
+    /**
+     * Rebuild once startup runners (e.g. seed data) have finished, in case a request
+     * built the taxonomy before them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${catalog.taxonomy.rebuild-ms:300000}", fixedDelayString = "${catalog.taxonomy.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        categoryCounts.clear();
+        subcategoryCounts.clear();
+        readStartedAt = System.nanoTime();
+        for (Object[] row : serviceRepository.countActiveByCategoryAndSubcategory()) {
+            add((String) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+
+        Taxonomy previous = taxonomy;
+        publish();
+        if (previous != null && !previous.getEtag().equals(taxonomy.getEtag())) {
+            logger.info("Service taxonomy changed on rebuild: {} categories", taxonomy.getCategoryNames().size());
+        }
+    }
+
+    @EventListener
+    public synchronized void onServiceChanged(ServiceChangedEvent event) {
+        if (taxonomy == null || event.isCoveredBy(readStartedAt)) {
+            // Not built yet, or the last rebuild already loaded this change
+            return;
+        }
+        ServiceChangedEvent.Snapshot before = event.getBefore();
+        ServiceChangedEvent.Snapshot after = event.getAfter();
+        if (before != null && before.isActive()) {
+            add(before.getCategory(), before.getSubcategory(), -1);
+        }
+        if (after != null && after.isActive()) {
+            add(after.getCategory(), after.getSubcategory(), 1);
+        }
+        publish();
+    }
+
+    private void add(String category, String subcategory, long delta) {
+        if (isBlank(category)) {
+            return;
+        }
+        categoryCounts.merge(category, delta, Long::sum);
+        if (categoryCounts.get(category) <= 0) {
+            categoryCounts.remove(category);
+        }
+
+        if (!isBlank(subcategory)) {
+            TreeMap<String, Long> subcategories = subcategoryCounts.computeIfAbsent(category, c -> new TreeMap<>());
+            subcategories.merge(subcategory, delta, Long::sum);
+            if (subcategories.get(subcategory) <= 0) {
+                subcategories.remove(subcategory);
+            }
+            if (subcategories.isEmpty()) {
+                subcategoryCounts.remove(category);
+            }
+        }
+    }
+
+    private void publish() {
+        List<CategoryTaxonomyResponse> categories = new ArrayList<>();
+        List<String> categoryNames = new ArrayList<>();
+        Map<String, List<String>> subcategoryNames = new HashMap<>();
+        StringBuilder canonical = new StringBuilder();
+
+        for (Map.Entry<String, Long> category : categoryCounts.entrySet()) {
+            List<CategoryTaxonomyResponse.SubcategoryCount> subcategories = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            canonical.append(category.getKey()).append('\t').append(category.getValue()).append('\n');
+
+            for (Map.Entry<String, Long> sub : subcategoryCounts.getOrDefault(category.getKey(), new TreeMap<>()).entrySet()) {
+                subcategories.add(new CategoryTaxonomyResponse.SubcategoryCount(sub.getKey(), sub.getValue()));
+                names.add(sub.getKey());
+                canonical.append('\t').append(sub.getKey()).append('\t').append(sub.getValue()).append('\n');
+            }
+
+            categories.add(new CategoryTaxonomyResponse(category.getKey(), category.getValue(),
+                    Collections.unmodifiableList(subcategories)));
+            categoryNames.add(category.getKey());
+            subcategoryNames.put(category.getKey(), Collections.unmodifiableList(names));
+        }
+
+        taxonomy = new Taxonomy(Collections.unmodifiableList(categories), Collections.unmodifiableList(categoryNames),
+                subcategoryNames, hash(canonical.toString()));
+    }
+
+    private static String hash(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "\"tx-" + HexFormat.of().formatHex(digest, 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    /**
+     * Immutable taxonomy snapshot
+     */
+    public static final class Taxonomy {
+        private final List<CategoryTaxonomyResponse> categories;
+        private final List<String> categoryNames;
+        private final Map<String, List<String>> subcategoryNames;
+        private final String etag;
+
+        Taxonomy(List<CategoryTaxonomyResponse> categories, List<String> categoryNames,
+                 Map<String, List<String>> subcategoryNames, String etag) {
+            this.categories = categories;
+            this.categoryNames = categoryNames;
+            this.subcategoryNames = subcategoryNames;
+            this.etag = etag;
+        }
+
+        public List<CategoryTaxonomyResponse> getCategories() {
+            return categories;
+        }
+
+        public List<String> getCategoryNames() {
+            return categoryNames;
+        }
+
+        public List<String> getSubcategoryNames(String category) {
+            return subcategoryNames.getOrDefault(category, Collections.emptyList());
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
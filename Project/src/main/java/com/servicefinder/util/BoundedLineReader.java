@@ -0,0 +1,87 @@
+package com.servicefinder.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Line reader with a cap on line length, for untrusted uploads where
+ * BufferedReader.readLine() would buffer a single endless line in full.
+ *
+ * Lines end at CRLF, LF or CR. A line longer than maxLineChars is skipped up to
+ * its end and reported with IllegalArgumentException, so the caller can reject it
+ * and carry on with the next line.
+ */
+public class BoundedLineReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final int maxLineChars;
+    private final StringBuilder buffer = new StringBuilder();
+    private int pushedBack = NONE;
+    private long lineNumber;
+
+    public BoundedLineReader(Reader in, int maxLineChars) {
+        this.in = in;
+        this.maxLineChars = maxLineChars;
+    }
+
+    /**
+     * Next line without its terminator, or null at end of input
+     * @throws IllegalArgumentException if the line exceeds maxLineChars; the line is consumed
+     */
+    public String readLine() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        lineNumber++;
+        buffer.setLength(0);
+
+        boolean tooLong = false;
+        while (c != EOF && c != '\n' && c != '\r') {
+            if (buffer.length() < maxLineChars) {
+                buffer.append((char) c);
+            } else {
+                // Keep reading to the end of the line, but stop buffering it
+                tooLong = true;
+            }
+            c = read();
+        }
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+
+        if (tooLong) {
+            buffer.setLength(0);
+            throw new IllegalArgumentException("line exceeds " + maxLineChars + " characters");
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * Line number (1-based) of the last line read
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+}
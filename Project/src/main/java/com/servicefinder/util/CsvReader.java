@@ -0,0 +1,129 @@
+package com.servicefinder.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader: one record at a time, so memory depends on the
+ * longest record rather than the file size.
+ *
+ * Fields may be quoted; inside quotes, commas and line breaks are literal and ""
+ * is a quote. Records end at CRLF, LF or CR. A quote inside an unquoted field is
+ * kept as-is. Records longer than maxRecordChars (e.g. an unterminated quote
+ * swallowing the rest of the file) are rejected with IllegalArgumentException.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int EOF = -1;
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final int maxRecordChars;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader in, int maxRecordChars) {
+        this.in = in;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /**
+     * Next record's fields, or null at end of input. A blank line is a record with
+     * one empty field.
+     */
+    public List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (++recordChars > maxRecordChars) {
+                throw new IllegalArgumentException("record starting on line " + recordLine + " exceeds "
+                        + maxRecordChars + " characters");
+            }
+
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c != EOF) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * Line number (1-based) on which the last returned record started
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        int c = read();
+        unread(c);
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
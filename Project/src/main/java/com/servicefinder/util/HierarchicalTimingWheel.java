@@ -0,0 +1,153 @@
+package com.servicefinder.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) for large numbers of timers.
+ *
+ * Level 0 has {@code wheelSize} slots of {@code tickMillis} each. Every higher level
+ * has slots {@code wheelSize} times wider. A timer goes into the finest level that
+ * can hold its deadline. When time reaches a coarse slot, its timers are re-added
+ * and move down a level. Timers past the top level wait in an overflow list.
+ * Scheduling is O(1), and advancing costs O(levels) per tick plus the timers that fire.
+ *
+ * Not thread-safe on its own; all public methods are synchronized.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static class Entry<T> {
+        final T item;
+        final long deadline;
+
+        Entry(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+    }
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<Entry<T>> overdue = new ArrayList<>();
+
+    // Start of the current level-0 tick; everything before it has fired
+    private long currentTime;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel configuration");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levelTicks = new long[levelCount];
+
+        long tick = tickMillis;
+        for (int i = 0; i < levelCount; i++) {
+            levelTicks[i] = tick;
+            List<Entry<T>>[] slots = new List[wheelSize];
+            for (int j = 0; j < wheelSize; j++) {
+                slots[j] = new ArrayList<>();
+            }
+            levels.add(slots);
+            tick = Math.multiplyExact(tick, (long) wheelSize);
+        }
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedule an item to fire once time reaches its deadline.
+     * Deadlines already in the past fire on the next {@link #advance}.
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        place(new Entry<>(item, deadlineMillis));
+        size++;
+    }
+
+    /**
+     * Move the wheel forward to the given time
+     * @return items whose deadline tick has ended by now (a deadline fires at most one
+     *         tick late), in deadline-slot order
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        for (Entry<T> entry : overdue) {
+            expired.add(entry.item);
+        }
+        overdue.clear();
+
+        while (currentTime + tickMillis <= nowMillis) {
+            // Fire the level-0 slot covering [currentTime, currentTime + tick)
+            List<Entry<T>> slot = levels.get(0)[slotIndex(0, currentTime)];
+            for (Entry<T> entry : slot) {
+                expired.add(entry.item);
+            }
+            slot.clear();
+
+            currentTime += tickMillis;
+            cascade();
+        }
+
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Latest deadline the wheel can hold without parking the timer in overflow
+     */
+    public long getHorizonMillis() {
+        return levelTicks[levelTicks.length - 1] * wheelSize;
+    }
+
+    // Redistribute coarse slots that start at the new current time, top level first
+    private void cascade() {
+        int top = levelTicks.length - 1;
+        for (int level = top; level >= 1; level--) {
+            if (currentTime % levelTicks[level] != 0) {
+                continue;
+            }
+            List<Entry<T>> slot = levels.get(level)[slotIndex(level, currentTime)];
+            if (!slot.isEmpty()) {
+                List<Entry<T>> moving = new ArrayList<>(slot);
+                slot.clear();
+                moving.forEach(this::place);
+            }
+            if (level == top && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::place);
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.deadline < currentTime) {
+            overdue.add(entry);
+            return;
+        }
+        for (int level = 0; level < levelTicks.length; level++) {
+            long tick = levelTicks[level];
+            if (entry.deadline / tick - currentTime / tick < wheelSize) {
+                levels.get(level)[slotIndex(level, entry.deadline)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private int slotIndex(int level, long time) {
+        return (int) Math.floorMod(time / levelTicks[level], (long) wheelSize);
+    }
+}
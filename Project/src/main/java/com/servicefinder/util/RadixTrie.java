@@ -0,0 +1,232 @@
+package com.servicefinder.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed (radix) trie from string keys to values, built for top-K prefix lookups.
+ *
+ * Edges carry whole substrings, so a chain of single-child nodes collapses into one.
+ * Every node caches the best {@code k} values of its subtree in {@code order}, so a
+ * lookup walks at most prefix-length characters and copies at most k values, no
+ * matter how many keys share the prefix. Adding or removing a value recomputes the
+ * cached lists on the path from that key's node to the root.
+ *
+ * Values are compared with equals/hashCode; to change a value's rank, remove the old
+ * value and add the new one. Safe for concurrent use: lookups take a read lock,
+ * updates a write lock.
+ */
+public class RadixTrie<V> {
+
+    private static class Node<V> {
+        String label;
+        final Map<Character, Node<V>> children = new HashMap<>();
+        final Set<V> values = new HashSet<>();
+        List<V> top = Collections.emptyList();
+
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private final int k;
+    private final Comparator<? super V> order;
+    private final Node<V> root = new Node<>("");
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int size;
+
+    /**
+     * @param k number of best values cached per node, the largest useful lookup limit
+     * @param order best value first
+     */
+    public RadixTrie(int k, Comparator<? super V> order) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1");
+        }
+        this.k = k;
+        this.order = order;
+    }
+
+    /**
+     * Associate a value with a key; returns false if it was already there
+     */
+    public boolean add(String key, V value) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Node<V>> path = new ArrayList<>();
+            path.add(root);
+            Node<V> node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node<V> child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node<>(key.substring(i));
+                    node.children.put(key.charAt(i), child);
+                    path.add(child);
+                    node = child;
+                    break;
+                }
+
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    // Split the edge where the key diverges (or ends)
+                    Node<V> middle = new Node<>(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    middle.top = child.top;
+                    node.children.put(middle.label.charAt(0), middle);
+                    child = middle;
+                }
+                path.add(child);
+                node = child;
+                i += common;
+            }
+
+            if (!node.values.add(value)) {
+                return false;
+            }
+            size++;
+            for (int idx = path.size() - 1; idx >= 0; idx--) {
+                recompute(path.get(idx));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a value from a key; returns false if it was not there
+     */
+    public boolean remove(String key, V value) {
+        if (key == null || key.isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Node<V>> path = new ArrayList<>();
+            path.add(root);
+            Node<V> node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node<V> child = node.children.get(key.charAt(i));
+                if (child == null || !key.startsWith(child.label, i)) {
+                    return false;
+                }
+                path.add(child);
+                node = child;
+                i += child.label.length();
+            }
+
+            if (!node.values.remove(value)) {
+                return false;
+            }
+            size--;
+
+            for (int idx = path.size() - 1; idx >= 0; idx--) {
+                Node<V> current = path.get(idx);
+                if (idx > 0 && current.values.isEmpty()) {
+                    Node<V> parent = path.get(idx - 1);
+                    if (current.children.isEmpty()) {
+                        parent.children.remove(current.label.charAt(0));
+                        continue;
+                    }
+                    if (current.children.size() == 1) {
+                        // Keep the trie compressed: fold the only child into this edge
+                        Node<V> only = current.children.values().iterator().next();
+                        only.label = current.label + only.label;
+                        parent.children.put(only.label.charAt(0), only);
+                        continue;
+                    }
+                }
+                recompute(current);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best values whose key starts with the prefix, best first
+     * @param limit capped at k
+     */
+    public List<V> search(String prefix, int limit) {
+        lock.readLock().lock();
+        try {
+            Node<V> node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                Node<V> child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    return Collections.emptyList();
+                }
+                int common = commonPrefix(child.label, prefix, i);
+                if (i + common == prefix.length()) {
+                    // Prefix ends on or inside this edge: everything below it matches
+                    node = child;
+                    break;
+                }
+                if (common < child.label.length()) {
+                    return Collections.emptyList();
+                }
+                node = child;
+                i += common;
+            }
+            List<V> top = node.top;
+            return new ArrayList<>(top.subList(0, Math.min(Math.max(0, limit), top.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of (key, value) associations
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void recompute(Node<V> node) {
+        List<V> candidates = new ArrayList<>(node.values);
+        for (Node<V> child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(order);
+
+        // The same value can be reachable through several keys (e.g. two words of one name)
+        Set<V> best = new LinkedHashSet<>();
+        for (V candidate : candidates) {
+            if (best.size() == k) {
+                break;
+            }
+            best.add(candidate);
+        }
+        node.top = List.copyOf(best);
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int j = 0;
+        while (j < max && label.charAt(j) == key.charAt(offset + j)) {
+            j++;
+        }
+        return j;
+    }
+}
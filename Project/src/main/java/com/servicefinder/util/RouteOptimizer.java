@@ -0,0 +1,264 @@
+package com.servicefinder.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Orders a day's stops for one provider: time-aware nearest neighbour to build a
+ * route, then 2-opt over a precomputed distance matrix to shorten it.
+ *
+ * Times are minutes from an arbitrary origin (e.g. start of day). A stop may be
+ * served from {@code earliest}; arriving later than {@code latest} counts as
+ * lateness. 2-opt only accepts moves that shorten the route without adding
+ * lateness, and stops once the time budget is spent.
+ */
+public class RouteOptimizer {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double speedKmPerMinute;
+    private final long timeBudgetNanos;
+
+    public RouteOptimizer(double averageSpeedKmh, long timeBudgetMillis) {
+        this.speedKmPerMinute = averageSpeedKmh / 60.0;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+    }
+
+    public static class Stop {
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final double earliest;
+        private final double latest;
+        private final double serviceMinutes;
+
+        public Stop(long id, double latitude, double longitude, double earliest, double latest, double serviceMinutes) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.earliest = earliest;
+            this.latest = latest;
+            this.serviceMinutes = serviceMinutes;
+        }
+
+        public long getId() { return id; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public double getEarliest() { return earliest; }
+        public double getLatest() { return latest; }
+        public double getServiceMinutes() { return serviceMinutes; }
+    }
+
+    public static class Result {
+        private final List<Stop> order;
+        private final double[] arrivals;
+        private final double[] legDistancesKm;
+        private final double totalDistanceKm;
+        private final double totalLatenessMinutes;
+        private final boolean budgetExhausted;
+
+        Result(List<Stop> order, double[] arrivals, double[] legDistancesKm, double totalDistanceKm,
+               double totalLatenessMinutes, boolean budgetExhausted) {
+            this.order = order;
+            this.arrivals = arrivals;
+            this.legDistancesKm = legDistancesKm;
+            this.totalDistanceKm = totalDistanceKm;
+            this.totalLatenessMinutes = totalLatenessMinutes;
+            this.budgetExhausted = budgetExhausted;
+        }
+
+        public List<Stop> getOrder() { return order; }
+        // Arrival time at each stop in visiting order
+        public double[] getArrivals() { return arrivals; }
+        // Distance driven to reach each stop in visiting order
+        public double[] getLegDistancesKm() { return legDistancesKm; }
+        public double getTotalDistanceKm() { return totalDistanceKm; }
+        public double getTotalLatenessMinutes() { return totalLatenessMinutes; }
+        public boolean isBudgetExhausted() { return budgetExhausted; }
+    }
+
+    /**
+     * Optimize the visiting order
+     * @param startLat start location, or null to start at the first stop
+     * @param startTime minutes at which the provider leaves the start location
+     */
+    public Result optimize(List<Stop> stops, Double startLat, Double startLon, double startTime) {
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        int n = stops.size();
+        if (n == 0) {
+            return new Result(new ArrayList<>(), new double[0], new double[0], 0, 0, false);
+        }
+
+        // Node 0 is the depot; stops are nodes 1..n
+        boolean hasDepot = startLat != null && startLon != null;
+        double[][] dist = buildMatrix(stops, hasDepot ? startLat : 0, hasDepot ? startLon : 0);
+        if (!hasDepot) {
+            // No fixed start: reaching the first stop is free
+            for (int i = 0; i <= n; i++) {
+                dist[0][i] = 0;
+                dist[i][0] = 0;
+            }
+        }
+
+        int[] route = nearestNeighbour(stops, dist, startTime);
+        boolean exhausted = twoOpt(stops, dist, route, startTime, deadline);
+
+        return buildResult(stops, dist, route, startTime, exhausted);
+    }
+
+    private double[][] buildMatrix(List<Stop> stops, double depotLat, double depotLon) {
+        int n = stops.size() + 1;
+        double[] lat = new double[n];
+        double[] lon = new double[n];
+        lat[0] = Math.toRadians(depotLat);
+        lon[0] = Math.toRadians(depotLon);
+        for (int i = 1; i < n; i++) {
+            lat[i] = Math.toRadians(stops.get(i - 1).latitude);
+            lon[i] = Math.toRadians(stops.get(i - 1).longitude);
+        }
+
+        double[] cosLat = new double[n];
+        for (int i = 0; i < n; i++) {
+            cosLat[i] = Math.cos(lat[i]);
+        }
+
+        double[][] dist = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dLat = lat[j] - lat[i];
+                double dLon = lon[j] - lon[i];
+                double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                           cosLat[i] * cosLat[j] * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+                double d = 2 * EARTH_RADIUS_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+                dist[i][j] = d;
+                dist[j][i] = d;
+            }
+        }
+        return dist;
+    }
+
+    // Repeatedly go to the stop that can be started soonest, breaking ties by distance
+    private int[] nearestNeighbour(List<Stop> stops, double[][] dist, double startTime) {
+        int n = stops.size();
+        int[] route = new int[n];
+        boolean[] visited = new boolean[n + 1];
+
+        int current = 0;
+        double time = startTime;
+        for (int pos = 0; pos < n; pos++) {
+            int best = -1;
+            double bestStart = Double.MAX_VALUE;
+            double bestDistance = Double.MAX_VALUE;
+
+            for (int node = 1; node <= n; node++) {
+                if (visited[node]) {
+                    continue;
+                }
+                Stop stop = stops.get(node - 1);
+                double travel = dist[current][node];
+                double start = Math.max(time + travel / speedKmPerMinute, stop.earliest);
+                if (start < bestStart || (start == bestStart && travel < bestDistance)) {
+                    best = node;
+                    bestStart = start;
+                    bestDistance = travel;
+                }
+            }
+
+            route[pos] = best;
+            visited[best] = true;
+            time = bestStart + stops.get(best - 1).serviceMinutes;
+            current = best;
+        }
+        return route;
+    }
+
+    /**
+     * Reverse route segments while that shortens the route without adding lateness
+     * @return true if the time budget ran out before reaching a local optimum
+     */
+    private boolean twoOpt(List<Stop> stops, double[][] dist, int[] route, double startTime, long deadline) {
+        int n = route.length;
+        double lateness = lateness(stops, dist, route, startTime);
+        boolean improved = true;
+
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < n - 1; i++) {
+                if (System.nanoTime() > deadline) {
+                    return true;
+                }
+                int prev = i == 0 ? 0 : route[i - 1];
+                for (int j = i + 1; j < n; j++) {
+                    int next = j == n - 1 ? -1 : route[j + 1];
+
+                    // Open route: no closing edge after the last stop
+                    double before = dist[prev][route[i]] + (next < 0 ? 0 : dist[route[j]][next]);
+                    double after = dist[prev][route[j]] + (next < 0 ? 0 : dist[route[i]][next]);
+                    if (after >= before - 1e-9) {
+                        continue;
+                    }
+
+                    reverse(route, i, j);
+                    double candidate = lateness(stops, dist, route, startTime);
+                    if (candidate <= lateness + 1e-9) {
+                        lateness = candidate;
+                        improved = true;
+                    } else {
+                        reverse(route, i, j);
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private double lateness(List<Stop> stops, double[][] dist, int[] route, double startTime) {
+        double time = startTime;
+        double late = 0;
+        int current = 0;
+        for (int node : route) {
+            Stop stop = stops.get(node - 1);
+            time = Math.max(time + dist[current][node] / speedKmPerMinute, stop.earliest);
+            if (time > stop.latest) {
+                late += time - stop.latest;
+            }
+            time += stop.serviceMinutes;
+            current = node;
+        }
+        return late;
+    }
+
+    private void reverse(int[] route, int i, int j) {
+        while (i < j) {
+            int tmp = route[i];
+            route[i++] = route[j];
+            route[j--] = tmp;
+        }
+    }
+
+    private Result buildResult(List<Stop> stops, double[][] dist, int[] route, double startTime, boolean exhausted) {
+        List<Stop> order = new ArrayList<>();
+        double[] arrivals = new double[route.length];
+        double[] legs = new double[route.length];
+        double total = 0;
+        double late = 0;
+        double time = startTime;
+        int current = 0;
+
+        for (int pos = 0; pos < route.length; pos++) {
+            int node = route[pos];
+            Stop stop = stops.get(node - 1);
+            legs[pos] = dist[current][node];
+            total += legs[pos];
+            time = Math.max(time + legs[pos] / speedKmPerMinute, stop.earliest);
+            arrivals[pos] = time;
+            if (time > stop.latest) {
+                late += time - stop.latest;
+            }
+            time += stop.serviceMinutes;
+            order.add(stop);
+            current = node;
+        }
+        return new Result(order, arrivals, legs, total, late, exhausted);
+    }
+}
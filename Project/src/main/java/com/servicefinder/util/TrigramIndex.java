@@ -0,0 +1,212 @@
+package com.servicefinder.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Vocabulary of terms indexed by character trigrams, for typo-tolerant term lookup.
+ *
+ * Each term is padded as "$$term$" and split into overlapping trigrams. A lookup with
+ * edit distance d only considers terms whose length is within d of the query and that
+ * share at least (distinct query trigrams - 3d) trigrams with it, since one edit can
+ * destroy at most three trigrams. The survivors are verified with a banded Levenshtein
+ * distance that gives up as soon as d is exceeded.
+ *
+ * Terms are reference counted, so the same term can be added for many documents and
+ * disappears when the last one removes it. Not thread-safe; callers guard access.
+ */
+public class TrigramIndex {
+
+    private static final char PAD = '$';
+
+    private final Map<String, Integer> terms = new HashMap<>();
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    /**
+     * Add one reference to a term
+     */
+    public void add(String term) {
+        if (term == null || term.isEmpty()) {
+            return;
+        }
+        if (terms.merge(term, 1, Integer::sum) == 1) {
+            for (String trigram : trigrams(term)) {
+                postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(term);
+            }
+        }
+    }
+
+    /**
+     * Drop one reference to a term; the term leaves the index with its last reference
+     */
+    public void remove(String term) {
+        Integer count = terms.get(term);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            terms.put(term, count - 1);
+            return;
+        }
+        terms.remove(term);
+        for (String trigram : trigrams(term)) {
+            Set<String> posting = postings.get(trigram);
+            if (posting != null) {
+                posting.remove(term);
+                if (posting.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    public boolean contains(String term) {
+        return terms.containsKey(term);
+    }
+
+    public int size() {
+        return terms.size();
+    }
+
+    /**
+     * Terms within maxDistance edits of the word, closest first
+     * @param limit maximum number of matches returned
+     */
+    public List<Match> search(String word, int maxDistance, int limit) {
+        List<Match> matches = new ArrayList<>();
+        if (word == null || word.isEmpty() || limit <= 0) {
+            return matches;
+        }
+        if (maxDistance <= 0) {
+            if (terms.containsKey(word)) {
+                matches.add(new Match(word, 0));
+            }
+            return matches;
+        }
+
+        Set<String> queryTrigrams = trigrams(word);
+        int required = queryTrigrams.size() - 3 * maxDistance;
+        Iterable<String> candidates;
+        if (required > 0) {
+            // Count shared trigrams per term; only terms reaching the bound can be close enough
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : queryTrigrams) {
+                Set<String> posting = postings.get(trigram);
+                if (posting != null) {
+                    for (String term : posting) {
+                        if (Math.abs(term.length() - word.length()) <= maxDistance) {
+                            shared.merge(term, 1, Integer::sum);
+                        }
+                    }
+                }
+            }
+            List<String> survivors = new ArrayList<>();
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                if (entry.getValue() >= required) {
+                    survivors.add(entry.getKey());
+                }
+            }
+            candidates = survivors;
+        } else {
+            // Word too short for the trigram bound to prune anything
+            candidates = terms.keySet();
+        }
+
+        for (String term : candidates) {
+            if (Math.abs(term.length() - word.length()) > maxDistance) {
+                continue;
+            }
+            int distance = levenshtein(word, term, maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(term, distance));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::getDistance).thenComparing(Match::getTerm));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    /**
+     * Levenshtein distance between a and b, or max + 1 if it is larger than max.
+     * Only cells within max of the diagonal are computed, and the scan stops once a
+     * whole row exceeds max.
+     */
+    public static int levenshtein(CharSequence a, CharSequence b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+
+        int over = max + 1;
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : over;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : over;
+            if (from > 1) {
+                current[from - 1] = over;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j] + 1, current[j - 1] + 1));
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return over;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+
+    static Set<String> trigrams(String term) {
+        String padded = "" + PAD + PAD + term + PAD;
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * A vocabulary term and its edit distance from the looked-up word
+     */
+    public static final class Match {
+        private final String term;
+        private final int distance;
+
+        Match(String term, int distance) {
+            this.term = term;
+            this.distance = distance;
+        }
+
+        public String getTerm() {
+            return term;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.servicefinder;
+
+import com.servicefinder.repository.ServiceProviderRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Service listings must load services, providers and provider users in a fixed
+ * number of statements, however many services are returned.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.servicefinder.ServiceListingQueryCountTests$StatementCounter")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ServiceListingQueryCountTests {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ServiceProviderRepository serviceProviderRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void testAllServicesListingUsesOneStatement() throws Exception {
+        assertThat(statementsFor(get("/services"))).isEqualTo(1);
+    }
+
+    @Test
+    void testProviderServicesListingUsesOneStatement() throws Exception {
+        Long providerId = serviceProviderRepository.findIdByUserEmail("provider@test.com").orElseThrow();
+
+        assertThat(statementsFor(get("/services/provider/{providerId}", providerId))).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "provider@test.com", roles = "SERVICE_PROVIDER")
+    void testMyServicesListingUsesTwoStatements() throws Exception {
+        // Provider ID lookup, then the listing itself
+        assertThat(statementsFor(get("/services/my-services")
+                .principal(SecurityContextHolder.getContext().getAuthentication()))).isEqualTo(2);
+    }
+
+    @Test
+    void testLocationSearchUsesOneStatement() throws Exception {
+        assertThat(statementsFor(get("/services/search/location")
+                .param("latitude", "19.0760")
+                .param("longitude", "72.8777")
+                .param("radiusKm", "25"))).isEqualTo(1);
+    }
+
+    private long statementsFor(RequestBuilder request) throws Exception {
+        StatementCounter.reset();
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isNotEmpty());
+        return StatementCounter.count();
+    }
+
+    /**
+     * Counts SQL statements prepared on the calling thread, so background jobs
+     * running against the same database do not skew the numbers
+     */
+    public static class StatementCounter implements StatementInspector {
+
+        private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+        static void reset() {
+            COUNT.get()[0] = 0;
+        }
+
+        static long count() {
+            return COUNT.get()[0];
+        }
+
+        @Override
+        public String inspect(String sql) {
+            COUNT.get()[0]++;
+            return sql;
+        }
+    }
+}
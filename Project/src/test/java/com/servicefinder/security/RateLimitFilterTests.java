@@ -0,0 +1,171 @@
+package com.servicefinder.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTests {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        clock.set(0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void burstAfterIdleIsCapacity() throws Exception {
+        RateLimitFilter filter = filter("/search/**:5:60", 1000);
+
+        assertEquals(5, burst(filter, "/search/services", "10.0.0.1"));
+        clock.addAndGet(3_600_000);
+        assertEquals(5, burst(filter, "/search/services", "10.0.0.1"));
+
+        // A brand-new client gets the same burst, however long it waits first
+        clock.addAndGet(60_000);
+        call(filter, "/search/services", "10.0.0.2");
+        clock.addAndGet(3_600_000);
+        assertEquals(5, burst(filter, "/search/services", "10.0.0.2"));
+    }
+
+    @Test
+    void throttledRequestGetsRetryAfter() throws Exception {
+        // One token every 10 seconds
+        RateLimitFilter filter = filter("/search/**:1:6", 1000);
+        assertEquals(200, call(filter, "/search/services", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse throttled = call(filter, "/search/services", "10.0.0.1");
+        assertEquals(429, throttled.getStatus());
+        assertEquals("10", throttled.getHeader(HttpHeaders.RETRY_AFTER));
+
+        clock.addAndGet(4_000);
+        assertEquals("6", call(filter, "/search/services", "10.0.0.1").getHeader(HttpHeaders.RETRY_AFTER));
+
+        clock.addAndGet(5_500);
+        assertEquals("1", call(filter, "/search/services", "10.0.0.1").getHeader(HttpHeaders.RETRY_AFTER));
+
+        clock.addAndGet(500);
+        assertEquals(200, call(filter, "/search/services", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void refillsAtConfiguredRate() throws Exception {
+        // One token per second
+        RateLimitFilter filter = filter("/search/**:10:60", 1000);
+        assertEquals(10, burst(filter, "/search/services", "10.0.0.1"));
+
+        clock.addAndGet(2_500);
+        assertEquals(2, burst(filter, "/search/services", "10.0.0.1"));
+
+        // The half token left over is kept
+        clock.addAndGet(500);
+        assertEquals(1, burst(filter, "/search/services", "10.0.0.1"));
+    }
+
+    @Test
+    void slowRefillIsNotRoundedAway() throws Exception {
+        // One token per hour, polled every 100 ms
+        RateLimitFilter filter = filter("/search/**:1:0.0166667", 1000);
+        assertEquals(1, burst(filter, "/search/services", "10.0.0.1"));
+
+        for (int i = 0; i < 36_000; i++) {
+            clock.addAndGet(100);
+            if (call(filter, "/search/services", "10.0.0.1").getStatus() == 200) {
+                assertTrue(clock.get() >= 3_590_000, "refilled early at " + clock.get());
+                return;
+            }
+        }
+        throw new AssertionError("never refilled");
+    }
+
+    @Test
+    void clientsAndRoutesHaveSeparateBuckets() throws Exception {
+        RateLimitFilter filter = filter("/search/**:2:60,/bookings/**:1:60", 1000);
+        assertEquals(2, burst(filter, "/search/services", "10.0.0.1"));
+        assertEquals(2, burst(filter, "/search/services", "10.0.0.2"));
+        assertEquals(1, burst(filter, "/bookings/1", "10.0.0.1"));
+
+        // The /api prefix is ignored when matching
+        assertEquals(429, call(filter, "/api/search/services", "10.0.0.1").getStatus());
+        // Unmatched paths are never limited
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, call(filter, "/services", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void evictsFullBucketsFirst() throws Exception {
+        RateLimitFilter filter = filter("/search/**:2:60", 10);
+        for (int i = 0; i < 10; i++) {
+            call(filter, "/search/services", "10.0.0." + i);
+        }
+        assertEquals(10.0, meterRegistry.get("ratelimit.buckets").gauge().value());
+
+        // All ten have refilled, so the next client drops every one of them
+        clock.addAndGet(2_000);
+        call(filter, "/search/services", "10.0.1.1");
+        assertEquals(1.0, meterRegistry.get("ratelimit.buckets").gauge().value());
+        assertEquals(10.0, meterRegistry.get("ratelimit.buckets.evicted").counter().count());
+    }
+
+    @Test
+    void evictsDownToBoundWhenNoBucketIsFull() throws Exception {
+        RateLimitFilter filter = filter("/search/**:2:60", 10);
+        for (int i = 0; i < 30; i++) {
+            call(filter, "/search/services", "10.0.0." + i);
+            assertTrue(meterRegistry.get("ratelimit.buckets").gauge().value() <= 10);
+        }
+        assertTrue(meterRegistry.get("ratelimit.buckets.evicted").counter().count() >= 20);
+        // Each new client still gets its first request through
+        assertEquals(30.0, meterRegistry.get("ratelimit.requests").tag("outcome", "allowed").counter().count());
+    }
+
+    private RateLimitFilter filter(String routes, int maxBuckets) {
+        RateLimitFilter filter = new RateLimitFilter() {
+            @Override
+            long nowMillis() {
+                return clock.get();
+            }
+        };
+        ReflectionTestUtils.setField(filter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "routeSpecs", routes);
+        ReflectionTestUtils.setField(filter, "maxBuckets", maxBuckets);
+        filter.init();
+        return filter;
+    }
+
+    // Requests allowed back to back (same millisecond) before the first 429
+    private int burst(RateLimitFilter filter, String path, String ip) throws Exception {
+        int allowed = 0;
+        while (call(filter, path, ip).getStatus() == 200) {
+            allowed++;
+            if (allowed > 1000) {
+                throw new AssertionError("not limited");
+            }
+        }
+        return allowed;
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String path, String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
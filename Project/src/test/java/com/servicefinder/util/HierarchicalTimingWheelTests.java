@@ -0,0 +1,149 @@
+package com.servicefinder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTests {
+
+    // 1 ms ticks, 64 slots, 3 levels: level 1 slots span 64 ticks, level 2 slots 4096
+    private static HierarchicalTimingWheel<Long> wheel(long start) {
+        return new HierarchicalTimingWheel<>(1, 64, 3, start);
+    }
+
+    @Test
+    void firesOnceTheDeadlineTickHasPassedAtEveryLevelBoundary() {
+        for (long start : new long[] {0, 10_000}) {
+            HierarchicalTimingWheel<Long> wheel = wheel(start);
+            // 63 fits level 0; 64 and 4095 need level 1; 4096 needs level 2
+            long[] offsets = {0, 1, 63, 64, 65, 4095, 4096, 4097, 262_143};
+            for (long offset : offsets) {
+                wheel.schedule(start + offset, start + offset);
+            }
+
+            Map<Long, Long> firedAt = stepUntilEmpty(wheel, start, 1);
+            assertEquals(offsets.length, firedAt.size());
+            for (long offset : offsets) {
+                assertEquals(start + offset + 1, firedAt.get(start + offset), "deadline now+" + offset + " from " + start);
+            }
+        }
+    }
+
+    @Test
+    void cascadesInDeadlineOrder() {
+        HierarchicalTimingWheel<Long> wheel = wheel(0);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Spread over all three levels and the overflow list
+            deadlines.add((long) random.nextInt(400_000));
+        }
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        List<Long> fired = wheel.advance(400_001);
+        assertEquals(deadlines.size(), fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i - 1) <= fired.get(i), "out of order at " + i + ": " + fired.get(i - 1) + " > " + fired.get(i));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadeOrderHoldsAcrossManySmallAdvances() {
+        HierarchicalTimingWheel<Long> wheel = wheel(0);
+        for (long deadline = 20_000; deadline >= 0; deadline -= 7) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        long last = -1;
+        for (long now = 0; now <= 20_100; now += 13) {
+            for (Long deadline : wheel.advance(now)) {
+                assertTrue(deadline >= last);
+                assertTrue(deadline < now, "fired early: " + deadline + " at " + now);
+                last = deadline;
+            }
+        }
+        assertEquals(20_000, last);
+    }
+
+    @Test
+    void pastDeadlinesFireOnNextAdvance() {
+        HierarchicalTimingWheel<Long> wheel = wheel(0);
+        wheel.advance(1_000);
+        assertEquals(1_000, wheel.getCurrentTime());
+
+        wheel.schedule(500L, 500);
+        wheel.schedule(999L, 999);
+        assertEquals(2, wheel.size());
+        // No time has to pass
+        assertEquals(List.of(500L, 999L), wheel.advance(1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlinesInTheSameTickFireTogether() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 64, 3, 0);
+        wheel.schedule("a", 5_000);
+        wheel.schedule("b", 5_200);
+        wheel.schedule("c", 5_999);
+        wheel.schedule("d", 6_000);
+
+        assertTrue(wheel.advance(5_999).isEmpty());
+        assertEquals(List.of("a", "b", "c"), wheel.advance(6_000));
+        assertEquals(List.of("d"), wheel.advance(7_000));
+    }
+
+    @Test
+    void deadlineAtCurrentTickFiresWhenItEnds() {
+        HierarchicalTimingWheel<Long> wheel = wheel(0);
+        wheel.advance(1_000);
+        wheel.schedule(1_000L, 1_000);
+        assertTrue(wheel.advance(1_000).isEmpty());
+        assertEquals(List.of(1_000L), wheel.advance(1_001));
+    }
+
+    @Test
+    void overflowIsReplacedAsTheWheelTurns() {
+        // 1 ms ticks, 4 slots, 2 levels: horizon of 16 ms
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 2, 0);
+        assertEquals(16, wheel.getHorizonMillis());
+        long[] deadlines = {15, 16, 17, 40, 100, 1_000};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        Map<Long, Long> firedAt = stepUntilEmpty(wheel, 0, 1);
+        for (long deadline : deadlines) {
+            assertEquals(deadline + 1, firedAt.get(deadline), "deadline " + deadline);
+        }
+    }
+
+    @Test
+    void unalignedStartIsRoundedDownToATick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 64, 2, 12_345);
+        assertEquals(12_000, wheel.getCurrentTime());
+        wheel.schedule("a", 12_500);
+        assertEquals(List.of("a"), wheel.advance(13_000));
+    }
+
+    // Advance one step at a time and record when each item first comes out
+    private static Map<Long, Long> stepUntilEmpty(HierarchicalTimingWheel<Long> wheel, long start, long step) {
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = start; wheel.size() > 0; now += step) {
+            for (Long item : wheel.advance(now)) {
+                firedAt.putIfAbsent(item, now);
+            }
+            if (now - start > 10_000_000) {
+                throw new AssertionError("timers never fired");
+            }
+        }
+        return firedAt;
+    }
+}
@@ -0,0 +1,157 @@
+package com.servicefinder.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteOptimizerTests {
+
+    // Along the equator, 0.01 degrees of longitude is about 1.112 km
+    private static final double KM_PER_HUNDREDTH_DEGREE = 2 * 6371.0 * Math.PI / 36_000;
+
+    private static final double ALL_DAY = 24 * 60;
+
+    @Test
+    void emptyInputGivesEmptyRoute() {
+        RouteOptimizer.Result result = new RouteOptimizer(30, 100).optimize(List.of(), 0.0, 0.0, 0);
+        assertTrue(result.getOrder().isEmpty());
+        assertEquals(0, result.getTotalDistanceKm());
+        assertFalse(result.isBudgetExhausted());
+    }
+
+    @Test
+    void visitsStopsOnALineInOrderFromTheDepot() {
+        // Shuffled stops 1..5 at 0.01..0.05 degrees east of the depot
+        List<RouteOptimizer.Stop> stops = List.of(
+                stop(3, 0.03, 0, ALL_DAY), stop(1, 0.01, 0, ALL_DAY), stop(5, 0.05, 0, ALL_DAY),
+                stop(2, 0.02, 0, ALL_DAY), stop(4, 0.04, 0, ALL_DAY));
+
+        RouteOptimizer.Result result = new RouteOptimizer(30, 1_000).optimize(stops, 0.0, 0.0, 0);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids(result));
+        assertEquals(5 * KM_PER_HUNDREDTH_DEGREE, result.getTotalDistanceKm(), 1e-6);
+        assertEquals(0, result.getTotalLatenessMinutes());
+        // 30 km/h: one 1.112 km leg is 2.22 minutes, plus 10 minutes of service at each stop
+        assertEquals(KM_PER_HUNDREDTH_DEGREE * 2, result.getArrivals()[0], 1e-6);
+        assertEquals(KM_PER_HUNDREDTH_DEGREE * 4 + 10, result.getArrivals()[1], 1e-6);
+    }
+
+    @Test
+    void withoutDepotTheRouteStartsFreeAtAnEnd() {
+        List<RouteOptimizer.Stop> stops = List.of(
+                stop(1, 0.03, 0, ALL_DAY), stop(2, 0.00, 0, ALL_DAY), stop(3, 0.04, 0, ALL_DAY),
+                stop(4, 0.01, 0, ALL_DAY), stop(5, 0.02, 0, ALL_DAY));
+
+        RouteOptimizer.Result result = new RouteOptimizer(30, 1_000).optimize(stops, null, null, 60);
+
+        assertEquals(0, result.getLegDistancesKm()[0]);
+        assertEquals(60, result.getArrivals()[0]);
+        // A single sweep from one end of the line to the other
+        assertEquals(4 * KM_PER_HUNDREDTH_DEGREE, result.getTotalDistanceKm(), 1e-6);
+        List<Long> order = ids(result);
+        assertTrue(order.equals(List.of(2L, 4L, 5L, 1L, 3L)) || order.equals(List.of(3L, 1L, 5L, 4L, 2L)), order.toString());
+    }
+
+    @Test
+    void timeWindowsComeBeforeDistance() {
+        // The near stop opens only at 2 pm; the far one must be served by 9:10 am
+        List<RouteOptimizer.Stop> stops = List.of(
+                stop(1, 0.01, 840, 850),
+                stop(2, 0.10, 0, 550));
+
+        RouteOptimizer.Result result = new RouteOptimizer(30, 1_000).optimize(stops, 0.0, 0.0, 480);
+
+        assertEquals(List.of(2L, 1L), ids(result));
+        assertEquals(0, result.getTotalLatenessMinutes());
+        assertEquals(840, result.getArrivals()[1]);
+    }
+
+    @Test
+    void twoOptNeverAddsLatenessOrDistance() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            List<RouteOptimizer.Stop> stops = randomStops(random, 30, 120);
+
+            // A zero budget stops before the first 2-opt pass: the nearest-neighbour route
+            RouteOptimizer.Result constructed = new RouteOptimizer(30, 0).optimize(stops, 0.0, 0.0, 480);
+            RouteOptimizer.Result improved = new RouteOptimizer(30, 1_000).optimize(stops, 0.0, 0.0, 480);
+
+            assertTrue(constructed.isBudgetExhausted());
+            assertFalse(improved.isBudgetExhausted());
+            assertTrue(improved.getTotalLatenessMinutes() <= constructed.getTotalLatenessMinutes() + 1e-6,
+                    "round " + round + ": lateness " + constructed.getTotalLatenessMinutes() + " -> " + improved.getTotalLatenessMinutes());
+            assertTrue(improved.getTotalDistanceKm() <= constructed.getTotalDistanceKm() + 1e-6,
+                    "round " + round + ": distance " + constructed.getTotalDistanceKm() + " -> " + improved.getTotalDistanceKm());
+            assertIsPermutation(stops, improved);
+        }
+    }
+
+    @Test
+    void reportsMatchTheChosenOrder() {
+        List<RouteOptimizer.Stop> stops = randomStops(new Random(11), 40, 60);
+        RouteOptimizer.Result result = new RouteOptimizer(30, 1_000).optimize(stops, 0.0, 0.0, 480);
+
+        double legs = Arrays.stream(result.getLegDistancesKm()).sum();
+        assertEquals(legs, result.getTotalDistanceKm(), 1e-9);
+
+        double lateness = 0;
+        for (int i = 0; i < result.getOrder().size(); i++) {
+            RouteOptimizer.Stop stop = result.getOrder().get(i);
+            assertTrue(result.getArrivals()[i] >= stop.getEarliest());
+            lateness += Math.max(0, result.getArrivals()[i] - stop.getLatest());
+        }
+        assertEquals(lateness, result.getTotalLatenessMinutes(), 1e-6);
+    }
+
+    @Test
+    void respectsTheTimeBudgetWithHundredsOfStops() {
+        List<RouteOptimizer.Stop> stops = randomStops(new Random(3), 400, 30);
+        // Warm up the JIT so the measured run reflects steady-state speed
+        new RouteOptimizer(30, 20).optimize(stops, 0.0, 0.0, 480);
+
+        long budgetMillis = 20;
+        long started = System.nanoTime();
+        RouteOptimizer.Result result = new RouteOptimizer(30, budgetMillis).optimize(stops, 0.0, 0.0, 480);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(result.isBudgetExhausted(), "400 stops should not reach a 2-opt optimum in " + budgetMillis + " ms");
+        // Allowance for the distance matrix, route construction and one inner 2-opt pass
+        assertTrue(elapsedMillis < budgetMillis + 250, "took " + elapsedMillis + " ms");
+        assertIsPermutation(stops, result);
+    }
+
+    private static RouteOptimizer.Stop stop(long id, double longitude, double earliest, double latest) {
+        return new RouteOptimizer.Stop(id, 0, longitude, earliest, latest, 10);
+    }
+
+    // Stops within about 20 km of the depot, with windows of the given width during the working day
+    private static List<RouteOptimizer.Stop> randomStops(Random random, int count, double windowMinutes) {
+        List<RouteOptimizer.Stop> stops = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            double earliest = 480 + random.nextInt(480);
+            stops.add(new RouteOptimizer.Stop(i + 1, random.nextDouble() * 0.2 - 0.1, random.nextDouble() * 0.2 - 0.1,
+                    earliest, earliest + windowMinutes, 15 + random.nextInt(30)));
+        }
+        return stops;
+    }
+
+    private static List<Long> ids(RouteOptimizer.Result result) {
+        return result.getOrder().stream().map(RouteOptimizer.Stop::getId).collect(Collectors.toList());
+    }
+
+    private static void assertIsPermutation(List<RouteOptimizer.Stop> stops, RouteOptimizer.Result result) {
+        assertEquals(stops.size(), result.getOrder().size());
+        Set<Long> expected = stops.stream().map(RouteOptimizer.Stop::getId).collect(Collectors.toSet());
+        assertEquals(expected, new HashSet<>(ids(result)));
+    }
+}
@@ -10,6 +10,7 @@ import type {
   BookingCreateRequest,
   Rating,
   RatingCreateRequest,
+  HelpfulVoteResponse,
   LocationSearchRequest,
   LocationSearchResponse,
   PaginatedResponse,
@@ -23,6 +24,8 @@ const API_BASE_URL = import.meta.env.VITE_API_URL || '/api';
 
 class ApiClient {
   private client: AxiosInstance;
+  // Refresh tokens work once, so concurrent 401s share a single refresh call
+  private refreshing: Promise<string | null> | null = null;
 
   constructor() {
     this.client = axios.create({
@@ -51,7 +54,7 @@ class ApiClient {
     // Add response interceptor for error handling
     this.client.interceptors.response.use(
       (response) => response,
-      (error) => {
+      async (error) => {
         if (import.meta.env.DEV) console.error('API Error:', {
           url: error.config?.url,
           method: error.config?.method,
@@ -60,8 +63,22 @@ class ApiClient {
           data: error.response?.data
         });
         
-        if (error.response?.status === 401) {
+        // Access tokens are short-lived: refresh once and retry before giving up
+        const status = error.response?.status;
+        const original = error.config;
+        if ((status === 401 || status === 403) && original && !original._retried
+            && !original.url?.startsWith('/auth/') && localStorage.getItem('refreshToken')) {
+          original._retried = true;
+          const token = await this.refreshTokens();
+          if (token) {
+            original.headers.Authorization = `Bearer ${token}`;
+            return this.client(original);
+          }
+        }
+
+        if (status === 401) {
           localStorage.removeItem('token');
+          localStorage.removeItem('refreshToken');
           localStorage.removeItem('user');
           window.location.href = '/login';
         }
@@ -81,6 +98,55 @@ class ApiClient {
     return response.data;
   }
 
+  // Exchange the stored refresh token for a new pair; null if it is missing or rejected.
+  // Tabs share the tokens in localStorage, so refreshes are serialized across tabs
+  // with a Web Lock where the browser supports it.
+  async refreshTokens(): Promise<string | null> {
+    if (!this.refreshing) {
+      const seen = localStorage.getItem('refreshToken');
+      const run = () => this.refreshUnderLock(seen);
+      this.refreshing = (navigator.locks ? navigator.locks.request('serveease-token-refresh', run) : run())
+        .finally(() => {
+          this.refreshing = null;
+        });
+    }
+    return this.refreshing;
+  }
+
+  private async refreshUnderLock(seen: string | null): Promise<string | null> {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+      return null;
+    }
+    if (refreshToken !== seen) {
+      // Another tab refreshed while we waited for the lock
+      return localStorage.getItem('token');
+    }
+    try {
+      const response = await this.client.post('/auth/refresh', { refreshToken });
+      const data: AuthResponse = response.data;
+      localStorage.setItem('token', data.token);
+      if (data.refreshToken) {
+        localStorage.setItem('refreshToken', data.refreshToken);
+      }
+      return data.token;
+    } catch {
+      if (localStorage.getItem('refreshToken') === refreshToken) {
+        localStorage.removeItem('refreshToken');
+        return null;
+      }
+      // Another tab without lock support won the race; use its tokens
+      return localStorage.getItem('token');
+    }
+  }
+
+  // Tokens are passed in because the caller clears local storage right after
+  async logout(token: string | null, refreshToken: string | null): Promise<void> {
+    await this.client.post('/auth/logout', refreshToken ? { refreshToken } : undefined, {
+      headers: token ? { Authorization: `Bearer ${token}` } : undefined,
+    });
+  }
+
   async validateToken(): Promise<AuthResponse> {
     const response = await this.client.get('/auth/validate');
     return response.data;
@@ -308,7 +374,7 @@ class ApiClient {
     await this.client.delete(`/ratings/${id}`);
   }
 
-  async markReviewHelpful(id: number): Promise<Rating> {
+  async markReviewHelpful(id: number): Promise<HelpfulVoteResponse> {
     const response = await this.client.post(`/ratings/${id}/helpful`);
     return response.data;
   }
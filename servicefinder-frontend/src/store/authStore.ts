@@ -29,6 +29,9 @@ export const useAuthStore = create<AuthState>()(
           const response = await apiClient.login({ email, password });
           
           localStorage.setItem('token', response.token);
+          if (response.refreshToken) {
+            localStorage.setItem('refreshToken', response.refreshToken);
+          }
           localStorage.setItem('user', JSON.stringify(response));
           
           set({
@@ -55,7 +58,14 @@ export const useAuthStore = create<AuthState>()(
       },
 
       logout: () => {
+        const token = localStorage.getItem('token');
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (token || refreshToken) {
+          // Best effort: revoke the tokens server-side, the local session ends either way
+          apiClient.logout(token, refreshToken).catch(() => {});
+        }
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
         set({
           user: null,
@@ -71,7 +81,16 @@ export const useAuthStore = create<AuthState>()(
         }
 
         try {
-          const response = await apiClient.validateToken();
+          let response: AuthResponse;
+          try {
+            response = await apiClient.validateToken();
+          } catch (error) {
+            // The access token may just have expired; try the refresh token once
+            if (!(await apiClient.refreshTokens())) {
+              throw error;
+            }
+            response = await apiClient.validateToken();
+          }
           set({
             user: response,
             token: response.token,
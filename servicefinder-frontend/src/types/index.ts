@@ -146,6 +146,7 @@ export interface AuthRequest {
 
 export interface AuthResponse {
   token: string;
+  refreshToken?: string;
   email: string;
   role: Role;
   userId: number;
@@ -194,6 +195,11 @@ export interface BookingCreateRequest {
   customerLongitude: number;
 }
 
+export interface HelpfulVoteResponse {
+  ratingId: number;
+  helpfulCount: number;
+}
+
 export interface RatingCreateRequest {
   bookingId: number;
   rating: number;